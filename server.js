@@ -26,6 +26,48 @@ const db = new sqlite3.Database('./university.db', (err) => {
     }
 });
 
+// Schema version of the shared database file. The Java application migrates
+// the file (see SchemaMigrator.java); from version 4 the timestamp columns hold
+// INTEGER epoch milliseconds, and from version 5 the money columns hold
+// INTEGER centavos. The API always speaks pesos. Read inside each write, since
+// the Java application may migrate the file while this server is running.
+function getSchemaVersion(callback) {
+    db.get(`SELECT MAX(version) AS version FROM schema_version`, (err, row) => {
+        // No schema_version table yet: the file has never been migrated
+        callback(err || !row ? 0 : row.version || 0);
+    });
+}
+
+// The current time in the timestamp columns' format
+function timestampNow(schemaVersion) {
+    if (schemaVersion >= 4) {
+        return Date.now();
+    }
+    return new Date().toISOString().replace('T', ' ').substring(0, 19); // Same as CURRENT_TIMESTAMP
+}
+
+// Convert a peso amount to the money columns' unit
+function toStoredMoney(pesos, schemaVersion) {
+    return schemaVersion >= 5 ? Math.round(pesos * 100) : pesos;
+}
+
+// Convert a money column value to pesos
+function toPesos(stored, schemaVersion) {
+    return schemaVersion >= 5 && stored != null ? stored / 100 : stored;
+}
+
+// Copy of a row with the given money columns in pesos
+function withPesos(row, columns, schemaVersion) {
+    const converted = { ...row };
+    columns.forEach(column => {
+        converted[column] = toPesos(row[column], schemaVersion);
+    });
+    return converted;
+}
+
+const ACCOUNT_MONEY_COLUMNS = ['total_assessment', 'total_paid', 'remaining_balance',
+                               'prelim_amount_due', 'midterm_amount_due', 'final_amount_due'];
+
 // Initialize database tables
 function initializeTables() {
     // Students table
@@ -109,12 +151,14 @@ function initializeTables() {
     )`);
 
     // Insert default payment methods
-    insertDefaultPaymentMethods();
-    insertSampleData();
+    getSchemaVersion((schemaVersion) => {
+        insertDefaultPaymentMethods(schemaVersion);
+        insertSampleData(schemaVersion);
+    });
 }
 
 // Insert default payment methods
-function insertDefaultPaymentMethods() {
+function insertDefaultPaymentMethods(schemaVersion) {
     const paymentMethods = [
         { id: uuidv4(), method_name: 'UnionBank UPay Online', method_code: 'UNIONBANK', service_fee: 0, percentage_fee: 0, is_active: 1 },
         { id: uuidv4(), method_name: 'Dragonpay Payment Gateway', method_code: 'DRAGONPAY', service_fee: 25.00, percentage_fee: 2.0, is_active: 1 },
@@ -127,7 +171,8 @@ function insertDefaultPaymentMethods() {
     paymentMethods.forEach(method => {
         db.run(`INSERT OR IGNORE INTO payment_methods (id, method_name, method_code, service_fee, percentage_fee, is_active, description) 
                 VALUES (?, ?, ?, ?, ?, ?, ?)`,
-            [method.id, method.method_name, method.method_code, method.service_fee, method.percentage_fee, method.is_active, method.description],
+            [method.id, method.method_name, method.method_code, toStoredMoney(method.service_fee, schemaVersion),
+             method.percentage_fee, method.is_active, method.description],
             (err) => {
                 if (err && !err.message.includes('UNIQUE constraint failed')) {
                     console.error('Error inserting payment method:', err);
@@ -138,7 +183,7 @@ function insertDefaultPaymentMethods() {
 }
 
 // Insert sample data
-function insertSampleData() {
+function insertSampleData(schemaVersion) {
     const sampleStudents = [
         {
             id: uuidv4(),
@@ -173,7 +218,7 @@ function insertSampleData() {
                 if (err && !err.message.includes('UNIQUE constraint failed')) {
                     console.error('Error inserting student:', err);
                 } else if (this.changes > 0) {
-                    createStudentAccount(student);
+                    createStudentAccount(student, schemaVersion);
                 }
             }
         );
@@ -181,7 +226,7 @@ function insertSampleData() {
 }
 
 // Create student account with initial assessment
-function createStudentAccount(student) {
+function createStudentAccount(student, schemaVersion) {
     const accountId = uuidv4();
     const totalAssessment = 45000.00; // Sample total assessment
     const prelimAmount = 15000.00; // Prelim payment requirement
@@ -189,14 +234,14 @@ function createStudentAccount(student) {
     db.run(`INSERT INTO accounts (id, student_id, semester, academic_year, total_assessment, 
             remaining_balance, prelim_amount_due, prelim_status, exam_permission) 
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)`,
-        [accountId, student.id, 'FIRST SEMESTER', '2025-2026', totalAssessment, 
-         totalAssessment, prelimAmount, 'UNPAID', 'NOT_PERMITTED'],
+        [accountId, student.id, 'FIRST SEMESTER', '2025-2026', toStoredMoney(totalAssessment, schemaVersion), 
+         toStoredMoney(totalAssessment, schemaVersion), toStoredMoney(prelimAmount, schemaVersion), 'UNPAID', 'NOT_PERMITTED'],
         (err) => {
             if (err) {
                 console.error('Error creating account:', err);
             } else {
                 // Add initial assessment transactions
-                addInitialAssessments(student.id, accountId);
+                addInitialAssessments(student.id, accountId, schemaVersion);
                 addSampleGrades(student.id);
             }
         }
@@ -204,7 +249,7 @@ function createStudentAccount(student) {
 }
 
 // Add initial assessment transactions
-function addInitialAssessments(studentId, accountId) {
+function addInitialAssessments(studentId, accountId, schemaVersion) {
     const assessments = [
         { description: 'TUITION FEE @320.00/u', amount: 9020.00 },
         { description: 'TUITION FEE @1167.00/u', amount: 10503.00 },
@@ -219,7 +264,8 @@ function addInitialAssessments(studentId, accountId) {
     assessments.forEach(assessment => {
         db.run(`INSERT INTO transactions (id, student_id, account_id, transaction_type, description, amount) 
                 VALUES (?, ?, ?, ?, ?, ?)`,
-            [uuidv4(), studentId, accountId, 'ASSESSMENT', assessment.description, assessment.amount]
+            [uuidv4(), studentId, accountId, 'ASSESSMENT', assessment.description,
+             toStoredMoney(assessment.amount, schemaVersion)]
         );
     });
 }
@@ -301,16 +347,18 @@ app.get('/api/student/account', authenticateToken, (req, res) => {
         WHERE s.id = ? AND a.semester = 'FIRST SEMESTER' AND a.academic_year = '2025-2026'
     `;
 
-    db.get(query, [studentId], (err, result) => {
-        if (err) {
-            return res.status(500).json({ error: 'Database error' });
-        }
+    getSchemaVersion((schemaVersion) => {
+        db.get(query, [studentId], (err, result) => {
+            if (err) {
+                return res.status(500).json({ error: 'Database error' });
+            }
 
-        if (!result) {
-            return res.status(404).json({ error: 'Student account not found' });
-        }
+            if (!result) {
+                return res.status(404).json({ error: 'Student account not found' });
+            }
 
-        res.json(result);
+            res.json(withPesos(result, ACCOUNT_MONEY_COLUMNS, schemaVersion));
+        });
     });
 });
 
@@ -318,24 +366,28 @@ app.get('/api/student/account', authenticateToken, (req, res) => {
 app.get('/api/student/transactions', authenticateToken, (req, res) => {
     const studentId = req.user.studentId;
 
-    db.all(`SELECT * FROM transactions WHERE student_id = ? ORDER BY transaction_date DESC`, 
-        [studentId], (err, transactions) => {
-        if (err) {
-            return res.status(500).json({ error: 'Database error' });
-        }
+    getSchemaVersion((schemaVersion) => {
+        db.all(`SELECT * FROM transactions WHERE student_id = ? ORDER BY transaction_date DESC`, 
+            [studentId], (err, transactions) => {
+            if (err) {
+                return res.status(500).json({ error: 'Database error' });
+            }
 
-        res.json(transactions);
+            res.json(transactions.map(transaction => withPesos(transaction, ['amount'], schemaVersion)));
+        });
     });
 });
 
 // Get payment methods with fees
 app.get('/api/payment-methods', (req, res) => {
-    db.all(`SELECT * FROM payment_methods WHERE is_active = 1`, (err, methods) => {
-        if (err) {
-            return res.status(500).json({ error: 'Database error' });
-        }
+    getSchemaVersion((schemaVersion) => {
+        db.all(`SELECT * FROM payment_methods WHERE is_active = 1`, (err, methods) => {
+            if (err) {
+                return res.status(500).json({ error: 'Database error' });
+            }
 
-        res.json(methods);
+            res.json(methods.map(method => withPesos(method, ['service_fee'], schemaVersion)));
+        });
     });
 });
 
@@ -343,27 +395,29 @@ app.get('/api/payment-methods', (req, res) => {
 app.post('/api/calculate-payment', authenticateToken, (req, res) => {
     const { payment_method_code, base_amount } = req.body;
 
-    db.get(`SELECT * FROM payment_methods WHERE method_code = ?`, [payment_method_code], (err, method) => {
-        if (err) {
-            return res.status(500).json({ error: 'Database error' });
-        }
+    getSchemaVersion((schemaVersion) => {
+        db.get(`SELECT * FROM payment_methods WHERE method_code = ?`, [payment_method_code], (err, method) => {
+            if (err) {
+                return res.status(500).json({ error: 'Database error' });
+            }
 
-        if (!method) {
-            return res.status(404).json({ error: 'Payment method not found' });
-        }
+            if (!method) {
+                return res.status(404).json({ error: 'Payment method not found' });
+            }
 
-        const serviceFee = method.service_fee;
-        const percentageFee = (base_amount * method.percentage_fee) / 100;
-        const totalFees = serviceFee + percentageFee;
-        const totalAmount = base_amount + totalFees;
-
-        res.json({
-            base_amount,
-            service_fee: serviceFee,
-            percentage_fee: percentageFee,
-            total_fees: totalFees,
-            total_amount: totalAmount,
-            method_name: method.method_name
+            const serviceFee = toPesos(method.service_fee, schemaVersion);
+            const percentageFee = (base_amount * method.percentage_fee) / 100;
+            const totalFees = serviceFee + percentageFee;
+            const totalAmount = base_amount + totalFees;
+
+            res.json({
+                base_amount,
+                service_fee: serviceFee,
+                percentage_fee: percentageFee,
+                total_fees: totalFees,
+                total_amount: totalAmount,
+                method_name: method.method_name
+            });
         });
     });
 });
@@ -376,61 +430,66 @@ app.post('/api/process-payment', authenticateToken, (req, res) => {
     db.serialize(() => {
         db.run('BEGIN TRANSACTION');
 
-        // Get current account
-        db.get(`SELECT * FROM accounts WHERE student_id = ? AND semester = 'FIRST SEMESTER' AND academic_year = '2025-2026'`, 
-            [studentId], (err, account) => {
-            if (err) {
-                db.run('ROLLBACK');
-                return res.status(500).json({ error: 'Database error' });
-            }
-
-            // Record payment transaction
-            const transactionId = uuidv4();
-            const paymentReference = payment_reference || `PAY${Date.now()}`;
-
-            db.run(`INSERT INTO transactions (id, student_id, account_id, transaction_type, description, 
-                    amount, payment_method, payment_reference, status) 
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)`,
-                [transactionId, studentId, account.id, 'PAYMENT', 
-                 `PAYMENT RECEIVED (${paymentReference})`, -amount, payment_method_code, 
-                 paymentReference, 'COMPLETED'], (err) => {
+        // Read the schema version in the same transaction as the account
+        getSchemaVersion((schemaVersion) => {
+            // Get current account
+            db.get(`SELECT * FROM accounts WHERE student_id = ? AND semester = 'FIRST SEMESTER' AND academic_year = '2025-2026'`, 
+                [studentId], (err, account) => {
                 if (err) {
                     db.run('ROLLBACK');
-                    return res.status(500).json({ error: 'Failed to record payment' });
+                    return res.status(500).json({ error: 'Database error' });
                 }
 
-                // Update account balances
-                const newTotalPaid = account.total_paid + amount;
-                const newRemainingBalance = account.remaining_balance - amount;
-                const newPrelimAmountDue = Math.max(0, account.prelim_amount_due - amount);
-                
-                // Determine new status
-                let newPrelimStatus = account.prelim_status;
-                let newExamPermission = account.exam_permission;
-                
-                if (newPrelimAmountDue === 0) {
-                    newPrelimStatus = 'PAID';
-                    newExamPermission = 'PERMITTED';
-                }
-
-                db.run(`UPDATE accounts SET total_paid = ?, remaining_balance = ?, prelim_amount_due = ?, 
-                        prelim_status = ?, exam_permission = ?, updated_at = CURRENT_TIMESTAMP 
-                        WHERE id = ?`,
-                    [newTotalPaid, newRemainingBalance, newPrelimAmountDue, newPrelimStatus, newExamPermission, account.id], 
-                    (err) => {
+                // Record payment transaction; amount is in pesos, the columns may be centavos
+                const storedAmount = toStoredMoney(amount, schemaVersion);
+                const transactionId = uuidv4();
+                const paymentReference = payment_reference || `PAY${Date.now()}`;
+
+                db.run(`INSERT INTO transactions (id, student_id, account_id, transaction_type, description, 
+                        amount, payment_method, payment_reference, status) 
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)`,
+                    [transactionId, studentId, account.id, 'PAYMENT', 
+                     `PAYMENT RECEIVED (${paymentReference})`, -storedAmount, payment_method_code, 
+                     paymentReference, 'COMPLETED'], (err) => {
                     if (err) {
                         db.run('ROLLBACK');
-                        return res.status(500).json({ error: 'Failed to update account' });
+                        return res.status(500).json({ error: 'Failed to record payment' });
+                    }
+
+                    // Update account balances
+                    const newTotalPaid = account.total_paid + storedAmount;
+                    const newRemainingBalance = account.remaining_balance - storedAmount;
+                    const newPrelimAmountDue = Math.max(0, account.prelim_amount_due - storedAmount);
+                
+                    // Determine new status
+                    let newPrelimStatus = account.prelim_status;
+                    let newExamPermission = account.exam_permission;
+                
+                    if (newPrelimAmountDue === 0) {
+                        newPrelimStatus = 'PAID';
+                        newExamPermission = 'PERMITTED';
                     }
 
-                    db.run('COMMIT');
-                    res.json({ 
-                        success: true, 
-                        message: 'Payment processed successfully',
-                        transaction_id: transactionId,
-                        payment_reference: paymentReference,
-                        new_status: newPrelimStatus,
-                        exam_permission: newExamPermission
+                    db.run(`UPDATE accounts SET total_paid = ?, remaining_balance = ?, prelim_amount_due = ?, 
+                            prelim_status = ?, exam_permission = ?, updated_at = ? 
+                            WHERE id = ?`,
+                        [newTotalPaid, newRemainingBalance, newPrelimAmountDue, newPrelimStatus, newExamPermission,
+                         timestampNow(schemaVersion), account.id], 
+                        (err) => {
+                        if (err) {
+                            db.run('ROLLBACK');
+                            return res.status(500).json({ error: 'Failed to update account' });
+                        }
+
+                        db.run('COMMIT');
+                        res.json({ 
+                            success: true, 
+                            message: 'Payment processed successfully',
+                            transaction_id: transactionId,
+                            payment_reference: paymentReference,
+                            new_status: newPrelimStatus,
+                            exam_permission: newExamPermission
+                        });
                     });
                 });
             });
@@ -1,5 +1,7 @@
 package edu.slu.accounts;
 
+import edu.slu.accounts.dao.StudentDAO;
+import edu.slu.accounts.service.CacheWarmer;
 import edu.slu.accounts.service.DataInitializationService;
 import edu.slu.accounts.ui.ConsoleUI;
 import edu.slu.accounts.util.DatabaseConnection;
@@ -27,6 +29,9 @@ public class StatementOfAccountsApp {
                 System.exit(1);
             }
 
+            // Load student numbers so lookups of unknown numbers skip the database
+            StudentDAO.rebuildStudentNumberFilter();
+
             // Initialize sample data
             DataInitializationService dataService = new DataInitializationService();
             
@@ -37,6 +42,11 @@ public class StatementOfAccountsApp {
                 System.out.println("ℹ️  Sample data already exists, skipping initialization.");
             }
 
+            // Load exam permits, accounts and student profiles before the first logins
+            CacheWarmer cacheWarmer = new CacheWarmer();
+            cacheWarmer.warmUp();
+            cacheWarmer.scheduleDaily(CacheWarmer.getScheduledTimes());
+
             System.out.println();
             dataService.displaySampleCredentials();
 
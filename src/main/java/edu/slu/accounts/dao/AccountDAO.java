@@ -1,79 +1,177 @@
 package edu.slu.accounts.dao;
 
+import edu.slu.accounts.model.AcademicTerm;
 import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.PaymentReceipt;
+import edu.slu.accounts.model.Transaction;
+import edu.slu.accounts.util.BoundedCache;
 import edu.slu.accounts.util.DatabaseConnection;
 import edu.slu.accounts.util.IdGenerator;
+import edu.slu.accounts.util.TimestampCodec;
+import edu.slu.accounts.util.WriteQueue;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Account operations
  */
 public class AccountDAO {
+    /**
+     * Columns selected by every lookup, in the order the mapper reads them
+     */
+    static final String ACCOUNT_COLUMNS =
+        "id, student_id, semester, academic_year, total_assessment, total_paid, " +
+        "remaining_balance, prelim_amount_due, midterm_amount_due, final_amount_due, " +
+        "prelim_status, midterm_status, final_status, exam_permission, created_at, " +
+        "updated_at";
+
+    // Shared by every AccountDAO, so all services see one cache; keyed by student and term
+    private static final BoundedCache<String, Account> ACCOUNT_CACHE =
+        new BoundedCache<>(Integer.getInteger("slu.db.accountCacheSize", 10_000));
+
+    // How often the cache compares the accounts version with the one its entries reflect
+    private static final long CACHE_CHECK_INTERVAL_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("slu.db.accountCacheCheckMillis", 1000));
+    private static final Object CACHE_VERSION_LOCK = new Object();
+    private static long cachedVersion = -1;
+    private static volatile long nextCacheCheckAt = System.nanoTime();
+
+    private static final List<CommitListener> COMMIT_LISTENERS = new CopyOnWriteArrayList<>();
 
     /**
-     * Create a new account
+     * Receives every account write this process commits
      */
-    public boolean createAccount(Account account) {
-        String sql = """
-            INSERT INTO accounts (id, student_id, semester, academic_year, total_assessment, 
-                                total_paid, remaining_balance, prelim_amount_due, midterm_amount_due, 
-                                final_amount_due, prelim_status, midterm_status, final_status, 
-                                exam_permission, created_at, updated_at) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    @FunctionalInterface
+    public interface CommitListener {
+        /**
+         * @param account a copy of the account as written
+         * @param tableVersion the accounts version right after the write, read in its transaction
+         */
+        void committed(Account account, long tableVersion);
+    }
 
-            if (account.getId() == null) {
-                account.setId(IdGenerator.generateId());
-            }
+    static final String CREATE_ACCOUNT_SQL = """
+        INSERT INTO accounts (id, student_id, semester, academic_year, total_assessment, 
+                            total_paid, remaining_balance, prelim_amount_due, midterm_amount_due, 
+                            final_amount_due, prelim_status, midterm_status, final_status, 
+                            exam_permission, created_at, updated_at) 
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
 
-            pstmt.setString(1, account.getId());
-            pstmt.setString(2, account.getStudentId());
-            pstmt.setString(3, account.getSemester());
-            pstmt.setString(4, account.getAcademicYear());
-            pstmt.setDouble(5, account.getTotalAssessment());
-            pstmt.setDouble(6, account.getTotalPaid());
-            pstmt.setDouble(7, account.getRemainingBalance());
-            pstmt.setDouble(8, account.getPrelimAmountDue());
-            pstmt.setDouble(9, account.getMidtermAmountDue());
-            pstmt.setDouble(10, account.getFinalAmountDue());
-            pstmt.setString(11, account.getPrelimStatus().name());
-            pstmt.setString(12, account.getMidtermStatus().name());
-            pstmt.setString(13, account.getFinalStatus().name());
-            pstmt.setString(14, account.getExamPermission().name());
-            pstmt.setString(15, account.getCreatedAt().toString());
-            pstmt.setString(16, account.getUpdatedAt().toString());
-
-            return pstmt.executeUpdate() > 0;
+    static final String FIND_BY_STUDENT_ID_AND_SEMESTER_SQL = "SELECT " + ACCOUNT_COLUMNS + " FROM accounts WHERE student_id = ? AND semester = ? AND academic_year = ?";
 
-        } catch (SQLException e) {
-            System.err.println("Error creating account: " + e.getMessage());
-            return false;
+    static final String FIND_BY_STUDENT_IDS_AND_SEMESTER_SQL = "SELECT " + ACCOUNT_COLUMNS + " FROM accounts WHERE semester = ? AND academic_year = ? AND student_id IN (%s)";
+
+    static final String FIND_PRELIM_STATUS_SQL = "SELECT prelim_status FROM accounts WHERE student_id = ? AND semester = ? AND academic_year = ?";
+
+    static final String FIND_EXAM_PERMISSION_SQL = "SELECT exam_permission FROM accounts WHERE student_id = ? AND semester = ? AND academic_year = ?";
+
+    static final String FIND_BY_ID_SQL = "SELECT " + ACCOUNT_COLUMNS + " FROM accounts WHERE id = ?";
+
+    static final String UPDATE_ACCOUNT_SQL = """
+        UPDATE accounts SET total_paid = ?, remaining_balance = ?, prelim_amount_due = ?, 
+                          midterm_amount_due = ?, final_amount_due = ?, prelim_status = ?, 
+                          midterm_status = ?, final_status = ?, exam_permission = ?,
+                          updated_at = MAX(?, COALESCE(updated_at, 0) + 1)
+        WHERE id = ?
+    """;
+
+    static final String FIND_UPDATED_AT_SQL = "SELECT updated_at FROM accounts WHERE id = ?";
+
+    static final String FIND_ALL_SQL = "SELECT " + ACCOUNT_COLUMNS + " FROM accounts ORDER BY created_at DESC";
+
+    static final String FIND_VERSION_SQL = "SELECT version FROM table_versions WHERE table_name = 'accounts'";
+
+    static final String FIND_UNPAID_PRELIMS_SQL = "SELECT " + ACCOUNT_COLUMNS + " FROM accounts WHERE prelim_status = 'UNPAID' ORDER BY updated_at DESC";
+
+    /**
+     * Create a new account
+     */
+    public boolean createAccount(Account account) {
+        if (account.getId() == null) {
+            account.setId(IdGenerator.generateId());
         }
+
+        AtomicLong version = new AtomicLong(-1);
+        return WriteQueue.await(DatabaseConnection.submitWrite(conn -> {
+            boolean created;
+            try (PreparedStatement pstmt = conn.prepareStatement(CREATE_ACCOUNT_SQL)) {
+                pstmt.setString(1, account.getId());
+                pstmt.setString(2, account.getStudentId());
+                pstmt.setString(3, account.getSemester());
+                pstmt.setString(4, account.getAcademicYear());
+                pstmt.setLong(5, account.getTotalAssessment().getCentavos());
+                pstmt.setLong(6, account.getTotalPaid().getCentavos());
+                pstmt.setLong(7, account.getRemainingBalance().getCentavos());
+                pstmt.setLong(8, account.getPrelimAmountDue().getCentavos());
+                pstmt.setLong(9, account.getMidtermAmountDue().getCentavos());
+                pstmt.setLong(10, account.getFinalAmountDue().getCentavos());
+                pstmt.setString(11, account.getPrelimStatus().name());
+                pstmt.setString(12, account.getMidtermStatus().name());
+                pstmt.setString(13, account.getFinalStatus().name());
+                pstmt.setString(14, account.getExamPermission().name());
+                TimestampCodec.bind(pstmt, 15, account.getCreatedAtMillis());
+                TimestampCodec.bind(pstmt, 16, account.getUpdatedAtMillis());
+                created = pstmt.executeUpdate() > 0;
+            }
+            version.set(readVersion(conn));
+            return created;
+        }).whenComplete((created, error) ->
+            committed(account, version.get(), error == null && Boolean.TRUE.equals(created))), "Error creating account");
     }
 
     /**
      * Find account by student ID and current semester
      */
     public Optional<Account> findByStudentId(String studentId) {
-        return findByStudentIdAndSemester(studentId, "FIRST SEMESTER", "2025-2026");
+        return findByStudentIdAndSemester(studentId, AcademicTerm.CURRENT.getSemester(),
+                                          AcademicTerm.CURRENT.getAcademicYear());
     }
 
     /**
-     * Find account by student ID and specific semester
+     * Find account by student ID and specific semester. Answered from the
+     * account cache when possible; the caller always gets its own copy.
+     * Other processes' writes are seen once the next version check runs.
      */
     public Optional<Account> findByStudentIdAndSemester(String studentId, String semester, String academicYear) {
-        String sql = "SELECT * FROM accounts WHERE student_id = ? AND semester = ? AND academic_year = ?";
+        checkCacheVersion();
+        String key = cacheKey(studentId, semester, academicYear);
+        Account cached = ACCOUNT_CACHE.get(key);
+        if (cached != null) {
+            return Optional.of(new Account(cached));
+        }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long generation = ACCOUNT_CACHE.generation();
+        Optional<Account> account = queryByStudentIdAndSemester(studentId, semester, academicYear);
+        account.ifPresent(found -> ACCOUNT_CACHE.putIfCurrent(key, new Account(found), generation));
+        return account;
+    }
+
+    /**
+     * Find a student's current account straight from the database, skipping
+     * the account cache, so the answer includes other processes' writes
+     */
+    public Optional<Account> findByStudentIdUncached(String studentId) {
+        return queryByStudentIdAndSemester(studentId, AcademicTerm.CURRENT.getSemester(),
+                                           AcademicTerm.CURRENT.getAcademicYear());
+    }
+
+    private Optional<Account> queryByStudentIdAndSemester(String studentId, String semester, String academicYear) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_STUDENT_ID_AND_SEMESTER_SQL)) {
 
             pstmt.setString(1, studentId);
             pstmt.setString(2, semester);
@@ -92,14 +190,91 @@ public class AccountDAO {
     }
 
     /**
-     * Find account by ID
+     * Find the current-term accounts of many students, keyed by student ID
      */
-    public Optional<Account> findById(String id) {
-        String sql = "SELECT * FROM accounts WHERE id = ?";
+    public Map<String, Account> findByStudentIds(Collection<String> studentIds) {
+        return findByStudentIds(studentIds, AcademicTerm.CURRENT);
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
+    /**
+     * Find the accounts of many students for a term with a few IN-list
+     * queries, keyed by student ID. Students without an account for the term
+     * are absent from the returned map.
+     */
+    public Map<String, Account> findByStudentIds(Collection<String> studentIds, AcademicTerm term) {
+        Map<String, Account> accounts = new HashMap<>();
+
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            InListQuery.forEach(conn, FIND_BY_STUDENT_IDS_AND_SEMESTER_SQL,
+                                List.of(term.getSemester(), term.getAcademicYear()), studentIds,
+                                this::mapResultSetToAccount,
+                                account -> accounts.put(account.getStudentId(), account));
+        } catch (SQLException e) {
+            System.err.println("Error finding accounts by student IDs: " + e.getMessage());
+        }
+
+        return accounts;
+    }
+
+    /**
+     * Load the accounts of many students for a term into the account cache,
+     * e.g. ahead of peak traffic. Returns the number of accounts found.
+     */
+    public int preload(Collection<String> studentIds, AcademicTerm term) {
+        long generation = ACCOUNT_CACHE.generation();
+        Map<String, Account> accounts = findByStudentIds(studentIds, term);
+
+        for (Account account : accounts.values()) {
+            ACCOUNT_CACHE.putIfCurrent(cacheKey(account.getStudentId(), account.getSemester(), account.getAcademicYear()),
+                                       account, generation);
+        }
+
+        return accounts.size();
+    }
+
+    /**
+     * Find only the prelim payment status of a student's current account
+     */
+    public Optional<Account.PaymentStatus> findPrelimStatus(String studentId) {
+        return findCurrentTermColumn(FIND_PRELIM_STATUS_SQL, studentId, "Error finding prelim status")
+            .map(Account.PaymentStatus::valueOf);
+    }
+
+    /**
+     * Find only the exam permission of a student's current account
+     */
+    public Optional<Account.ExamPermission> findExamPermission(String studentId) {
+        return findCurrentTermColumn(FIND_EXAM_PERMISSION_SQL, studentId, "Error finding exam permission")
+            .map(Account.ExamPermission::valueOf);
+    }
+
+    private Optional<String> findCurrentTermColumn(String sql, String studentId, String errorMessage) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
+            pstmt.setString(1, studentId);
+            pstmt.setString(2, AcademicTerm.CURRENT.getSemester());
+            pstmt.setString(3, AcademicTerm.CURRENT.getAcademicYear());
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return Optional.ofNullable(rs.getString(1));
+            }
+
+        } catch (SQLException e) {
+            System.err.println(errorMessage + ": " + e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Find account by ID
+     */
+    public Optional<Account> findById(String id) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
+
             pstmt.setString(1, id);
             ResultSet rs = pstmt.executeQuery();
 
@@ -118,36 +293,194 @@ public class AccountDAO {
      * Update account
      */
     public boolean updateAccount(Account account) {
-        String sql = """
-            UPDATE accounts SET total_paid = ?, remaining_balance = ?, prelim_amount_due = ?, 
-                              midterm_amount_due = ?, final_amount_due = ?, prelim_status = ?, 
-                              midterm_status = ?, final_status = ?, exam_permission = ?, updated_at = ? 
-            WHERE id = ?
-        """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(updateAccountAsync(account), "Error updating account");
+    }
+
+    /**
+     * Queue an account update; completes once it is committed
+     */
+    public CompletableFuture<Boolean> updateAccountAsync(Account account) {
+        AtomicLong version = new AtomicLong(-1);
+        return DatabaseConnection.submitWrite(conn -> {
+            boolean updated = updateAccount(conn, account);
+            version.set(readVersion(conn));
+            return updated;
+        }).whenComplete((updated, error) ->
+            committed(account, version.get(), error == null && Boolean.TRUE.equals(updated)));
+    }
+
+    /**
+     * Post a payment: insert the PAYMENT transaction and apply it to the account
+     * balance in one database transaction
+     */
+    public Optional<PaymentReceipt> postPayment(Transaction payment) {
+        return WriteQueue.awaitResult(postPaymentAsync(payment), "Error posting payment");
+    }
+
+    /**
+     * Queue a payment posting. The account row is re-read inside the write, so
+     * concurrent payments on the same account never overwrite each other.
+     */
+    public CompletableFuture<PaymentReceipt> postPaymentAsync(Transaction payment) {
+        long submittedAt = System.nanoTime();
+        AtomicReference<Account> posted = new AtomicReference<>();
+        AtomicLong version = new AtomicLong(-1);
+
+        return DatabaseConnection.<PaymentReceipt>submitWrite(conn -> {
+            long startedAt = System.nanoTime();
+            Account account;
+
+            try (PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
+                pstmt.setString(1, payment.getAccountId());
+                ResultSet rs = pstmt.executeQuery();
+                if (!rs.next()) {
+                    throw new SQLException("Account not found: " + payment.getAccountId());
+                }
+                account = mapResultSetToAccount(rs);
+            }
 
-            account.setUpdatedAt(LocalDateTime.now());
+            account.processPayment(payment.getAmount().abs());
+            posted.set(account);
+
+            if (!TransactionDAO.insertTransaction(conn, payment) || !updateAccount(conn, account)) {
+                throw new SQLException("Payment " + payment.getPaymentReference() + " was not recorded");
+            }
+            version.set(readVersion(conn));
+
+            long finishedAt = System.nanoTime();
+            return new PaymentReceipt(payment, account, startedAt - submittedAt, finishedAt - startedAt, 0);
+        }).whenComplete((receipt, error) -> {
+            if (posted.get() != null) {
+                committed(posted.get(), version.get(), error == null);
+            }
+        }).thenApply(receipt -> receipt.withTotalNanos(System.nanoTime() - submittedAt));
+    }
 
-            pstmt.setDouble(1, account.getTotalPaid());
-            pstmt.setDouble(2, account.getRemainingBalance());
-            pstmt.setDouble(3, account.getPrelimAmountDue());
-            pstmt.setDouble(4, account.getMidtermAmountDue());
-            pstmt.setDouble(5, account.getFinalAmountDue());
+    /**
+     * Hit, miss and eviction counts of the account cache
+     */
+    public static BoundedCache.Stats getCacheStats() {
+        return ACCOUNT_CACHE.getStats();
+    }
+
+    /**
+     * Get the change counter of the accounts table; empty if it cannot be read
+     */
+    public Optional<Long> findVersion() {
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            long version = readVersion(conn);
+            if (version >= 0) {
+                return Optional.of(version);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading account version: " + e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Register a callback that receives a copy of every account whose
+     * creation, update or payment has committed, e.g. to keep an in-memory
+     * index current
+     */
+    public static void addCommitListener(CommitListener listener) {
+        COMMIT_LISTENERS.add(listener);
+    }
+
+    /**
+     * Drop an account from the cache once its write has finished and, if it
+     * committed, tell the listeners
+     */
+    private static void committed(Account account, long tableVersion, boolean success) {
+        ACCOUNT_CACHE.invalidate(cacheKey(account.getStudentId(), account.getSemester(), account.getAcademicYear()));
+
+        if (success) {
+            synchronized (CACHE_VERSION_LOCK) {
+                // A gap means another process wrote in between; the next check clears the cache
+                if (tableVersion == cachedVersion + 1) {
+                    cachedVersion = tableVersion;
+                }
+            }
+            for (CommitListener listener : COMMIT_LISTENERS) {
+                try {
+                    listener.committed(new Account(account), tableVersion);
+                } catch (RuntimeException e) {
+                    System.err.println("Error in account commit listener: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare the accounts version with the one the cache reflects, at most
+     * once per interval, and clear the cache if another process has written
+     */
+    private void checkCacheVersion() {
+        long now = System.nanoTime();
+        if (now - nextCacheCheckAt < 0) {
+            return;
+        }
+        nextCacheCheckAt = now + CACHE_CHECK_INTERVAL_NANOS;
+
+        Optional<Long> version = findVersion();
+        if (version.isEmpty()) {
+            return;
+        }
+        synchronized (CACHE_VERSION_LOCK) {
+            if (version.get() != cachedVersion) {
+                ACCOUNT_CACHE.clear();
+                cachedVersion = version.get();
+            }
+        }
+    }
+
+    private static String cacheKey(String studentId, String semester, String academicYear) {
+        return studentId + '\n' + semester + '\n' + academicYear;
+    }
+
+    /**
+     * Read the accounts version on a connection; inside a write it counts that write
+     */
+    private static long readVersion(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(FIND_VERSION_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    /**
+     * Write the account's balances and statuses on the caller's connection.
+     * updated_at is the version rendered statements are cached under, so it
+     * moves past the stored value even when two writes share a millisecond;
+     * the account is given the value written.
+     */
+    private boolean updateAccount(Connection conn, Account account) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_ACCOUNT_SQL)) {
+            pstmt.setLong(1, account.getTotalPaid().getCentavos());
+            pstmt.setLong(2, account.getRemainingBalance().getCentavos());
+            pstmt.setLong(3, account.getPrelimAmountDue().getCentavos());
+            pstmt.setLong(4, account.getMidtermAmountDue().getCentavos());
+            pstmt.setLong(5, account.getFinalAmountDue().getCentavos());
             pstmt.setString(6, account.getPrelimStatus().name());
             pstmt.setString(7, account.getMidtermStatus().name());
             pstmt.setString(8, account.getFinalStatus().name());
             pstmt.setString(9, account.getExamPermission().name());
-            pstmt.setString(10, account.getUpdatedAt().toString());
+            TimestampCodec.bind(pstmt, 10, TimestampCodec.now());
             pstmt.setString(11, account.getId());
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+        }
 
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating account: " + e.getMessage());
-            return false;
+        try (PreparedStatement pstmt = conn.prepareStatement(FIND_UPDATED_AT_SQL)) {
+            pstmt.setString(1, account.getId());
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                account.setUpdatedAtMillis(TimestampCodec.read(rs, 1));
+            }
         }
+        return true;
     }
 
     /**
@@ -155,11 +488,10 @@ public class AccountDAO {
      */
     public List<Account> findAll() {
         List<Account> accounts = new ArrayList<>();
-        String sql = "SELECT * FROM accounts ORDER BY created_at DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
                 accounts.add(mapResultSetToAccount(rs));
@@ -172,16 +504,22 @@ public class AccountDAO {
         return accounts;
     }
 
+    /**
+     * Stream all accounts without loading them into memory; the stream must be closed
+     */
+    public Stream<Account> streamAll() {
+        return ResultSetStream.open(FIND_ALL_SQL, this::mapResultSetToAccount, "Error streaming all accounts");
+    }
+
     /**
      * Find accounts with unpaid prelims
      */
     public List<Account> findUnpaidPrelims() {
         List<Account> accounts = new ArrayList<>();
-        String sql = "SELECT * FROM accounts WHERE prelim_status = 'UNPAID' ORDER BY updated_at DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_UNPAID_PRELIMS_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
                 accounts.add(mapResultSetToAccount(rs));
@@ -195,34 +533,27 @@ public class AccountDAO {
     }
 
     /**
-     * Map ResultSet to Account object
+     * Map a row selected with ACCOUNT_COLUMNS to an Account, reading columns by position
      */
     private Account mapResultSetToAccount(ResultSet rs) throws SQLException {
         Account account = new Account();
-        account.setId(rs.getString("id"));
-        account.setStudentId(rs.getString("student_id"));
-        account.setSemester(rs.getString("semester"));
-        account.setAcademicYear(rs.getString("academic_year"));
-        account.setTotalAssessment(rs.getDouble("total_assessment"));
-        account.setTotalPaid(rs.getDouble("total_paid"));
-        account.setRemainingBalance(rs.getDouble("remaining_balance"));
-        account.setPrelimAmountDue(rs.getDouble("prelim_amount_due"));
-        account.setMidtermAmountDue(rs.getDouble("midterm_amount_due"));
-        account.setFinalAmountDue(rs.getDouble("final_amount_due"));
-        account.setPrelimStatus(Account.PaymentStatus.valueOf(rs.getString("prelim_status")));
-        account.setMidtermStatus(Account.PaymentStatus.valueOf(rs.getString("midterm_status")));
-        account.setFinalStatus(Account.PaymentStatus.valueOf(rs.getString("final_status")));
-        account.setExamPermission(Account.ExamPermission.valueOf(rs.getString("exam_permission")));
-        
-        String createdAtStr = rs.getString("created_at");
-        if (createdAtStr != null) {
-            account.setCreatedAt(LocalDateTime.parse(createdAtStr));
-        }
+        account.setId(rs.getString(1));
+        account.setStudentId(rs.getString(2));
+        account.setSemester(rs.getString(3));
+        account.setAcademicYear(rs.getString(4));
+        account.setTotalAssessment(Money.ofCentavos(rs.getLong(5)));
+        account.setTotalPaid(Money.ofCentavos(rs.getLong(6)));
+        account.setRemainingBalance(Money.ofCentavos(rs.getLong(7)));
+        account.setPrelimAmountDue(Money.ofCentavos(rs.getLong(8)));
+        account.setMidtermAmountDue(Money.ofCentavos(rs.getLong(9)));
+        account.setFinalAmountDue(Money.ofCentavos(rs.getLong(10)));
+        account.setPrelimStatus(Account.PaymentStatus.valueOf(rs.getString(11)));
+        account.setMidtermStatus(Account.PaymentStatus.valueOf(rs.getString(12)));
+        account.setFinalStatus(Account.PaymentStatus.valueOf(rs.getString(13)));
+        account.setExamPermission(Account.ExamPermission.valueOf(rs.getString(14)));
         
-        String updatedAtStr = rs.getString("updated_at");
-        if (updatedAtStr != null) {
-            account.setUpdatedAt(LocalDateTime.parse(updatedAtStr));
-        }
+        account.setCreatedAtMillis(TimestampCodec.read(rs, 15));
+        account.setUpdatedAtMillis(TimestampCodec.read(rs, 16));
 
         return account;
     }
@@ -0,0 +1,74 @@
+package edu.slu.accounts.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Runs a JDBC batch of inserts on the caller's connection and reports which
+ * rows were written.
+ *
+ * The driver aborts a batch at the first failing row without saying which
+ * row it was, so on failure the batch is rolled back to a savepoint and the
+ * rows are retried one at a time, each under its own savepoint, to find out
+ * which ones can be written.
+ */
+final class BatchInsert {
+
+    /**
+     * Binds one row's values to the insert statement
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    private BatchInsert() {
+        // Utility class
+    }
+
+    static <T> boolean[] execute(Connection conn, String sql, List<T> rows, Binder<T> binder) throws SQLException {
+        boolean[] inserted = new boolean[rows.size()];
+        if (rows.isEmpty()) {
+            return inserted;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            Savepoint batchSavepoint = conn.setSavepoint();
+            try {
+                for (T row : rows) {
+                    binder.bind(pstmt, row);
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    inserted[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+                }
+                conn.releaseSavepoint(batchSavepoint);
+                return inserted;
+            } catch (SQLException e) {
+                pstmt.clearBatch();
+                conn.rollback(batchSavepoint);
+                conn.releaseSavepoint(batchSavepoint);
+            }
+
+            for (int i = 0; i < rows.size(); i++) {
+                Savepoint rowSavepoint = conn.setSavepoint();
+                try {
+                    binder.bind(pstmt, rows.get(i));
+                    inserted[i] = pstmt.executeUpdate() > 0;
+                    conn.releaseSavepoint(rowSavepoint);
+                } catch (SQLException e) {
+                    conn.rollback(rowSavepoint);
+                    conn.releaseSavepoint(rowSavepoint);
+                    System.err.println("Batch row " + i + " was not inserted: " + e.getMessage());
+                }
+            }
+        }
+
+        return inserted;
+    }
+}
\ No newline at end of file
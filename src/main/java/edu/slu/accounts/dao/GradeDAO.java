@@ -1,78 +1,182 @@
 package edu.slu.accounts.dao;
 
+import edu.slu.accounts.model.AcademicTerm;
 import edu.slu.accounts.model.Grade;
+import edu.slu.accounts.model.GradeSummary;
 import edu.slu.accounts.util.DatabaseConnection;
 import edu.slu.accounts.util.IdGenerator;
+import edu.slu.accounts.util.TimestampCodec;
+import edu.slu.accounts.util.WriteQueue;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for Grade operations
  */
 public class GradeDAO {
+    /**
+     * Columns selected by every lookup, in the order the mapper reads them
+     */
+    static final String GRADE_COLUMNS =
+        "id, student_id, subject_code, subject_name, units, prelim_grade, midterm_grade, " +
+        "final_grade, semester_grade, remarks, semester, academic_year, created_at";
+
+    static final String CREATE_GRADE_SQL = """
+        INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, 
+                          midterm_grade, final_grade, semester_grade, remarks, semester, 
+                          academic_year, created_at) 
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    // A posted sheet is the whole row: a NULL grade clears the stored one
+    static final String UPSERT_GRADE_SQL = """
+        INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade,
+                          midterm_grade, final_grade, semester_grade, remarks, semester,
+                          academic_year, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (student_id, semester, academic_year, subject_code) DO UPDATE SET
+            subject_name = excluded.subject_name,
+            units = excluded.units,
+            prelim_grade = excluded.prelim_grade,
+            midterm_grade = excluded.midterm_grade,
+            final_grade = excluded.final_grade,
+            semester_grade = excluded.semester_grade,
+            remarks = excluded.remarks
+    """;
+
+    static final String FIND_ID_BY_NATURAL_KEY_SQL = "SELECT id FROM grades WHERE student_id = ? AND semester = ? AND academic_year = ? AND subject_code = ?";
+
+    static final String FIND_BY_STUDENT_ID_AND_SEMESTER_SQL = "SELECT " + GRADE_COLUMNS + " FROM grades WHERE student_id = ? AND semester = ? AND academic_year = ? ORDER BY subject_code";
+
+    static final String FIND_BY_ID_SQL = "SELECT " + GRADE_COLUMNS + " FROM grades WHERE id = ?";
+
+    static final String UPDATE_GRADE_SQL = """
+        UPDATE grades SET prelim_grade = ?, midterm_grade = ?, final_grade = ?, 
+                        semester_grade = ?, remarks = ? 
+        WHERE id = ?
+    """;
+
+    static final String UPDATE_PRELIM_GRADE_SQL = "UPDATE grades SET prelim_grade = ? WHERE id = ?";
+
+    static final String UPDATE_PRELIM_GRADE_BY_SUBJECT_SQL = "UPDATE grades SET prelim_grade = ? WHERE student_id = ? AND semester = ? AND academic_year = ? AND subject_code = ?";
+
+    // Totals are maintained by triggers on grades (schema migration 10), so this is one primary key lookup
+    static final String FIND_TERM_SUMMARY_SQL = """
+        SELECT subject_count, total_units,
+               prelim_count, prelim_units, prelim_weighted_sum, prelim_sum,
+               semester_count, semester_units, semester_weighted_sum, semester_sum
+        FROM grade_term_summary
+        WHERE student_id = ? AND semester = ? AND academic_year = ?
+    """;
 
     /**
      * Create a new grade
      */
     public boolean createGrade(Grade grade) {
-        String sql = """
-            INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, 
-                              midterm_grade, final_grade, semester_grade, remarks, semester, 
-                              academic_year, created_at) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
+        return WriteQueue.await(createGradeAsync(grade), "Error creating grade");
+    }
+
+    /**
+     * Queue a grade insert; completes once it is committed
+     */
+    public CompletableFuture<Boolean> createGradeAsync(Grade grade) {
+        if (grade.getId() == null) {
+            grade.setId(IdGenerator.generateId());
+        }
+
+        return DatabaseConnection.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(CREATE_GRADE_SQL)) {
+                bindGrade(pstmt, grade);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Create several grades in one batch and one commit; each element of the
+     * result tells whether the grade at that index was inserted
+     */
+    public boolean[] createGrades(List<Grade> grades) {
+        return WriteQueue.awaitResult(createGradesAsync(grades), "Error creating grades")
+                .orElseGet(() -> new boolean[grades.size()]);
+    }
 
+    /**
+     * Queue a batch of grade inserts; completes once they are committed
+     */
+    public CompletableFuture<boolean[]> createGradesAsync(List<Grade> grades) {
+        for (Grade grade : grades) {
             if (grade.getId() == null) {
                 grade.setId(IdGenerator.generateId());
             }
+        }
 
-            pstmt.setString(1, grade.getId());
-            pstmt.setString(2, grade.getStudentId());
-            pstmt.setString(3, grade.getSubjectCode());
-            pstmt.setString(4, grade.getSubjectName());
-            pstmt.setDouble(5, grade.getUnits());
-            
-            if (grade.getPrelimGrade() != null) {
-                pstmt.setDouble(6, grade.getPrelimGrade());
-            } else {
-                pstmt.setNull(6, Types.DOUBLE);
-            }
-            
-            if (grade.getMidtermGrade() != null) {
-                pstmt.setDouble(7, grade.getMidtermGrade());
-            } else {
-                pstmt.setNull(7, Types.DOUBLE);
-            }
-            
-            if (grade.getFinalGrade() != null) {
-                pstmt.setDouble(8, grade.getFinalGrade());
-            } else {
-                pstmt.setNull(8, Types.DOUBLE);
-            }
-            
-            if (grade.getSemesterGrade() != null) {
-                pstmt.setDouble(9, grade.getSemesterGrade());
-            } else {
-                pstmt.setNull(9, Types.DOUBLE);
+        return DatabaseConnection.submitWrite(conn ->
+            BatchInsert.execute(conn, CREATE_GRADE_SQL, grades, GradeDAO::bindGrade));
+    }
+
+    /**
+     * Insert or update several grades, matched on student, term and subject, in
+     * one batch and one commit. Each element of the result tells whether the
+     * grade at that index was written. An update replaces every grade and the
+     * remarks of the stored row, NULLs included, but keeps the row's ID; the
+     * written Grade objects are given that ID.
+     */
+    public boolean[] upsertGrades(List<Grade> grades) {
+        return WriteQueue.awaitResult(upsertGradesAsync(grades), "Error upserting grades")
+                .orElseGet(() -> new boolean[grades.size()]);
+    }
+
+    /**
+     * Queue a batch of grade upserts; completes once they are committed
+     */
+    public CompletableFuture<boolean[]> upsertGradesAsync(List<Grade> grades) {
+        for (Grade grade : grades) {
+            if (grade.getId() == null) {
+                grade.setId(IdGenerator.generateId());
             }
-            
-            pstmt.setString(10, grade.getRemarks());
-            pstmt.setString(11, grade.getSemester());
-            pstmt.setString(12, grade.getAcademicYear());
-            pstmt.setString(13, grade.getCreatedAt().toString());
+        }
 
-            return pstmt.executeUpdate() > 0;
+        String[] storedIds = new String[grades.size()];
+        return DatabaseConnection.submitWrite(conn -> {
+            boolean[] written = BatchInsert.execute(conn, UPSERT_GRADE_SQL, grades, GradeDAO::bindGrade);
+            findStoredIds(conn, grades, written, storedIds);
+            return written;
+        }).thenApply(written -> {
+            for (int i = 0; i < storedIds.length; i++) {
+                if (storedIds[i] != null) {
+                    grades.get(i).setId(storedIds[i]);
+                }
+            }
+            return written;
+        });
+    }
 
-        } catch (SQLException e) {
-            System.err.println("Error creating grade: " + e.getMessage());
-            return false;
+    /**
+     * Look up the row ID each written grade ended up in
+     */
+    private static void findStoredIds(Connection conn, List<Grade> grades, boolean[] written, String[] storedIds)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(FIND_ID_BY_NATURAL_KEY_SQL)) {
+            for (int i = 0; i < grades.size(); i++) {
+                if (!written[i]) {
+                    continue;
+                }
+                Grade grade = grades.get(i);
+                pstmt.setString(1, grade.getStudentId());
+                pstmt.setString(2, grade.getSemester());
+                pstmt.setString(3, grade.getAcademicYear());
+                pstmt.setString(4, grade.getSubjectCode());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        storedIds[i] = rs.getString(1);
+                    }
+                }
+            }
         }
     }
 
@@ -80,7 +184,8 @@ public class GradeDAO {
      * Find grades by student ID
      */
     public List<Grade> findByStudentId(String studentId) {
-        return findByStudentIdAndSemester(studentId, "FIRST SEMESTER", "2025-2026");
+        return findByStudentIdAndSemester(studentId, AcademicTerm.CURRENT.getSemester(),
+                                          AcademicTerm.CURRENT.getAcademicYear());
     }
 
     /**
@@ -88,10 +193,9 @@ public class GradeDAO {
      */
     public List<Grade> findByStudentIdAndSemester(String studentId, String semester, String academicYear) {
         List<Grade> grades = new ArrayList<>();
-        String sql = "SELECT * FROM grades WHERE student_id = ? AND semester = ? AND academic_year = ? ORDER BY subject_code";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_STUDENT_ID_AND_SEMESTER_SQL)) {
 
             pstmt.setString(1, studentId);
             pstmt.setString(2, semester);
@@ -113,10 +217,8 @@ public class GradeDAO {
      * Find grade by ID
      */
     public Optional<Grade> findById(String id) {
-        String sql = "SELECT * FROM grades WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
 
             pstmt.setString(1, id);
             ResultSet rs = pstmt.executeQuery();
@@ -136,139 +238,184 @@ public class GradeDAO {
      * Update grade
      */
     public boolean updateGrade(Grade grade) {
-        String sql = """
-            UPDATE grades SET prelim_grade = ?, midterm_grade = ?, final_grade = ?, 
-                            semester_grade = ?, remarks = ? 
-            WHERE id = ?
-        """;
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            if (grade.getPrelimGrade() != null) {
-                pstmt.setDouble(1, grade.getPrelimGrade());
-            } else {
-                pstmt.setNull(1, Types.DOUBLE);
-            }
+        return WriteQueue.await(DatabaseConnection.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_GRADE_SQL)) {
+                if (grade.getPrelimGrade() != null) {
+                    pstmt.setDouble(1, grade.getPrelimGrade());
+                } else {
+                    pstmt.setNull(1, Types.DOUBLE);
+                }
             
-            if (grade.getMidtermGrade() != null) {
-                pstmt.setDouble(2, grade.getMidtermGrade());
-            } else {
-                pstmt.setNull(2, Types.DOUBLE);
-            }
+                if (grade.getMidtermGrade() != null) {
+                    pstmt.setDouble(2, grade.getMidtermGrade());
+                } else {
+                    pstmt.setNull(2, Types.DOUBLE);
+                }
             
-            if (grade.getFinalGrade() != null) {
-                pstmt.setDouble(3, grade.getFinalGrade());
-            } else {
-                pstmt.setNull(3, Types.DOUBLE);
-            }
+                if (grade.getFinalGrade() != null) {
+                    pstmt.setDouble(3, grade.getFinalGrade());
+                } else {
+                    pstmt.setNull(3, Types.DOUBLE);
+                }
             
-            if (grade.getSemesterGrade() != null) {
-                pstmt.setDouble(4, grade.getSemesterGrade());
-            } else {
-                pstmt.setNull(4, Types.DOUBLE);
-            }
+                if (grade.getSemesterGrade() != null) {
+                    pstmt.setDouble(4, grade.getSemesterGrade());
+                } else {
+                    pstmt.setNull(4, Types.DOUBLE);
+                }
             
-            pstmt.setString(5, grade.getRemarks());
-            pstmt.setString(6, grade.getId());
-
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating grade: " + e.getMessage());
-            return false;
-        }
+                pstmt.setString(5, grade.getRemarks());
+                pstmt.setString(6, grade.getId());
+                return pstmt.executeUpdate() > 0;
+            }
+        }), "Error updating grade");
     }
 
     /**
      * Update prelim grade
      */
     public boolean updatePrelimGrade(String gradeId, double prelimGrade) {
-        String sql = "UPDATE grades SET prelim_grade = ? WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setDouble(1, prelimGrade);
-            pstmt.setString(2, gradeId);
-
-            return pstmt.executeUpdate() > 0;
+        return WriteQueue.await(DatabaseConnection.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_PRELIM_GRADE_SQL)) {
+                pstmt.setDouble(1, prelimGrade);
+                pstmt.setString(2, gradeId);
+                return pstmt.executeUpdate() > 0;
+            }
+        }), "Error updating prelim grade");
+    }
 
-        } catch (SQLException e) {
-            System.err.println("Error updating prelim grade: " + e.getMessage());
-            return false;
-        }
+    /**
+     * Update the prelim grade of one subject, found by its natural key
+     */
+    public boolean updatePrelimGrade(String studentId, AcademicTerm term, String subjectCode, double prelimGrade) {
+        return WriteQueue.await(DatabaseConnection.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_PRELIM_GRADE_BY_SUBJECT_SQL)) {
+                pstmt.setDouble(1, prelimGrade);
+                pstmt.setString(2, studentId);
+                pstmt.setString(3, term.getSemester());
+                pstmt.setString(4, term.getAcademicYear());
+                pstmt.setString(5, subjectCode);
+                return pstmt.executeUpdate() > 0;
+            }
+        }), "Error updating prelim grade");
     }
 
     /**
-     * Get student GPA
+     * Get student GPA: the plain average of the term's semester grades
      */
     public double getStudentGPA(String studentId, String semester, String academicYear) {
-        String sql = """
-            SELECT AVG(semester_grade) as gpa 
-            FROM grades 
-            WHERE student_id = ? AND semester = ? AND academic_year = ? 
-            AND semester_grade IS NOT NULL
-        """;
+        return findTermSummary(studentId, new AcademicTerm(semester, academicYear))
+            .map(summary -> summary.getSemester().getAverage())
+            .orElse(0.0);
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Get the running grade totals of a student for a term; empty if the
+     * student has no grades that term
+     */
+    public Optional<GradeSummary> findTermSummary(String studentId, AcademicTerm term) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_TERM_SUMMARY_SQL)) {
 
             pstmt.setString(1, studentId);
-            pstmt.setString(2, semester);
-            pstmt.setString(3, academicYear);
+            pstmt.setString(2, term.getSemester());
+            pstmt.setString(3, term.getAcademicYear());
             ResultSet rs = pstmt.executeQuery();
 
-            if (rs.next()) {
-                return rs.getDouble("gpa");
+            if (rs.next() && rs.getInt(1) > 0) {
+                return Optional.of(new GradeSummary(
+                    studentId,
+                    term,
+                    rs.getInt(1),
+                    rs.getDouble(2),
+                    new GradeSummary.Totals(rs.getInt(3), rs.getDouble(4), rs.getDouble(5), rs.getDouble(6)),
+                    new GradeSummary.Totals(rs.getInt(7), rs.getDouble(8), rs.getDouble(9), rs.getDouble(10))
+                ));
             }
 
         } catch (SQLException e) {
-            System.err.println("Error calculating GPA: " + e.getMessage());
+            System.err.println("Error finding grade summary: " + e.getMessage());
         }
 
-        return 0.0;
+        return Optional.empty();
     }
 
     /**
-     * Map ResultSet to Grade object
+     * Bind a grade to the insert or upsert statement
+     */
+    private static void bindGrade(PreparedStatement pstmt, Grade grade) throws SQLException {
+        pstmt.setString(1, grade.getId());
+        pstmt.setString(2, grade.getStudentId());
+        pstmt.setString(3, grade.getSubjectCode());
+        pstmt.setString(4, grade.getSubjectName());
+        pstmt.setDouble(5, grade.getUnits());
+    
+        if (grade.getPrelimGrade() != null) {
+            pstmt.setDouble(6, grade.getPrelimGrade());
+        } else {
+            pstmt.setNull(6, Types.DOUBLE);
+        }
+    
+        if (grade.getMidtermGrade() != null) {
+            pstmt.setDouble(7, grade.getMidtermGrade());
+        } else {
+            pstmt.setNull(7, Types.DOUBLE);
+        }
+    
+        if (grade.getFinalGrade() != null) {
+            pstmt.setDouble(8, grade.getFinalGrade());
+        } else {
+            pstmt.setNull(8, Types.DOUBLE);
+        }
+    
+        if (grade.getSemesterGrade() != null) {
+            pstmt.setDouble(9, grade.getSemesterGrade());
+        } else {
+            pstmt.setNull(9, Types.DOUBLE);
+        }
+    
+        pstmt.setString(10, grade.getRemarks());
+        pstmt.setString(11, grade.getSemester());
+        pstmt.setString(12, grade.getAcademicYear());
+        TimestampCodec.bind(pstmt, 13, grade.getCreatedAtMillis());
+    }
+
+    /**
+     * Map a row selected with GRADE_COLUMNS to a Grade, reading columns by position
      */
     private Grade mapResultSetToGrade(ResultSet rs) throws SQLException {
         Grade grade = new Grade();
-        grade.setId(rs.getString("id"));
-        grade.setStudentId(rs.getString("student_id"));
-        grade.setSubjectCode(rs.getString("subject_code"));
-        grade.setSubjectName(rs.getString("subject_name"));
-        grade.setUnits(rs.getDouble("units"));
+        grade.setId(rs.getString(1));
+        grade.setStudentId(rs.getString(2));
+        grade.setSubjectCode(rs.getString(3));
+        grade.setSubjectName(rs.getString(4));
+        grade.setUnits(rs.getDouble(5));
         
-        double prelimGrade = rs.getDouble("prelim_grade");
+        double prelimGrade = rs.getDouble(6);
         if (!rs.wasNull()) {
             grade.setPrelimGrade(prelimGrade);
         }
         
-        double midtermGrade = rs.getDouble("midterm_grade");
+        double midtermGrade = rs.getDouble(7);
         if (!rs.wasNull()) {
             grade.setMidtermGrade(midtermGrade);
         }
         
-        double finalGrade = rs.getDouble("final_grade");
+        double finalGrade = rs.getDouble(8);
         if (!rs.wasNull()) {
             grade.setFinalGrade(finalGrade);
         }
         
-        double semesterGrade = rs.getDouble("semester_grade");
+        double semesterGrade = rs.getDouble(9);
         if (!rs.wasNull()) {
             grade.setSemesterGrade(semesterGrade);
         }
         
-        grade.setRemarks(rs.getString("remarks"));
-        grade.setSemester(rs.getString("semester"));
-        grade.setAcademicYear(rs.getString("academic_year"));
+        grade.setRemarks(rs.getString(10));
+        grade.setSemester(rs.getString(11));
+        grade.setAcademicYear(rs.getString(12));
         
-        String createdAtStr = rs.getString("created_at");
-        if (createdAtStr != null) {
-            grade.setCreatedAt(LocalDateTime.parse(createdAtStr));
-        }
+        grade.setCreatedAtMillis(TimestampCodec.read(rs, 13));
 
         return grade;
     }
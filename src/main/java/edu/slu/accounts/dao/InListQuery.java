@@ -0,0 +1,75 @@
+package edu.slu.accounts.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Looks up many keys with a few {@code IN (...)} queries instead of one query
+ * per key.
+ *
+ * Keys are de-duplicated and split into chunks of at most
+ * {@link #MAX_CHUNK_SIZE}, well below SQLite's bound-parameter limit. Each
+ * chunk is padded up to the next power of two by repeating its last key, so a
+ * lookup only ever uses a handful of distinct statements and they stay in the
+ * connection's statement cache.
+ */
+final class InListQuery {
+    static final int MAX_CHUNK_SIZE = 512;
+
+    private InListQuery() {
+        // Utility class
+    }
+
+    /**
+     * Expand a statement containing {@code IN (%s)} for the given number of keys
+     */
+    static String expand(String sqlTemplate, int keyCount) {
+        StringBuilder placeholders = new StringBuilder(keyCount * 3);
+        for (int i = 0; i < keyCount; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        return sqlTemplate.formatted(placeholders);
+    }
+
+    /**
+     * Run the statement for every chunk of keys and pass each mapped row to the
+     * action. Fixed parameters are bound before the keys.
+     */
+    static <T> void forEach(Connection conn, String sqlTemplate, List<String> fixedParameters,
+                            Collection<String> keys, RowMapper<T> mapper, Consumer<T> action) throws SQLException {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        distinct.removeIf(Objects::isNull);
+
+        for (int from = 0; from < distinct.size(); from += MAX_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + MAX_CHUNK_SIZE, distinct.size()));
+            int paddedSize = paddedSize(chunk.size());
+
+            try (PreparedStatement pstmt = conn.prepareStatement(expand(sqlTemplate, paddedSize))) {
+                int index = 1;
+                for (String parameter : fixedParameters) {
+                    pstmt.setString(index++, parameter);
+                }
+                for (int i = 0; i < paddedSize; i++) {
+                    pstmt.setString(index++, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    action.accept(mapper.map(rs));
+                }
+            }
+        }
+    }
+
+    private static int paddedSize(int size) {
+        return size <= 1 ? 1 : Math.min(Integer.highestOneBit(size - 1) << 1, MAX_CHUNK_SIZE);
+    }
+}
\ No newline at end of file
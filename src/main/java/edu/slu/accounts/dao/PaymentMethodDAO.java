@@ -0,0 +1,75 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.PaymentMethod;
+import edu.slu.accounts.util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object for payment methods
+ */
+public class PaymentMethodDAO {
+    static final String FIND_ALL_SQL = """
+        SELECT id, method_name, method_code, service_fee, percentage_fee, is_active, description
+        FROM payment_methods ORDER BY sort_order, method_name
+    """;
+
+    // Bumped by triggers on every change to payment_methods, from any process
+    static final String FIND_VERSION_SQL = "SELECT version FROM table_versions WHERE table_name = 'payment_methods'";
+
+    /**
+     * Find all payment methods, active or not, in display order
+     */
+    public List<PaymentMethod> findAll() {
+        List<PaymentMethod> methods = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                methods.add(mapResultSetToPaymentMethod(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error finding payment methods: " + e.getMessage());
+        }
+
+        return methods;
+    }
+
+    /**
+     * Get the change counter of the payment_methods table; empty if it cannot be read
+     */
+    public Optional<Long> findVersion() {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_VERSION_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            if (rs.next()) {
+                return Optional.of(rs.getLong(1));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading payment method version: " + e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    private PaymentMethod mapResultSetToPaymentMethod(ResultSet rs) throws SQLException {
+        return new PaymentMethod(
+            rs.getString(1),
+            rs.getString(2),
+            rs.getString(3),
+            Money.ofCentavos(rs.getLong(4)),
+            rs.getDouble(5),
+            rs.getBoolean(6),
+            rs.getString(7)
+        );
+    }
+}
\ No newline at end of file
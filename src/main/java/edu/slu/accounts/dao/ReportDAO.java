@@ -0,0 +1,100 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.model.AcademicTerm;
+import edu.slu.accounts.model.BalanceSummary;
+import edu.slu.accounts.model.CollectionSummary;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for finance dashboard totals. Every figure is computed
+ * with GROUP BY in SQLite, so only one small row per group is transferred.
+ */
+public class ReportDAO {
+    // CROSS JOIN keeps students as the outer loop: walking idx_students_course_year
+    // yields the groups in order, so no temporary B-tree is needed for GROUP BY
+    static final String FIND_BALANCES_BY_COURSE_AND_YEAR_SQL = """
+        SELECT s.course, s.year_level, COUNT(*), SUM(a.remaining_balance),
+               SUM(a.prelim_status = 'UNPAID'),
+               SUM(CASE WHEN a.prelim_status = 'UNPAID' THEN a.prelim_amount_due ELSE 0 END)
+        FROM students s CROSS JOIN accounts a ON a.student_id = s.id
+        WHERE a.semester = ? AND a.academic_year = ?
+        GROUP BY s.course, s.year_level
+        ORDER BY s.course, s.year_level
+    """;
+
+    static final String FIND_COLLECTIONS_BY_PAYMENT_METHOD_SQL = """
+        SELECT payment_method, COUNT(*), SUM(ABS(amount))
+        FROM transactions
+        WHERE transaction_type = 'PAYMENT' AND status = 'COMPLETED'
+        GROUP BY payment_method
+        ORDER BY payment_method
+    """;
+
+    /**
+     * Outstanding balance and unpaid prelims per course and year level for the current term
+     */
+    public List<BalanceSummary> findBalancesByCourseAndYear() {
+        return findBalancesByCourseAndYear(AcademicTerm.CURRENT);
+    }
+
+    /**
+     * Outstanding balance and unpaid prelims per course and year level for a term
+     */
+    public List<BalanceSummary> findBalancesByCourseAndYear(AcademicTerm term) {
+        List<BalanceSummary> summaries = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BALANCES_BY_COURSE_AND_YEAR_SQL)) {
+
+            pstmt.setString(1, term.getSemester());
+            pstmt.setString(2, term.getAcademicYear());
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                summaries.add(new BalanceSummary(
+                    rs.getString(1),
+                    rs.getInt(2),
+                    rs.getLong(3),
+                    Money.ofCentavos(rs.getLong(4)),
+                    rs.getLong(5),
+                    Money.ofCentavos(rs.getLong(6))
+                ));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error summarizing balances: " + e.getMessage());
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Total of completed payments per payment method
+     */
+    public List<CollectionSummary> findCollectionsByPaymentMethod() {
+        List<CollectionSummary> summaries = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_COLLECTIONS_BY_PAYMENT_METHOD_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                summaries.add(new CollectionSummary(
+                    rs.getString(1),
+                    rs.getLong(2),
+                    Money.ofCentavos(rs.getLong(3))
+                ));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error summarizing collections: " + e.getMessage());
+        }
+
+        return summaries;
+    }
+}
\ No newline at end of file
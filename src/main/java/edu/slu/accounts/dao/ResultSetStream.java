@@ -0,0 +1,100 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams query results row by row instead of collecting them into a list.
+ *
+ * The stream holds a pooled read connection until it is closed, so callers
+ * must use try-with-resources and consume it on the thread that opened it.
+ * Errors are reported the way the DAOs report them: the message is printed
+ * and the stream simply ends.
+ */
+final class ResultSetStream {
+
+    private ResultSetStream() {
+        // Utility class
+    }
+
+    static <T> Stream<T> open(String sql, RowMapper<T> mapper, String errorMessage) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+
+        try {
+            conn = DatabaseConnection.getReadConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setFetchSize(DatabaseConnection.getFetchSize());
+            ResultSet rs = pstmt.executeQuery();
+
+            Connection openConn = conn;
+            PreparedStatement openStmt = pstmt;
+            return StreamSupport.stream(new RowSpliterator<>(rs, mapper, errorMessage), false)
+                .onClose(() -> close(rs, openStmt, openConn, errorMessage));
+        } catch (SQLException e) {
+            System.err.println(errorMessage + ": " + e.getMessage());
+            close(null, pstmt, conn, errorMessage);
+            return Stream.empty();
+        }
+    }
+
+    private static void close(ResultSet rs, PreparedStatement pstmt, Connection conn, String errorMessage) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (pstmt != null) {
+                pstmt.close();
+            }
+        } catch (SQLException e) {
+            System.err.println(errorMessage + ": " + e.getMessage());
+        } finally {
+            try {
+                if (conn != null) {
+                    conn.close();
+                }
+            } catch (SQLException e) {
+                System.err.println(errorMessage + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Advances the result set one row per element
+     */
+    private static final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private final String errorMessage;
+
+        private RowSpliterator(ResultSet rs, RowMapper<T> mapper, String errorMessage) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.rs = rs;
+            this.mapper = mapper;
+            this.errorMessage = errorMessage;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!rs.next()) {
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                System.err.println(errorMessage + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+}
\ No newline at end of file
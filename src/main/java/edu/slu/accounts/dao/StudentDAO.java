@@ -1,71 +1,128 @@
 package edu.slu.accounts.dao;
 
 import edu.slu.accounts.model.Student;
+import edu.slu.accounts.util.BoundedCache;
 import edu.slu.accounts.util.DatabaseConnection;
+import edu.slu.accounts.util.FrequencyCache;
 import edu.slu.accounts.util.IdGenerator;
+import edu.slu.accounts.util.TimestampCodec;
+import edu.slu.accounts.util.WriteQueue;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Data Access Object for Student operations
  */
 public class StudentDAO {
-
     /**
-     * Create a new student
+     * Columns selected by every lookup, in the order the mapper reads them
      */
-    public boolean createStudent(Student student) {
-        String sql = """
-            INSERT INTO students (id, student_number, first_name, middle_name, last_name, 
-                                course, year_level, email, password, created_at) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
+    static final String STUDENT_COLUMNS =
+        "id, student_number, first_name, middle_name, last_name, course, year_level, " +
+        "email, password, created_at";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    // Shared by every StudentDAO; each student is cached under its ID and its student number
+    private static final FrequencyCache<String, Student> STUDENT_CACHE = new FrequencyCache<>(
+        Integer.getInteger("slu.db.studentCacheSize", 10_000),
+        Long.getLong("slu.db.studentCacheTtlSeconds", 300), TimeUnit.SECONDS);
 
-            if (student.getId() == null) {
-                student.setId(IdGenerator.generateId());
-            }
+    private static final StudentNumberIndex NUMBER_INDEX = new StudentNumberIndex();
 
-            pstmt.setString(1, student.getId());
-            pstmt.setString(2, student.getStudentNumber());
-            pstmt.setString(3, student.getFirstName());
-            pstmt.setString(4, student.getMiddleName());
-            pstmt.setString(5, student.getLastName());
-            pstmt.setString(6, student.getCourse());
-            pstmt.setInt(7, student.getYearLevel());
-            pstmt.setString(8, student.getEmail());
-            pstmt.setString(9, student.getPassword());
-            pstmt.setString(10, student.getCreatedAt().toString());
+    static final String CREATE_STUDENT_SQL = """
+        INSERT INTO students (id, student_number, first_name, middle_name, last_name, 
+                            course, year_level, email, password, created_at) 
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
 
-            return pstmt.executeUpdate() > 0;
+    static final String FIND_BY_STUDENT_NUMBER_SQL = "SELECT " + STUDENT_COLUMNS + " FROM students WHERE student_number = ?";
 
-        } catch (SQLException e) {
-            System.err.println("Error creating student: " + e.getMessage());
-            return false;
+    static final String FIND_BY_ID_SQL = "SELECT " + STUDENT_COLUMNS + " FROM students WHERE id = ?";
+
+    static final String FIND_BY_IDS_SQL = "SELECT " + STUDENT_COLUMNS + " FROM students WHERE id IN (%s)";
+
+    static final String FIND_ALL_SQL = "SELECT " + STUDENT_COLUMNS + " FROM students ORDER BY student_number";
+
+    static final String FIND_ALL_IDS_SQL = "SELECT id FROM students";
+
+    static final String UPDATE_STUDENT_SQL = """
+        UPDATE students SET first_name = ?, middle_name = ?, last_name = ?, 
+                          course = ?, year_level = ?, email = ? 
+        WHERE id = ?
+    """;
+
+    static final String DELETE_STUDENT_SQL = "DELETE FROM students WHERE id = ? RETURNING student_number";
+
+    static final String STUDENT_NUMBER_EXISTS_SQL = "SELECT COUNT(*) FROM students WHERE student_number = ?";
+
+    /**
+     * Create a new student
+     */
+    public boolean createStudent(Student student) {
+        if (student.getId() == null) {
+            student.setId(IdGenerator.generateId());
         }
+
+        AtomicLong version = new AtomicLong(-1);
+        return WriteQueue.await(DatabaseConnection.submitWrite(conn -> {
+            boolean created;
+            try (PreparedStatement pstmt = conn.prepareStatement(CREATE_STUDENT_SQL)) {
+                pstmt.setString(1, student.getId());
+                pstmt.setString(2, student.getStudentNumber());
+                pstmt.setString(3, student.getFirstName());
+                pstmt.setString(4, student.getMiddleName());
+                pstmt.setString(5, student.getLastName());
+                pstmt.setString(6, student.getCourse());
+                pstmt.setInt(7, student.getYearLevel());
+                pstmt.setString(8, student.getEmail());
+                pstmt.setString(9, student.getPassword());
+                TimestampCodec.bind(pstmt, 10, student.getCreatedAtMillis());
+                created = pstmt.executeUpdate() > 0;
+            }
+            version.set(StudentNumberIndex.readVersion(conn));
+            return created;
+        }).whenComplete((created, error) -> {
+            if (error == null && Boolean.TRUE.equals(created)) {
+                NUMBER_INDEX.added(student.getStudentNumber(), version.get());
+            }
+        }), "Error creating student");
     }
 
     /**
-     * Find student by student number
+     * Find student by student number. Answered from the student cache when
+     * possible, and unknown numbers usually without a query; the caller
+     * always gets its own copy.
      */
     public Optional<Student> findByStudentNumber(String studentNumber) {
-        String sql = "SELECT * FROM students WHERE student_number = ?";
+        Student cached = STUDENT_CACHE.get(numberKey(studentNumber));
+        if (cached != null) {
+            return Optional.of(new Student(cached));
+        }
+        if (NUMBER_INDEX.isKnownAbsent(studentNumber)) {
+            return Optional.empty();
+        }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long generation = STUDENT_CACHE.generation();
+        long absentGeneration = NUMBER_INDEX.generation();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_STUDENT_NUMBER_SQL)) {
 
             pstmt.setString(1, studentNumber);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return Optional.of(mapResultSetToStudent(rs));
+                Student student = mapResultSetToStudent(rs);
+                cache(student, generation);
+                return Optional.of(student);
             }
+            NUMBER_INDEX.recordAbsent(studentNumber, absentGeneration);
 
         } catch (SQLException e) {
             System.err.println("Error finding student by number: " + e.getMessage());
@@ -75,19 +132,26 @@ public class StudentDAO {
     }
 
     /**
-     * Find student by ID
+     * Find student by ID. Answered from the student cache when possible; the
+     * caller always gets its own copy.
      */
     public Optional<Student> findById(String id) {
-        String sql = "SELECT * FROM students WHERE id = ?";
+        Student cached = STUDENT_CACHE.get(idKey(id));
+        if (cached != null) {
+            return Optional.of(new Student(cached));
+        }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long generation = STUDENT_CACHE.generation();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
 
             pstmt.setString(1, id);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return Optional.of(mapResultSetToStudent(rs));
+                Student student = mapResultSetToStudent(rs);
+                cache(student, generation);
+                return Optional.of(student);
             }
 
         } catch (SQLException e) {
@@ -97,16 +161,32 @@ public class StudentDAO {
         return Optional.empty();
     }
 
+    /**
+     * Find many students by ID with a few IN-list queries. IDs that do not
+     * exist are absent from the returned map.
+     */
+    public Map<String, Student> findByIds(Collection<String> ids) {
+        Map<String, Student> students = new HashMap<>();
+
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            InListQuery.forEach(conn, FIND_BY_IDS_SQL, List.of(), ids, this::mapResultSetToStudent,
+                                student -> students.put(student.getId(), student));
+        } catch (SQLException e) {
+            System.err.println("Error finding students by ID: " + e.getMessage());
+        }
+
+        return students;
+    }
+
     /**
      * Find all students
      */
     public List<Student> findAll() {
         List<Student> students = new ArrayList<>();
-        String sql = "SELECT * FROM students ORDER BY student_number";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
                 students.add(mapResultSetToStudent(rs));
@@ -120,67 +200,167 @@ public class StudentDAO {
     }
 
     /**
-     * Update student
+     * Find the ID of every student
      */
-    public boolean updateStudent(Student student) {
-        String sql = """
-            UPDATE students SET first_name = ?, middle_name = ?, last_name = ?, 
-                              course = ?, year_level = ?, email = ? 
-            WHERE id = ?
-        """;
+    public List<String> findAllIds() {
+        List<String> ids = new ArrayList<>();
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_IDS_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
 
-            pstmt.setString(1, student.getFirstName());
-            pstmt.setString(2, student.getMiddleName());
-            pstmt.setString(3, student.getLastName());
-            pstmt.setString(4, student.getCourse());
-            pstmt.setInt(5, student.getYearLevel());
-            pstmt.setString(6, student.getEmail());
-            pstmt.setString(7, student.getId());
-
-            return pstmt.executeUpdate() > 0;
+            while (rs.next()) {
+                ids.add(rs.getString(1));
+            }
 
         } catch (SQLException e) {
-            System.err.println("Error updating student: " + e.getMessage());
-            return false;
+            System.err.println("Error finding all student IDs: " + e.getMessage());
         }
+
+        return ids;
+    }
+
+    /**
+     * Load many students into the student cache, e.g. ahead of peak traffic.
+     * Returns the number of students found.
+     */
+    public int preload(Collection<String> ids) {
+        long generation = STUDENT_CACHE.generation();
+        Map<String, Student> students = findByIds(ids);
+
+        for (Student student : students.values()) {
+            cache(student, generation);
+        }
+
+        return students.size();
+    }
+
+    /**
+     * Update student
+     */
+    public boolean updateStudent(Student student) {
+        return WriteQueue.await(DatabaseConnection.<Boolean>submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_STUDENT_SQL)) {
+                pstmt.setString(1, student.getFirstName());
+                pstmt.setString(2, student.getMiddleName());
+                pstmt.setString(3, student.getLastName());
+                pstmt.setString(4, student.getCourse());
+                pstmt.setInt(5, student.getYearLevel());
+                pstmt.setString(6, student.getEmail());
+                pstmt.setString(7, student.getId());
+                return pstmt.executeUpdate() > 0;
+            }
+        }).whenComplete((updated, error) -> invalidate(student.getId(), student.getStudentNumber())),
+            "Error updating student");
     }
 
     /**
      * Delete student
      */
     public boolean deleteStudent(String id) {
-        String sql = "DELETE FROM students WHERE id = ?";
+        AtomicLong version = new AtomicLong(-1);
+        return WriteQueue.awaitResult(DatabaseConnection.<String>submitWrite(conn -> {
+            String studentNumber;
+            try (PreparedStatement pstmt = conn.prepareStatement(DELETE_STUDENT_SQL)) {
+                pstmt.setString(1, id);
+                ResultSet rs = pstmt.executeQuery();
+                studentNumber = rs.next() ? rs.getString(1) : null;
+            }
+            version.set(StudentNumberIndex.readVersion(conn));
+            return studentNumber;
+        }).whenComplete((studentNumber, error) -> {
+            invalidate(id, studentNumber);
+            if (error == null && studentNumber != null) {
+                NUMBER_INDEX.removed(studentNumber, version.get());
+            }
+        }),
+            "Error deleting student").isPresent();
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Hit, miss and eviction counts of the student cache
+     */
+    public static BoundedCache.Stats getCacheStats() {
+        return STUDENT_CACHE.getStats();
+    }
 
-            pstmt.setString(1, id);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Load every student number into the filter that answers lookups of unknown
+     * numbers; until this has run, every lookup goes to the database
+     */
+    public static boolean rebuildStudentNumberFilter() {
+        return NUMBER_INDEX.rebuild();
+    }
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting student: " + e.getMessage());
-            return false;
+    /**
+     * Hit and miss counts of the cache of student numbers known not to exist
+     */
+    public static BoundedCache.Stats getNegativeCacheStats() {
+        return NUMBER_INDEX.getNegativeCache().getStats();
+    }
+
+    /**
+     * Number of lookups the student number filter answered without a query
+     */
+    public static long getFilterRejections() {
+        return NUMBER_INDEX.getFilterRejections();
+    }
+
+    /**
+     * Cache a copy of a loaded student under both of its keys
+     */
+    private static void cache(Student student, long generation) {
+        Student copy = new Student(student);
+        STUDENT_CACHE.putIfCurrent(idKey(student.getId()), copy, generation);
+        STUDENT_CACHE.putIfCurrent(numberKey(student.getStudentNumber()), copy, generation);
+    }
+
+    /**
+     * Drop a student from the cache once its write has finished. The student
+     * number may be unknown to the caller, so it is also taken from the cached entry.
+     */
+    private static void invalidate(String id, String studentNumber) {
+        Student cached = STUDENT_CACHE.peek(idKey(id));
+        STUDENT_CACHE.invalidate(idKey(id));
+        if (studentNumber != null) {
+            STUDENT_CACHE.invalidate(numberKey(studentNumber));
+        }
+        if (cached != null && !cached.getStudentNumber().equals(studentNumber)) {
+            STUDENT_CACHE.invalidate(numberKey(cached.getStudentNumber()));
         }
     }
 
+    private static String idKey(String id) {
+        return "id\n" + id;
+    }
+
+    private static String numberKey(String studentNumber) {
+        return "number\n" + studentNumber;
+    }
+
     /**
-     * Check if student number exists
+     * Check if student number exists; unknown numbers are usually answered
+     * without a query
      */
     public boolean studentNumberExists(String studentNumber) {
-        String sql = "SELECT COUNT(*) FROM students WHERE student_number = ?";
+        if (STUDENT_CACHE.peek(numberKey(studentNumber)) != null) {
+            return true;
+        }
+        if (NUMBER_INDEX.isKnownAbsent(studentNumber)) {
+            return false;
+        }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long absentGeneration = NUMBER_INDEX.generation();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STUDENT_NUMBER_EXISTS_SQL)) {
 
             pstmt.setString(1, studentNumber);
             ResultSet rs = pstmt.executeQuery();
 
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
+            if (rs.next() && rs.getInt(1) > 0) {
+                return true;
             }
+            NUMBER_INDEX.recordAbsent(studentNumber, absentGeneration);
 
         } catch (SQLException e) {
             System.err.println("Error checking student number existence: " + e.getMessage());
@@ -190,24 +370,21 @@ public class StudentDAO {
     }
 
     /**
-     * Map ResultSet to Student object
+     * Map a row selected with STUDENT_COLUMNS to a Student, reading columns by position
      */
     private Student mapResultSetToStudent(ResultSet rs) throws SQLException {
         Student student = new Student();
-        student.setId(rs.getString("id"));
-        student.setStudentNumber(rs.getString("student_number"));
-        student.setFirstName(rs.getString("first_name"));
-        student.setMiddleName(rs.getString("middle_name"));
-        student.setLastName(rs.getString("last_name"));
-        student.setCourse(rs.getString("course"));
-        student.setYearLevel(rs.getInt("year_level"));
-        student.setEmail(rs.getString("email"));
-        student.setPassword(rs.getString("password"));
+        student.setId(rs.getString(1));
+        student.setStudentNumber(rs.getString(2));
+        student.setFirstName(rs.getString(3));
+        student.setMiddleName(rs.getString(4));
+        student.setLastName(rs.getString(5));
+        student.setCourse(rs.getString(6));
+        student.setYearLevel(rs.getInt(7));
+        student.setEmail(rs.getString(8));
+        student.setPassword(rs.getString(9));
         
-        String createdAtStr = rs.getString("created_at");
-        if (createdAtStr != null) {
-            student.setCreatedAt(LocalDateTime.parse(createdAtStr));
-        }
+        student.setCreatedAtMillis(TimestampCodec.read(rs, 10));
 
         return student;
     }
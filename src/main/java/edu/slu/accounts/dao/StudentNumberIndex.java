@@ -0,0 +1,276 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.util.CountingBloomFilter;
+import edu.slu.accounts.util.DatabaseConnection;
+import edu.slu.accounts.util.FrequencyCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers "no such student number" without a query whenever it can.
+ *
+ * A counting Bloom filter holds every student number in the table; a number
+ * it rejects cannot exist. Numbers it lets through that turn out not to
+ * exist are remembered for a short while in a negative cache. Both are
+ * updated when this process creates or deletes a student, along with the
+ * version counter of the table (see schema migration 9) that write produced.
+ * The counter is checked at most once per interval; if another process has
+ * moved it, lookups go to the database while a background thread rebuilds.
+ */
+final class StudentNumberIndex {
+    static final String FIND_ALL_STUDENT_NUMBERS_SQL = "SELECT student_number FROM students";
+
+    static final String FIND_VERSION_SQL = "SELECT version FROM table_versions WHERE table_name = 'students'";
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_EXPECTED_STUDENTS = 10_000;
+    private static final long CHECK_INTERVAL_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("slu.db.studentFilterCheckMillis", 1000));
+
+    private final FrequencyCache<String, Boolean> absent = new FrequencyCache<>(
+        Integer.getInteger("slu.db.studentNegativeCacheSize", 10_000),
+        Long.getLong("slu.db.studentNegativeCacheTtlSeconds", 30), TimeUnit.SECONDS);
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final AtomicLong filterRejections = new AtomicLong();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile CountingBloomFilter filter;
+    private volatile boolean current;
+    private volatile long builtVersion = -1;
+    private volatile long nextCheckAt;
+
+    // Numbers added, and versions of writes committed, while a rebuild is loading; replayed on top of it
+    private List<String> pendingAdds;
+    private List<Long> pendingVersions;
+
+    /**
+     * Check if the student number is known not to exist
+     */
+    boolean isKnownAbsent(String studentNumber) {
+        if (studentNumber == null) {
+            return true;
+        }
+
+        checkForChanges();
+        if (!current) {
+            // Another process changed the table; only the database knows
+            return false;
+        }
+
+        CountingBloomFilter built = filter;
+        if (built != null && !built.mightContain(studentNumber)) {
+            filterRejections.incrementAndGet();
+            return true;
+        }
+
+        return absent.get(studentNumber) != null;
+    }
+
+    /**
+     * Take before a lookup whose miss is passed to {@link #recordAbsent}
+     */
+    long generation() {
+        return absent.generation();
+    }
+
+    /**
+     * Remember a number the database did not have, unless it was created since the lookup began
+     */
+    void recordAbsent(String studentNumber, long generation) {
+        absent.putIfCurrent(studentNumber, Boolean.TRUE, generation);
+    }
+
+    /**
+     * A student with this number was committed by this process, producing the
+     * given table version
+     */
+    void added(String studentNumber, long tableVersion) {
+        absent.invalidate(studentNumber);
+
+        synchronized (this) {
+            if (filter != null) {
+                filter.add(studentNumber);
+            }
+            if (pendingAdds != null) {
+                pendingAdds.add(studentNumber);
+                pendingVersions.add(tableVersion);
+            } else {
+                advance(tableVersion);
+            }
+        }
+    }
+
+    /**
+     * The student with this number was deleted by this process, producing the
+     * given table version. A rebuild in progress keeps the number as a
+     * harmless false positive.
+     */
+    synchronized void removed(String studentNumber, long tableVersion) {
+        if (pendingAdds != null) {
+            pendingVersions.add(tableVersion);
+        } else if (filter != null) {
+            filter.remove(studentNumber);
+            advance(tableVersion);
+        }
+    }
+
+    /**
+     * Load every student number into a new filter and swap it in. Returns
+     * false if another thread is already rebuilding or the load failed.
+     */
+    boolean rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return false;
+        }
+
+        try {
+            long start = System.nanoTime();
+            synchronized (this) {
+                pendingAdds = new ArrayList<>();
+                pendingVersions = new ArrayList<>();
+            }
+
+            CountingBloomFilter next;
+            long version;
+            try (Connection conn = DatabaseConnection.getReadConnection()) {
+                // Read the version first: a change during the load then triggers another rebuild
+                version = readVersion(conn);
+                List<String> numbers = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_STUDENT_NUMBERS_SQL);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        numbers.add(rs.getString(1));
+                    }
+                }
+
+                next = new CountingBloomFilter(Math.max(MIN_EXPECTED_STUDENTS, numbers.size() * 2), FALSE_POSITIVE_RATE);
+                for (String number : numbers) {
+                    next.add(number);
+                }
+            } catch (SQLException e) {
+                System.err.println("Error loading student numbers: " + e.getMessage());
+                synchronized (this) {
+                    pendingAdds = null;
+                    pendingVersions = null;
+                }
+                return false;
+            }
+
+            // Numbers remembered as absent may have been created by another process
+            absent.clear();
+
+            synchronized (this) {
+                for (String number : pendingAdds) {
+                    next.add(number);
+                }
+                filter = next;
+                builtVersion = version;
+                current = version >= 0;
+                nextCheckAt = System.nanoTime() + CHECK_INTERVAL_NANOS;
+
+                List<Long> replay = pendingVersions;
+                pendingAdds = null;
+                pendingVersions = null;
+                for (long tableVersion : replay) {
+                    advance(tableVersion);
+                }
+            }
+
+            System.out.printf("Student number filter rebuilt: %d numbers, %d slots, %d hashes in %.1f ms%n",
+                              next.size(), next.getSlotCount(), next.getHashCount(),
+                              (System.nanoTime() - start) / 1_000_000.0);
+            return true;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    long getFilterRejections() {
+        return filterRejections.get();
+    }
+
+    FrequencyCache<String, Boolean> getNegativeCache() {
+        return absent;
+    }
+
+    /**
+     * Check if the table changed since the last build, at most once per
+     * interval, and retry a rebuild that left the filter stale
+     */
+    private void checkForChanges() {
+        long now = System.nanoTime();
+        if (filter == null || now - nextCheckAt < 0) {
+            return;
+        }
+        nextCheckAt = now + CHECK_INTERVAL_NANOS;
+
+        if (!current) {
+            if (!rebuildLock.isLocked()) {
+                markStale();
+            }
+            return;
+        }
+
+        boolean changed;
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            changed = readVersion(conn) != builtVersion;
+        } catch (SQLException e) {
+            System.err.println("Error checking student number version: " + e.getMessage());
+            return;
+        }
+
+        if (changed) {
+            markStale();
+        }
+    }
+
+    /**
+     * Move the built version past one of this process's writes. A gap means
+     * another process wrote in between.
+     */
+    private void advance(long tableVersion) {
+        if (tableVersion == builtVersion + 1) {
+            builtVersion = tableVersion;
+        } else if (tableVersion > builtVersion) {
+            markStale();
+        }
+    }
+
+    /**
+     * Stop trusting the filter and rebuild it on the background thread
+     */
+    private void markStale() {
+        current = false;
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Read the students version on a connection; inside a write it counts that write
+     */
+    static long readVersion(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(FIND_VERSION_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+}
\ No newline at end of file
@@ -1,54 +1,139 @@
 package edu.slu.accounts.dao;
 
+import edu.slu.accounts.model.Money;
 import edu.slu.accounts.model.Transaction;
+import edu.slu.accounts.model.TransactionPage;
 import edu.slu.accounts.util.DatabaseConnection;
 import edu.slu.accounts.util.IdGenerator;
+import edu.slu.accounts.util.TimestampCodec;
+import edu.slu.accounts.util.WriteQueue;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Transaction operations
  */
 public class TransactionDAO {
+    /**
+     * Columns selected by every lookup, in the order the mapper reads them
+     */
+    static final String TRANSACTION_COLUMNS =
+        "id, student_id, account_id, transaction_type, description, amount, " +
+        "payment_method, payment_reference, transaction_date, status";
+
+    static final String CREATE_TRANSACTION_SQL = """
+        INSERT INTO transactions (id, student_id, account_id, transaction_type, description, 
+                                amount, payment_method, payment_reference, transaction_date, status) 
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    static final String FIND_BY_STUDENT_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE student_id = ? ORDER BY transaction_date DESC, id DESC";
+
+    static final String FIND_BY_ACCOUNT_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE account_id = ? ORDER BY transaction_date DESC, id DESC";
+
+    static final String FIND_BY_ACCOUNT_IDS_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE account_id IN (%s) ORDER BY account_id DESC, transaction_date DESC, id DESC";
+
+    static final String FIND_FIRST_PAGE_BY_STUDENT_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE student_id = ? ORDER BY transaction_date DESC, id DESC LIMIT ?";
+
+    static final String FIND_NEXT_PAGE_BY_STUDENT_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE student_id = ? AND (transaction_date, id) < (?, ?) ORDER BY transaction_date DESC, id DESC LIMIT ?";
+
+    static final String FIND_FIRST_PAGE_BY_ACCOUNT_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE account_id = ? ORDER BY transaction_date DESC, id DESC LIMIT ?";
+
+    static final String FIND_NEXT_PAGE_BY_ACCOUNT_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE account_id = ? AND (transaction_date, id) < (?, ?) ORDER BY transaction_date DESC, id DESC LIMIT ?";
+
+    static final String FIND_BY_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE id = ?";
+
+    static final String FIND_ALL_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions ORDER BY transaction_date DESC";
+
+    static final String FIND_PAYMENTS_BY_STUDENT_ID_SQL = "SELECT " + TRANSACTION_COLUMNS + " FROM transactions WHERE student_id = ? AND transaction_type = 'PAYMENT' ORDER BY transaction_date DESC";
+
+    static final String UPDATE_TRANSACTION_STATUS_SQL = "UPDATE transactions SET status = ? WHERE id = ?";
+
+    static final String GET_TOTAL_PAYMENTS_BY_STUDENT_ID_SQL = "SELECT SUM(ABS(amount)) FROM transactions WHERE student_id = ? AND transaction_type = 'PAYMENT' AND status = 'COMPLETED'";
+
+    static final String FIND_LEDGER_VERSION_SQL = "SELECT version FROM ledger_versions WHERE student_id = ?";
 
     /**
      * Create a new transaction
      */
     public boolean createTransaction(Transaction transaction) {
-        String sql = """
-            INSERT INTO transactions (id, student_id, account_id, transaction_type, description, 
-                                    amount, payment_method, payment_reference, transaction_date, status) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
+        return WriteQueue.await(createTransactionAsync(transaction), "Error creating transaction");
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Queue a transaction insert; completes once it is committed
+     */
+    public CompletableFuture<Boolean> createTransactionAsync(Transaction transaction) {
+        if (transaction.getId() == null) {
+            transaction.setId(IdGenerator.generateId());
+        }
+
+        return DatabaseConnection.submitWrite(conn -> insertTransaction(conn, transaction));
+    }
+
+    /**
+     * Insert a transaction on the caller's connection, as part of a larger write
+     */
+    static boolean insertTransaction(Connection conn, Transaction transaction) throws SQLException {
+        if (transaction.getId() == null) {
+            transaction.setId(IdGenerator.generateId());
+        }
 
+        try (PreparedStatement pstmt = conn.prepareStatement(CREATE_TRANSACTION_SQL)) {
+            bindTransaction(pstmt, transaction);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Create several transactions in one batch and one commit; each element of
+     * the result tells whether the transaction at that index was inserted
+     */
+    public boolean[] createTransactions(List<Transaction> transactions) {
+        return WriteQueue.awaitResult(createTransactionsAsync(transactions), "Error creating transactions")
+                .orElseGet(() -> new boolean[transactions.size()]);
+    }
+
+    /**
+     * Queue a batch of transaction inserts; completes once they are committed
+     */
+    public CompletableFuture<boolean[]> createTransactionsAsync(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
             if (transaction.getId() == null) {
                 transaction.setId(IdGenerator.generateId());
             }
+        }
 
-            pstmt.setString(1, transaction.getId());
-            pstmt.setString(2, transaction.getStudentId());
-            pstmt.setString(3, transaction.getAccountId());
-            pstmt.setString(4, transaction.getTransactionType().name());
-            pstmt.setString(5, transaction.getDescription());
-            pstmt.setDouble(6, transaction.getAmount());
-            pstmt.setString(7, transaction.getPaymentMethod());
-            pstmt.setString(8, transaction.getPaymentReference());
-            pstmt.setString(9, transaction.getTransactionDate().toString());
-            pstmt.setString(10, transaction.getStatus().name());
+        return DatabaseConnection.submitWrite(conn ->
+            BatchInsert.execute(conn, CREATE_TRANSACTION_SQL, transactions, TransactionDAO::bindTransaction));
+    }
 
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Get the version of a student's ledger; every insert, update or delete of
+     * one of their transactions bumps it, whichever process writes it
+     */
+    public Optional<Long> findLedgerVersion(String studentId) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_LEDGER_VERSION_SQL)) {
+
+            pstmt.setString(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return Optional.of(rs.next() ? rs.getLong(1) : 0L);
+            }
 
         } catch (SQLException e) {
-            System.err.println("Error creating transaction: " + e.getMessage());
-            return false;
+            System.err.println("Error reading ledger version: " + e.getMessage());
         }
+
+        return Optional.empty();
     }
 
     /**
@@ -56,10 +141,9 @@ public class TransactionDAO {
      */
     public List<Transaction> findByStudentId(String studentId) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE student_id = ? ORDER BY transaction_date DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_STUDENT_ID_SQL)) {
 
             pstmt.setString(1, studentId);
             ResultSet rs = pstmt.executeQuery();
@@ -80,10 +164,9 @@ public class TransactionDAO {
      */
     public List<Transaction> findByAccountId(String accountId) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE account_id = ? ORDER BY transaction_date DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ACCOUNT_ID_SQL)) {
 
             pstmt.setString(1, accountId);
             ResultSet rs = pstmt.executeQuery();
@@ -99,14 +182,91 @@ public class TransactionDAO {
         return transactions;
     }
 
+    /**
+     * Find the transactions of many accounts with a few IN-list queries, keyed
+     * by account ID with each list newest first. Accounts without transactions
+     * are absent from the returned map.
+     */
+    public Map<String, List<Transaction>> findByAccountIds(Collection<String> accountIds) {
+        Map<String, List<Transaction>> transactions = new HashMap<>();
+
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            InListQuery.forEach(conn, FIND_BY_ACCOUNT_IDS_SQL, List.of(), accountIds, this::mapResultSetToTransaction,
+                                transaction -> transactions.computeIfAbsent(transaction.getAccountId(),
+                                                                            id -> new ArrayList<>()).add(transaction));
+        } catch (SQLException e) {
+            System.err.println("Error finding transactions by account IDs: " + e.getMessage());
+        }
+
+        return transactions;
+    }
+
+    /**
+     * Find one page of a student's transactions, newest first. Pass a null
+     * cursor for the first page and the previous page's next cursor after that.
+     */
+    public TransactionPage findPageByStudentId(String studentId, TransactionPage.Cursor after, int pageSize) {
+        return findPage(FIND_FIRST_PAGE_BY_STUDENT_ID_SQL, FIND_NEXT_PAGE_BY_STUDENT_ID_SQL, studentId, after,
+                        pageSize, "Error finding transaction page by student ID");
+    }
+
+    /**
+     * Find one page of an account's transactions, newest first
+     */
+    public TransactionPage findPageByAccountId(String accountId, TransactionPage.Cursor after, int pageSize) {
+        return findPage(FIND_FIRST_PAGE_BY_ACCOUNT_ID_SQL, FIND_NEXT_PAGE_BY_ACCOUNT_ID_SQL, accountId, after,
+                        pageSize, "Error finding transaction page by account ID");
+    }
+
+    /**
+     * Seek to the cursor through the (key, transaction_date, id) index and read
+     * one row past the page to learn whether another page follows
+     */
+    private TransactionPage findPage(String firstPageSql, String nextPageSql, String key,
+                                     TransactionPage.Cursor after, int pageSize, String errorMessage) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        boolean hasMore = false;
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(after == null ? firstPageSql : nextPageSql)) {
+
+            int index = 1;
+            pstmt.setString(index++, key);
+            if (after != null) {
+                pstmt.setLong(index++, after.getTransactionDateMillis());
+                pstmt.setString(index++, after.getId());
+            }
+            pstmt.setInt(index, pageSize + 1);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                if (transactions.size() == pageSize) {
+                    hasMore = true;
+                    break;
+                }
+                transactions.add(mapResultSetToTransaction(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println(errorMessage + ": " + e.getMessage());
+        }
+
+        TransactionPage.Cursor next = hasMore
+            ? TransactionPage.Cursor.after(transactions.get(transactions.size() - 1))
+            : null;
+        return new TransactionPage(transactions, next);
+    }
+
     /**
      * Find transaction by ID
      */
     public Optional<Transaction> findById(String id) {
-        String sql = "SELECT * FROM transactions WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
 
             pstmt.setString(1, id);
             ResultSet rs = pstmt.executeQuery();
@@ -127,11 +287,10 @@ public class TransactionDAO {
      */
     public List<Transaction> findAll() {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions ORDER BY transaction_date DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_ALL_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
                 transactions.add(mapResultSetToTransaction(rs));
@@ -144,15 +303,21 @@ public class TransactionDAO {
         return transactions;
     }
 
+    /**
+     * Stream all transactions without loading them into memory; the stream must be closed
+     */
+    public Stream<Transaction> streamAll() {
+        return ResultSetStream.open(FIND_ALL_SQL, this::mapResultSetToTransaction, "Error streaming all transactions");
+    }
+
     /**
      * Find payments by student ID
      */
     public List<Transaction> findPaymentsByStudentId(String studentId) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE student_id = ? AND transaction_type = 'PAYMENT' ORDER BY transaction_date DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FIND_PAYMENTS_BY_STUDENT_ID_SQL)) {
 
             pstmt.setString(1, studentId);
             ResultSet rs = pstmt.executeQuery();
@@ -172,64 +337,68 @@ public class TransactionDAO {
      * Update transaction status
      */
     public boolean updateTransactionStatus(String transactionId, Transaction.TransactionStatus status) {
-        String sql = "UPDATE transactions SET status = ? WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, status.name());
-            pstmt.setString(2, transactionId);
-
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating transaction status: " + e.getMessage());
-            return false;
-        }
+        return WriteQueue.await(DatabaseConnection.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_TRANSACTION_STATUS_SQL)) {
+                pstmt.setString(1, status.name());
+                pstmt.setString(2, transactionId);
+                return pstmt.executeUpdate() > 0;
+            }
+        }), "Error updating transaction status");
     }
 
     /**
      * Get total payments for student
      */
-    public double getTotalPaymentsByStudentId(String studentId) {
-        String sql = "SELECT SUM(ABS(amount)) FROM transactions WHERE student_id = ? AND transaction_type = 'PAYMENT' AND status = 'COMPLETED'";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    public Money getTotalPaymentsByStudentId(String studentId) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(GET_TOTAL_PAYMENTS_BY_STUDENT_ID_SQL)) {
 
             pstmt.setString(1, studentId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return rs.getDouble(1);
+                return Money.ofCentavos(rs.getLong(1));
             }
 
         } catch (SQLException e) {
             System.err.println("Error getting total payments: " + e.getMessage());
         }
 
-        return 0.0;
+        return Money.ZERO;
+    }
+
+    /**
+     * Bind a transaction to the insert statement
+     */
+    private static void bindTransaction(PreparedStatement pstmt, Transaction transaction) throws SQLException {
+        pstmt.setString(1, transaction.getId());
+        pstmt.setString(2, transaction.getStudentId());
+        pstmt.setString(3, transaction.getAccountId());
+        pstmt.setString(4, transaction.getTransactionType().name());
+        pstmt.setString(5, transaction.getDescription());
+        pstmt.setLong(6, transaction.getAmount().getCentavos());
+        pstmt.setString(7, transaction.getPaymentMethod());
+        pstmt.setString(8, transaction.getPaymentReference());
+        TimestampCodec.bind(pstmt, 9, transaction.getTransactionDateMillis());
+        pstmt.setString(10, transaction.getStatus().name());
     }
 
     /**
-     * Map ResultSet to Transaction object
+     * Map a row selected with TRANSACTION_COLUMNS to a Transaction, reading columns by position
      */
     private Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
         Transaction transaction = new Transaction();
-        transaction.setId(rs.getString("id"));
-        transaction.setStudentId(rs.getString("student_id"));
-        transaction.setAccountId(rs.getString("account_id"));
-        transaction.setTransactionType(Transaction.TransactionType.valueOf(rs.getString("transaction_type")));
-        transaction.setDescription(rs.getString("description"));
-        transaction.setAmount(rs.getDouble("amount"));
-        transaction.setPaymentMethod(rs.getString("payment_method"));
-        transaction.setPaymentReference(rs.getString("payment_reference"));
-        transaction.setStatus(Transaction.TransactionStatus.valueOf(rs.getString("status")));
+        transaction.setId(rs.getString(1));
+        transaction.setStudentId(rs.getString(2));
+        transaction.setAccountId(rs.getString(3));
+        transaction.setTransactionType(Transaction.TransactionType.valueOf(rs.getString(4)));
+        transaction.setDescription(rs.getString(5));
+        transaction.setAmount(Money.ofCentavos(rs.getLong(6)));
+        transaction.setPaymentMethod(rs.getString(7));
+        transaction.setPaymentReference(rs.getString(8));
+        transaction.setStatus(Transaction.TransactionStatus.valueOf(rs.getString(10)));
         
-        String transactionDateStr = rs.getString("transaction_date");
-        if (transactionDateStr != null) {
-            transaction.setTransactionDate(LocalDateTime.parse(transactionDateStr));
-        }
+        transaction.setTransactionDateMillis(TimestampCodec.read(rs, 9));
 
         return transaction;
     }
@@ -0,0 +1,40 @@
+package edu.slu.accounts.model;
+
+import java.util.Objects;
+
+/**
+ * A semester of an academic year, e.g. FIRST SEMESTER 2025-2026
+ */
+public final class AcademicTerm {
+    /** The term accounts and grades are created for */
+    public static final AcademicTerm CURRENT = new AcademicTerm("FIRST SEMESTER", "2025-2026");
+
+    private final String semester;
+    private final String academicYear;
+
+    public AcademicTerm(String semester, String academicYear) {
+        this.semester = Objects.requireNonNull(semester, "semester");
+        this.academicYear = Objects.requireNonNull(academicYear, "academicYear");
+    }
+
+    public String getSemester() { return semester; }
+    public String getAcademicYear() { return academicYear; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AcademicTerm)) return false;
+        AcademicTerm other = (AcademicTerm) o;
+        return semester.equals(other.semester) && academicYear.equals(other.academicYear);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(semester, academicYear);
+    }
+
+    @Override
+    public String toString() {
+        return semester + " " + academicYear;
+    }
+}
\ No newline at end of file
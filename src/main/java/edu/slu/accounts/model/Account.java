@@ -1,5 +1,7 @@
 package edu.slu.accounts.model;
 
+import edu.slu.accounts.util.TimestampCodec;
+
 import java.time.LocalDateTime;
 
 /**
@@ -10,18 +12,20 @@ public class Account {
     private String studentId;
     private String semester;
     private String academicYear;
-    private double totalAssessment;
-    private double totalPaid;
-    private double remainingBalance;
-    private double prelimAmountDue;
-    private double midtermAmountDue;
-    private double finalAmountDue;
+    private Money totalAssessment = Money.ZERO;
+    private Money totalPaid = Money.ZERO;
+    private Money remainingBalance = Money.ZERO;
+    private Money prelimAmountDue = Money.ZERO;
+    private Money midtermAmountDue = Money.ZERO;
+    private Money finalAmountDue = Money.ZERO;
     private PaymentStatus prelimStatus;
     private PaymentStatus midtermStatus;
     private PaymentStatus finalStatus;
     private ExamPermission examPermission;
     private LocalDateTime createdAt;
+    private long createdAtMillis = TimestampCodec.NONE;
     private LocalDateTime updatedAt;
+    private long updatedAtMillis = TimestampCodec.NONE;
 
     // Enums
     public enum PaymentStatus {
@@ -34,15 +38,15 @@ public class Account {
 
     // Constructors
     public Account() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        setCreatedAtMillis(TimestampCodec.now());
+        setUpdatedAtMillis(TimestampCodec.now());
         this.prelimStatus = PaymentStatus.UNPAID;
         this.midtermStatus = PaymentStatus.UNPAID;
         this.finalStatus = PaymentStatus.UNPAID;
         this.examPermission = ExamPermission.NOT_PERMITTED;
     }
 
-    public Account(String studentId, String semester, String academicYear, double totalAssessment) {
+    public Account(String studentId, String semester, String academicYear, Money totalAssessment) {
         this();
         this.studentId = studentId;
         this.semester = semester;
@@ -52,9 +56,31 @@ public class Account {
         this.prelimAmountDue = calculatePrelimAmount(totalAssessment);
     }
 
+    /**
+     * Copy an account, e.g. to hand out a cached account the caller may modify
+     */
+    public Account(Account other) {
+        this.id = other.id;
+        this.studentId = other.studentId;
+        this.semester = other.semester;
+        this.academicYear = other.academicYear;
+        this.totalAssessment = other.totalAssessment;
+        this.totalPaid = other.totalPaid;
+        this.remainingBalance = other.remainingBalance;
+        this.prelimAmountDue = other.prelimAmountDue;
+        this.midtermAmountDue = other.midtermAmountDue;
+        this.finalAmountDue = other.finalAmountDue;
+        this.prelimStatus = other.prelimStatus;
+        this.midtermStatus = other.midtermStatus;
+        this.finalStatus = other.finalStatus;
+        this.examPermission = other.examPermission;
+        this.createdAtMillis = other.createdAtMillis;
+        this.updatedAtMillis = other.updatedAtMillis;
+    }
+
     // Calculate prelim amount (typically 1/3 of total assessment)
-    private double calculatePrelimAmount(double totalAssessment) {
-        return totalAssessment * 0.33; // 33% for prelims
+    private Money calculatePrelimAmount(Money totalAssessment) {
+        return totalAssessment.times(0.33); // 33% for prelims
     }
 
     // Getters and Setters
@@ -70,23 +96,23 @@ public class Account {
     public String getAcademicYear() { return academicYear; }
     public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
 
-    public double getTotalAssessment() { return totalAssessment; }
-    public void setTotalAssessment(double totalAssessment) { this.totalAssessment = totalAssessment; }
+    public Money getTotalAssessment() { return totalAssessment; }
+    public void setTotalAssessment(Money totalAssessment) { this.totalAssessment = totalAssessment; }
 
-    public double getTotalPaid() { return totalPaid; }
-    public void setTotalPaid(double totalPaid) { this.totalPaid = totalPaid; }
+    public Money getTotalPaid() { return totalPaid; }
+    public void setTotalPaid(Money totalPaid) { this.totalPaid = totalPaid; }
 
-    public double getRemainingBalance() { return remainingBalance; }
-    public void setRemainingBalance(double remainingBalance) { this.remainingBalance = remainingBalance; }
+    public Money getRemainingBalance() { return remainingBalance; }
+    public void setRemainingBalance(Money remainingBalance) { this.remainingBalance = remainingBalance; }
 
-    public double getPrelimAmountDue() { return prelimAmountDue; }
-    public void setPrelimAmountDue(double prelimAmountDue) { this.prelimAmountDue = prelimAmountDue; }
+    public Money getPrelimAmountDue() { return prelimAmountDue; }
+    public void setPrelimAmountDue(Money prelimAmountDue) { this.prelimAmountDue = prelimAmountDue; }
 
-    public double getMidtermAmountDue() { return midtermAmountDue; }
-    public void setMidtermAmountDue(double midtermAmountDue) { this.midtermAmountDue = midtermAmountDue; }
+    public Money getMidtermAmountDue() { return midtermAmountDue; }
+    public void setMidtermAmountDue(Money midtermAmountDue) { this.midtermAmountDue = midtermAmountDue; }
 
-    public double getFinalAmountDue() { return finalAmountDue; }
-    public void setFinalAmountDue(double finalAmountDue) { this.finalAmountDue = finalAmountDue; }
+    public Money getFinalAmountDue() { return finalAmountDue; }
+    public void setFinalAmountDue(Money finalAmountDue) { this.finalAmountDue = finalAmountDue; }
 
     public PaymentStatus getPrelimStatus() { return prelimStatus; }
     public void setPrelimStatus(PaymentStatus prelimStatus) { this.prelimStatus = prelimStatus; }
@@ -100,32 +126,60 @@ public class Account {
     public ExamPermission getExamPermission() { return examPermission; }
     public void setExamPermission(ExamPermission examPermission) { this.examPermission = examPermission; }
 
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getCreatedAt() {
+        if (createdAt == null && createdAtMillis != TimestampCodec.NONE) {
+            createdAt = TimestampCodec.decode(createdAtMillis);
+        }
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+        this.createdAtMillis = TimestampCodec.encode(createdAt);
+    }
 
-    public LocalDateTime getUpdatedAt() { return updatedAt; }
-    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+        this.createdAt = null;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        if (updatedAt == null && updatedAtMillis != TimestampCodec.NONE) {
+            updatedAt = TimestampCodec.decode(updatedAtMillis);
+        }
+        return updatedAt;
+    }
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+        this.updatedAtMillis = TimestampCodec.encode(updatedAt);
+    }
+
+    public long getUpdatedAtMillis() { return updatedAtMillis; }
+    public void setUpdatedAtMillis(long updatedAtMillis) {
+        this.updatedAtMillis = updatedAtMillis;
+        this.updatedAt = null;
+    }
 
     // Business methods
-    public void processPayment(double amount) {
-        this.totalPaid += amount;
-        this.remainingBalance -= amount;
-        this.updatedAt = LocalDateTime.now();
+    public void processPayment(Money amount) {
+        this.totalPaid = totalPaid.plus(amount);
+        this.remainingBalance = remainingBalance.minus(amount);
+        setUpdatedAtMillis(TimestampCodec.now());
 
         // Update prelim amount due
-        if (prelimAmountDue > 0) {
-            double prelimPayment = Math.min(amount, prelimAmountDue);
-            prelimAmountDue -= prelimPayment;
+        if (prelimAmountDue.isPositive()) {
+            Money prelimPayment = amount.min(prelimAmountDue);
+            prelimAmountDue = prelimAmountDue.minus(prelimPayment);
             
-            if (prelimAmountDue <= 0) {
+            if (!prelimAmountDue.isPositive()) {
                 prelimStatus = PaymentStatus.PAID;
                 examPermission = ExamPermission.PERMITTED;
             }
         }
 
         // Ensure non-negative values
-        if (prelimAmountDue < 0) prelimAmountDue = 0;
-        if (remainingBalance < 0) remainingBalance = 0;
+        if (prelimAmountDue.isNegative()) prelimAmountDue = Money.ZERO;
+        if (remainingBalance.isNegative()) remainingBalance = Money.ZERO;
     }
 
     public boolean isPrelimPaid() {
@@ -139,7 +193,7 @@ public class Account {
     @Override
     public String toString() {
         return String.format("Account{id='%s', student='%s', semester='%s %s', " +
-                           "totalAssessment=%.2f, totalPaid=%.2f, remainingBalance=%.2f, " +
+                           "totalAssessment=%s, totalPaid=%s, remainingBalance=%s, " +
                            "prelimStatus=%s, examPermission=%s}", 
                            id, studentId, semester, academicYear, 
                            totalAssessment, totalPaid, remainingBalance, 
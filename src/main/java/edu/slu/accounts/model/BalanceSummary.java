@@ -0,0 +1,43 @@
+package edu.slu.accounts.model;
+
+/**
+ * Outstanding balances for one course and year level in a term
+ */
+public class BalanceSummary {
+    private final String course;
+    private final int yearLevel;
+    private final long accountCount;
+    private final Money outstandingBalance;
+    private final long unpaidPrelimCount;
+    private final Money unpaidPrelimAmount;
+
+    public BalanceSummary(String course, int yearLevel, long accountCount, Money outstandingBalance,
+                          long unpaidPrelimCount, Money unpaidPrelimAmount) {
+        this.course = course;
+        this.yearLevel = yearLevel;
+        this.accountCount = accountCount;
+        this.outstandingBalance = outstandingBalance;
+        this.unpaidPrelimCount = unpaidPrelimCount;
+        this.unpaidPrelimAmount = unpaidPrelimAmount;
+    }
+
+    // Getters
+    public String getCourse() { return course; }
+    public int getYearLevel() { return yearLevel; }
+    public long getAccountCount() { return accountCount; }
+    public Money getOutstandingBalance() { return outstandingBalance; }
+
+    /** Accounts whose prelim payment is still UNPAID */
+    public long getUnpaidPrelimCount() { return unpaidPrelimCount; }
+
+    /** Prelim amount still due on the UNPAID accounts */
+    public Money getUnpaidPrelimAmount() { return unpaidPrelimAmount; }
+
+    @Override
+    public String toString() {
+        return String.format("BalanceSummary{course='%s', yearLevel=%d, accounts=%d, outstanding=%s, " +
+                           "unpaidPrelims=%d, unpaidPrelimAmount=%s}",
+                           course, yearLevel, accountCount, outstandingBalance,
+                           unpaidPrelimCount, unpaidPrelimAmount);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package edu.slu.accounts.model;
+
+/**
+ * Completed payments collected through one payment method
+ */
+public class CollectionSummary {
+    private final String paymentMethod;
+    private final long paymentCount;
+    private final Money totalCollected;
+
+    public CollectionSummary(String paymentMethod, long paymentCount, Money totalCollected) {
+        this.paymentMethod = paymentMethod;
+        this.paymentCount = paymentCount;
+        this.totalCollected = totalCollected;
+    }
+
+    // Getters
+    public String getPaymentMethod() { return paymentMethod; }
+    public long getPaymentCount() { return paymentCount; }
+    public Money getTotalCollected() { return totalCollected; }
+
+    @Override
+    public String toString() {
+        return String.format("CollectionSummary{paymentMethod='%s', payments=%d, totalCollected=%s}",
+                           paymentMethod, paymentCount, totalCollected);
+    }
+}
\ No newline at end of file
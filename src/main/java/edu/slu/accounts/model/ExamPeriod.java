@@ -0,0 +1,24 @@
+package edu.slu.accounts.model;
+
+/**
+ * Examination periods of a term; each is gated on its own installment
+ */
+public enum ExamPeriod {
+    PRELIM, MIDTERM, FINAL;
+
+    /**
+     * Check if the account's installment for this period is paid
+     */
+    public boolean isPaid(Account account) {
+        switch (this) {
+            case PRELIM:
+                return account.getPrelimStatus() == Account.PaymentStatus.PAID;
+            case MIDTERM:
+                return account.getMidtermStatus() == Account.PaymentStatus.PAID;
+            case FINAL:
+                return account.getFinalStatus() == Account.PaymentStatus.PAID;
+            default:
+                return false;
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package edu.slu.accounts.model;
 
+import edu.slu.accounts.util.TimestampCodec;
+
 import java.time.LocalDateTime;
 
 /**
@@ -19,10 +21,11 @@ public class Grade {
     private String semester;
     private String academicYear;
     private LocalDateTime createdAt;
+    private long createdAtMillis = TimestampCodec.NONE;
 
     // Constructors
     public Grade() {
-        this.createdAt = LocalDateTime.now();
+        setCreatedAtMillis(TimestampCodec.now());
     }
 
     public Grade(String studentId, String subjectCode, String subjectName, double units, 
@@ -73,8 +76,22 @@ public class Grade {
     public String getAcademicYear() { return academicYear; }
     public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
 
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getCreatedAt() {
+        if (createdAt == null && createdAtMillis != TimestampCodec.NONE) {
+            createdAt = TimestampCodec.decode(createdAtMillis);
+        }
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+        this.createdAtMillis = TimestampCodec.encode(createdAt);
+    }
+
+    public long getCreatedAtMillis() { return createdAtMillis; }
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+        this.createdAt = null;
+    }
 
     // Utility methods
     public String getFormattedPrelimGrade() {
@@ -0,0 +1,76 @@
+package edu.slu.accounts.model;
+
+/**
+ * Running grade totals for one student in a term, kept current by the database
+ * on every grade write
+ */
+public class GradeSummary {
+    private final String studentId;
+    private final AcademicTerm term;
+    private final int subjectCount;
+    private final double totalUnits;
+    private final Totals prelim;
+    private final Totals semester;
+
+    public GradeSummary(String studentId, AcademicTerm term, int subjectCount, double totalUnits,
+                        Totals prelim, Totals semester) {
+        this.studentId = studentId;
+        this.term = term;
+        this.subjectCount = subjectCount;
+        this.totalUnits = totalUnits;
+        this.prelim = prelim;
+        this.semester = semester;
+    }
+
+    // Getters
+    public String getStudentId() { return studentId; }
+    public AcademicTerm getTerm() { return term; }
+    public int getSubjectCount() { return subjectCount; }
+    public double getTotalUnits() { return totalUnits; }
+
+    /** Totals over the subjects that have a prelim grade */
+    public Totals getPrelim() { return prelim; }
+
+    /** Totals over the subjects that have a semester grade */
+    public Totals getSemester() { return semester; }
+
+    /**
+     * Graded subject count, their units, and the sums of their grades with
+     * and without units weighting
+     */
+    public static class Totals {
+        private final int gradedCount;
+        private final double gradedUnits;
+        private final double weightedSum;
+        private final double sum;
+
+        public Totals(int gradedCount, double gradedUnits, double weightedSum, double sum) {
+            this.gradedCount = gradedCount;
+            this.gradedUnits = gradedUnits;
+            this.weightedSum = weightedSum;
+            this.sum = sum;
+        }
+
+        public int getGradedCount() { return gradedCount; }
+        public double getGradedUnits() { return gradedUnits; }
+
+        /** Units-weighted average of the graded subjects, or 0 if none are graded */
+        public double getWeightedAverage() {
+            return gradedCount == 0 || gradedUnits <= 0 ? 0.0 : weightedSum / gradedUnits;
+        }
+
+        /** Plain average of the graded subjects, or 0 if none are graded */
+        public double getAverage() {
+            return gradedCount == 0 ? 0.0 : sum / gradedCount;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GradeSummary{student='%s', term=%s, subjects=%d, units=%.1f, " +
+                           "prelimGraded=%d, prelimGpa=%.2f, semesterGraded=%d, semesterGpa=%.2f}",
+                           studentId, term, subjectCount, totalUnits,
+                           prelim.getGradedCount(), prelim.getWeightedAverage(),
+                           semester.getGradedCount(), semester.getWeightedAverage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package edu.slu.accounts.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact peso amount held as a whole number of centavos.
+ *
+ * Money columns store the centavo count as an INTEGER, so balances never
+ * drift and SUM() over amounts is an exact integer reduction. Fractional
+ * results (percentage fees, prelim shares) are rounded half-up to the centavo.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Money ofCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Money(centavos);
+    }
+
+    /**
+     * Convert a peso amount, rounding half-up to the centavo
+     */
+    public static Money of(double pesos) {
+        return of(BigDecimal.valueOf(pesos));
+    }
+
+    /**
+     * Parse a peso amount such as "9020.00"
+     */
+    public static Money parse(String pesos) {
+        return of(new BigDecimal(pesos.trim()));
+    }
+
+    private static Money of(BigDecimal pesos) {
+        return ofCentavos(pesos.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    public long getCentavos() { return centavos; }
+
+    public double toDouble() {
+        return centavos / 100.0;
+    }
+
+    public Money plus(Money other) {
+        return ofCentavos(Math.addExact(centavos, other.centavos));
+    }
+
+    public Money minus(Money other) {
+        return ofCentavos(Math.subtractExact(centavos, other.centavos));
+    }
+
+    public Money negate() {
+        return ofCentavos(Math.negateExact(centavos));
+    }
+
+    public Money abs() {
+        return centavos < 0 ? negate() : this;
+    }
+
+    /**
+     * This amount times a ratio, e.g. 0.33 for a one-third share
+     */
+    public Money times(double ratio) {
+        return ofCentavos(BigDecimal.valueOf(centavos).multiply(BigDecimal.valueOf(ratio))
+                              .setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    /**
+     * The given percentage of this amount, e.g. 2.0 for two percent
+     */
+    public Money percent(double percentage) {
+        return times(percentage / 100.0);
+    }
+
+    public Money min(Money other) {
+        return centavos <= other.centavos ? this : other;
+    }
+
+    public Money max(Money other) {
+        return centavos >= other.centavos ? this : other;
+    }
+
+    public boolean isZero() { return centavos == 0; }
+    public boolean isPositive() { return centavos > 0; }
+    public boolean isNegative() { return centavos < 0; }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(centavos, other.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    /**
+     * Plain two-decimal form, e.g. "14850.00" or "-25.50"
+     */
+    @Override
+    public String toString() {
+        long whole = Math.abs(centavos / 100);
+        long cents = Math.abs(centavos % 100);
+        return (centavos < 0 ? "-" : "") + whole + (cents < 10 ? ".0" : ".") + cents;
+    }
+}
\ No newline at end of file
@@ -1,86 +1,75 @@
 package edu.slu.accounts.model;
 
 /**
- * Payment method model class representing available payment channels
+ * Payment method model class representing available payment channels.
+ * Instances are immutable, so the registry can share them between threads.
  */
 public class PaymentMethod {
-    private String id;
-    private String methodName;
-    private String methodCode;
-    private double serviceFee;
-    private double percentageFee;
-    private boolean isActive;
-    private String description;
+    private final String id;
+    private final String methodName;
+    private final String methodCode;
+    private final Money serviceFee;
+    private final double percentageFee;
+    private final boolean isActive;
+    private final String description;
 
     // Constructors
-    public PaymentMethod() {
-        this.isActive = true;
+    public PaymentMethod(String methodName, String methodCode, Money serviceFee, double percentageFee) {
+        this(methodName, methodCode, serviceFee, percentageFee, null);
     }
 
-    public PaymentMethod(String methodName, String methodCode, double serviceFee, double percentageFee) {
-        this();
+    public PaymentMethod(String methodName, String methodCode, Money serviceFee, 
+                        double percentageFee, String description) {
+        this(null, methodName, methodCode, serviceFee, percentageFee, true, description);
+    }
+
+    public PaymentMethod(String id, String methodName, String methodCode, Money serviceFee,
+                        double percentageFee, boolean isActive, String description) {
+        this.id = id;
         this.methodName = methodName;
         this.methodCode = methodCode;
-        this.serviceFee = serviceFee;
+        this.serviceFee = serviceFee != null ? serviceFee : Money.ZERO;
         this.percentageFee = percentageFee;
-    }
-
-    public PaymentMethod(String methodName, String methodCode, double serviceFee, 
-                        double percentageFee, String description) {
-        this(methodName, methodCode, serviceFee, percentageFee);
+        this.isActive = isActive;
         this.description = description;
     }
 
-    // Getters and Setters
+    // Getters
     public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
-
     public String getMethodName() { return methodName; }
-    public void setMethodName(String methodName) { this.methodName = methodName; }
-
     public String getMethodCode() { return methodCode; }
-    public void setMethodCode(String methodCode) { this.methodCode = methodCode; }
-
-    public double getServiceFee() { return serviceFee; }
-    public void setServiceFee(double serviceFee) { this.serviceFee = serviceFee; }
-
+    public Money getServiceFee() { return serviceFee; }
     public double getPercentageFee() { return percentageFee; }
-    public void setPercentageFee(double percentageFee) { this.percentageFee = percentageFee; }
-
     public boolean isActive() { return isActive; }
-    public void setActive(boolean active) { isActive = active; }
-
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
 
     // Business methods
-    public double calculateTotalFee(double baseAmount) {
-        double percentageFeeAmount = (baseAmount * percentageFee) / 100.0;
-        return serviceFee + percentageFeeAmount;
+    public Money calculateTotalFee(Money baseAmount) {
+        return serviceFee.plus(baseAmount.percent(percentageFee));
     }
 
-    public double calculateTotalAmount(double baseAmount) {
-        return baseAmount + calculateTotalFee(baseAmount);
+    public Money calculateTotalAmount(Money baseAmount) {
+        return baseAmount.plus(calculateTotalFee(baseAmount));
     }
 
-    public PaymentCalculation calculatePayment(double baseAmount) {
-        double percentageFeeAmount = (baseAmount * percentageFee) / 100.0;
-        double totalFees = serviceFee + percentageFeeAmount;
-        double totalAmount = baseAmount + totalFees;
+    public PaymentCalculation calculatePayment(Money baseAmount) {
+        Money percentageFeeAmount = baseAmount.percent(percentageFee);
+        Money totalFees = serviceFee.plus(percentageFeeAmount);
+        Money totalAmount = baseAmount.plus(totalFees);
 
         return new PaymentCalculation(baseAmount, serviceFee, percentageFeeAmount, totalFees, totalAmount);
     }
 
     // Helper class for payment calculations
     public static class PaymentCalculation {
-        private final double baseAmount;
-        private final double serviceFee;
-        private final double percentageFee;
-        private final double totalFees;
-        private final double totalAmount;
-
-        public PaymentCalculation(double baseAmount, double serviceFee, double percentageFee, 
-                                double totalFees, double totalAmount) {
+        private final Money baseAmount;
+        private final Money serviceFee;
+        private final Money percentageFee;
+        private final Money totalFees;
+        private final Money totalAmount;
+
+        public PaymentCalculation(Money baseAmount, Money serviceFee, Money percentageFee, 
+                                Money totalFees, Money totalAmount) {
             this.baseAmount = baseAmount;
             this.serviceFee = serviceFee;
             this.percentageFee = percentageFee;
@@ -88,16 +77,16 @@ public class PaymentMethod {
             this.totalAmount = totalAmount;
         }
 
-        public double getBaseAmount() { return baseAmount; }
-        public double getServiceFee() { return serviceFee; }
-        public double getPercentageFee() { return percentageFee; }
-        public double getTotalFees() { return totalFees; }
-        public double getTotalAmount() { return totalAmount; }
+        public Money getBaseAmount() { return baseAmount; }
+        public Money getServiceFee() { return serviceFee; }
+        public Money getPercentageFee() { return percentageFee; }
+        public Money getTotalFees() { return totalFees; }
+        public Money getTotalAmount() { return totalAmount; }
 
         @Override
         public String toString() {
-            return String.format("PaymentCalculation{baseAmount=%.2f, serviceFee=%.2f, " +
-                               "percentageFee=%.2f, totalFees=%.2f, totalAmount=%.2f}", 
+            return String.format("PaymentCalculation{baseAmount=%s, serviceFee=%s, " +
+                               "percentageFee=%s, totalFees=%s, totalAmount=%s}", 
                                baseAmount, serviceFee, percentageFee, totalFees, totalAmount);
         }
     }
@@ -105,7 +94,7 @@ public class PaymentMethod {
     @Override
     public String toString() {
         return String.format("PaymentMethod{id='%s', name='%s', code='%s', " +
-                           "serviceFee=%.2f, percentageFee=%.2f%%, active=%s}", 
+                           "serviceFee=%s, percentageFee=%.2f%%, active=%s}", 
                            id, methodName, methodCode, serviceFee, percentageFee, isActive);
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package edu.slu.accounts.model;
+
+/**
+ * Result of posting a payment, with the account state after the payment and
+ * how long the posting took
+ */
+public class PaymentReceipt {
+    private final String transactionId;
+    private final String accountId;
+    private final String paymentReference;
+    private final Money amount;
+    private final Money remainingBalance;
+    private final Account.PaymentStatus prelimStatus;
+    private final Account.ExamPermission examPermission;
+    private final long queueWaitNanos;
+    private final long executionNanos;
+    private final long totalNanos;
+
+    public PaymentReceipt(Transaction payment, Account account, long queueWaitNanos,
+                          long executionNanos, long totalNanos) {
+        this.transactionId = payment.getId();
+        this.accountId = account.getId();
+        this.paymentReference = payment.getPaymentReference();
+        this.amount = payment.getAmount().abs();
+        this.remainingBalance = account.getRemainingBalance();
+        this.prelimStatus = account.getPrelimStatus();
+        this.examPermission = account.getExamPermission();
+        this.queueWaitNanos = queueWaitNanos;
+        this.executionNanos = executionNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    private PaymentReceipt(PaymentReceipt other, long totalNanos) {
+        this.transactionId = other.transactionId;
+        this.accountId = other.accountId;
+        this.paymentReference = other.paymentReference;
+        this.amount = other.amount;
+        this.remainingBalance = other.remainingBalance;
+        this.prelimStatus = other.prelimStatus;
+        this.examPermission = other.examPermission;
+        this.queueWaitNanos = other.queueWaitNanos;
+        this.executionNanos = other.executionNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * Copy of this receipt with the end-to-end time filled in
+     */
+    public PaymentReceipt withTotalNanos(long totalNanos) {
+        return new PaymentReceipt(this, totalNanos);
+    }
+
+    // Getters
+    public String getTransactionId() { return transactionId; }
+    public String getAccountId() { return accountId; }
+    public String getPaymentReference() { return paymentReference; }
+    public Money getAmount() { return amount; }
+    public Money getRemainingBalance() { return remainingBalance; }
+    public Account.PaymentStatus getPrelimStatus() { return prelimStatus; }
+    public Account.ExamPermission getExamPermission() { return examPermission; }
+
+    /** Time spent waiting in the write queue */
+    public long getQueueWaitNanos() { return queueWaitNanos; }
+
+    /** Time spent running the ledger insert and balance update */
+    public long getExecutionNanos() { return executionNanos; }
+
+    /** Time from submission until the commit was acknowledged */
+    public long getTotalNanos() { return totalNanos; }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PaymentReceipt{transaction='%s', reference='%s', amount=%s, " +
+                           "remainingBalance=%s, prelimStatus=%s, examPermission=%s, " +
+                           "queueWait=%.3fms, execution=%.3fms, total=%.3fms}",
+                           transactionId, paymentReference, amount, remainingBalance,
+                           prelimStatus, examPermission, queueWaitNanos / 1_000_000.0,
+                           executionNanos / 1_000_000.0, getTotalMillis());
+    }
+}
\ No newline at end of file
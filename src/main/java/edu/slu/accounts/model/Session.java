@@ -0,0 +1,54 @@
+package edu.slu.accounts.model;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A logged-in student's session: the opaque token handed to the client, the
+ * student it belongs to, and any state a front end keeps between requests
+ */
+public class Session {
+    private final String token;
+    private final Student student;
+    private final long createdAtMillis;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    public Session(String token, Student student, long createdAtMillis) {
+        this.token = token;
+        this.student = student;
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    // Getters
+    public String getToken() { return token; }
+    public Student getStudent() { return student; }
+    public String getStudentId() { return student.getId(); }
+    public long getCreatedAtMillis() { return createdAtMillis; }
+
+    /**
+     * Get a session attribute, if it is set and of the given type
+     */
+    public <T> Optional<T> getAttribute(String name, Class<T> type) {
+        Object value = attributes.get(name);
+        return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+    }
+
+    /**
+     * Set a session attribute; a null value removes it
+     */
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        // The token is a credential and is left out
+        return String.format("Session{student='%s', createdAt=%d, attributes=%s}",
+                           student.getStudentNumber(), createdAtMillis, attributes.keySet());
+    }
+}
\ No newline at end of file
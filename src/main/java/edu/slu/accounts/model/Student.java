@@ -1,5 +1,7 @@
 package edu.slu.accounts.model;
 
+import edu.slu.accounts.util.TimestampCodec;
+
 import java.time.LocalDateTime;
 
 /**
@@ -16,10 +18,11 @@ public class Student {
     private String email;
     private String password;
     private LocalDateTime createdAt;
+    private long createdAtMillis = TimestampCodec.NONE;
 
     // Constructors
     public Student() {
-        this.createdAt = LocalDateTime.now();
+        setCreatedAtMillis(TimestampCodec.now());
     }
 
     public Student(String studentNumber, String firstName, String middleName, String lastName, 
@@ -35,6 +38,22 @@ public class Student {
         this.password = password;
     }
 
+    /**
+     * Copy a student, e.g. to hand out a cached student the caller may modify
+     */
+    public Student(Student other) {
+        this.id = other.id;
+        this.studentNumber = other.studentNumber;
+        this.firstName = other.firstName;
+        this.middleName = other.middleName;
+        this.lastName = other.lastName;
+        this.course = other.course;
+        this.yearLevel = other.yearLevel;
+        this.email = other.email;
+        this.password = other.password;
+        this.createdAtMillis = other.createdAtMillis;
+    }
+
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -63,8 +82,22 @@ public class Student {
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
 
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getCreatedAt() {
+        if (createdAt == null && createdAtMillis != TimestampCodec.NONE) {
+            createdAt = TimestampCodec.decode(createdAtMillis);
+        }
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+        this.createdAtMillis = TimestampCodec.encode(createdAt);
+    }
+
+    public long getCreatedAtMillis() { return createdAtMillis; }
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+        this.createdAt = null;
+    }
 
     // Utility methods
     public String getFullName() {
@@ -1,5 +1,7 @@
 package edu.slu.accounts.model;
 
+import edu.slu.accounts.util.TimestampCodec;
+
 import java.time.LocalDateTime;
 
 /**
@@ -11,10 +13,11 @@ public class Transaction {
     private String accountId;
     private TransactionType transactionType;
     private String description;
-    private double amount;
+    private Money amount = Money.ZERO;
     private String paymentMethod;
     private String paymentReference;
     private LocalDateTime transactionDate;
+    private long transactionDateMillis = TimestampCodec.NONE;
     private TransactionStatus status;
 
     // Enums
@@ -28,12 +31,12 @@ public class Transaction {
 
     // Constructors
     public Transaction() {
-        this.transactionDate = LocalDateTime.now();
+        setTransactionDateMillis(TimestampCodec.now());
         this.status = TransactionStatus.COMPLETED;
     }
 
     public Transaction(String studentId, String accountId, TransactionType transactionType, 
-                      String description, double amount) {
+                      String description, Money amount) {
         this();
         this.studentId = studentId;
         this.accountId = accountId;
@@ -43,7 +46,7 @@ public class Transaction {
     }
 
     public Transaction(String studentId, String accountId, TransactionType transactionType, 
-                      String description, double amount, String paymentMethod, String paymentReference) {
+                      String description, Money amount, String paymentMethod, String paymentReference) {
         this(studentId, accountId, transactionType, description, amount);
         this.paymentMethod = paymentMethod;
         this.paymentReference = paymentReference;
@@ -65,8 +68,8 @@ public class Transaction {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
-    public double getAmount() { return amount; }
-    public void setAmount(double amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
 
     public String getPaymentMethod() { return paymentMethod; }
     public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
@@ -74,8 +77,22 @@ public class Transaction {
     public String getPaymentReference() { return paymentReference; }
     public void setPaymentReference(String paymentReference) { this.paymentReference = paymentReference; }
 
-    public LocalDateTime getTransactionDate() { return transactionDate; }
-    public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
+    public LocalDateTime getTransactionDate() {
+        if (transactionDate == null && transactionDateMillis != TimestampCodec.NONE) {
+            transactionDate = TimestampCodec.decode(transactionDateMillis);
+        }
+        return transactionDate;
+    }
+    public void setTransactionDate(LocalDateTime transactionDate) {
+        this.transactionDate = transactionDate;
+        this.transactionDateMillis = TimestampCodec.encode(transactionDate);
+    }
+
+    public long getTransactionDateMillis() { return transactionDateMillis; }
+    public void setTransactionDateMillis(long transactionDateMillis) {
+        this.transactionDateMillis = transactionDateMillis;
+        this.transactionDate = null;
+    }
 
     public TransactionStatus getStatus() { return status; }
     public void setStatus(TransactionStatus status) { this.status = status; }
@@ -91,13 +108,14 @@ public class Transaction {
 
     public String getFormattedAmount() {
         if (isPayment()) {
-            return String.format("(%.2f)", Math.abs(amount));
+            return "(" + amount.abs() + ")";
         } else {
-            return String.format("%.2f", amount);
+            return amount.toString();
         }
     }
 
     public String getFormattedDate() {
+        LocalDateTime transactionDate = getTransactionDate();
         if (transactionDate != null) {
             return String.format("%02d/%02d/%d", 
                                transactionDate.getMonthValue(),
@@ -109,8 +127,8 @@ public class Transaction {
 
     @Override
     public String toString() {
-        return String.format("Transaction{id='%s', type=%s, description='%s', amount=%.2f, date=%s, status=%s}", 
+        return String.format("Transaction{id='%s', type=%s, description='%s', amount=%s, date=%s, status=%s}", 
                            id, transactionType, description, amount, 
-                           transactionDate != null ? transactionDate.toString() : "null", status);
+                           getTransactionDate() != null ? getTransactionDate().toString() : "null", status);
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package edu.slu.accounts.model;
+
+import edu.slu.accounts.util.TimestampCodec;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of transaction history, newest first, with the cursor for the
+ * next (older) page
+ */
+public class TransactionPage {
+    private final List<Transaction> transactions;
+    private final Cursor nextCursor;
+
+    /**
+     * Position after the last row of a page: the (transaction_date, id) of
+     * that row. The next page starts strictly below it.
+     */
+    public static class Cursor {
+        private final long transactionDateMillis;
+        private final String id;
+
+        public Cursor(long transactionDateMillis, String id) {
+            this.transactionDateMillis = transactionDateMillis;
+            this.id = id;
+        }
+
+        public Cursor(LocalDateTime transactionDate, String id) {
+            this(TimestampCodec.encode(transactionDate), id);
+        }
+
+        public static Cursor after(Transaction transaction) {
+            return new Cursor(transaction.getTransactionDateMillis(), transaction.getId());
+        }
+
+        public long getTransactionDateMillis() { return transactionDateMillis; }
+        public String getId() { return id; }
+
+        public LocalDateTime getTransactionDate() {
+            return TimestampCodec.decode(transactionDateMillis);
+        }
+
+        @Override
+        public String toString() {
+            return transactionDateMillis + "/" + id;
+        }
+    }
+
+    public TransactionPage(List<Transaction> transactions, Cursor nextCursor) {
+        this.transactions = Collections.unmodifiableList(transactions);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+
+    /** Cursor for the next page, or null on the last page */
+    public Cursor getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public int size() {
+        return transactions.size();
+    }
+}
\ No newline at end of file
@@ -1,24 +1,44 @@
 package edu.slu.accounts.service;
 
 import edu.slu.accounts.dao.AccountDAO;
+import edu.slu.accounts.dao.ReportDAO;
 import edu.slu.accounts.dao.TransactionDAO;
+import edu.slu.accounts.model.AcademicTerm;
 import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.BalanceSummary;
+import edu.slu.accounts.model.CollectionSummary;
+import edu.slu.accounts.model.ExamPeriod;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.PaymentReceipt;
 import edu.slu.accounts.model.Transaction;
+import edu.slu.accounts.model.TransactionPage;
+import edu.slu.accounts.util.BoundedCache;
 import edu.slu.accounts.util.IdGenerator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Service for managing student accounts and financial information
  */
 public class AccountService {
+    // Rendered statements keyed by kind, owner and version: summaries by account ID and
+    // updated_at, breakdowns by student ID and ledger version. Every write bumps the
+    // version, so older renderings are never hit again and age out.
+    private static final BoundedCache<String, String> RENDERED_STATEMENTS =
+        new BoundedCache<>(Integer.getInteger("slu.renderCacheSize", 2048));
+
     private final AccountDAO accountDAO;
     private final TransactionDAO transactionDAO;
+    private final ReportDAO reportDAO;
 
     public AccountService() {
         this.accountDAO = new AccountDAO();
         this.transactionDAO = new TransactionDAO();
+        this.reportDAO = new ReportDAO();
     }
 
     /**
@@ -26,7 +46,7 @@ public class AccountService {
      */
     public boolean createStudentAccount(String studentId) {
         // Create account with standard assessment
-        double totalAssessment = 45000.0; // Standard tuition fee
+        Money totalAssessment = Money.of(45000.0); // Standard tuition fee
         Account account = new Account(studentId, "FIRST SEMESTER", "2025-2026", totalAssessment);
         
         boolean accountCreated = accountDAO.createAccount(account);
@@ -35,7 +55,7 @@ public class AccountService {
             // Add initial assessment transactions
             addInitialAssessments(studentId, account.getId());
             System.out.println("Student account created successfully with assessment: ₱" + 
-                             String.format("%.2f", totalAssessment));
+                             totalAssessment);
         }
         
         return accountCreated;
@@ -59,16 +79,40 @@ public class AccountService {
      * Check if student has paid prelim fees
      */
     public boolean isPrelimPaid(String studentId) {
-        Optional<Account> accountOpt = getStudentAccount(studentId);
-        return accountOpt.map(Account::isPrelimPaid).orElse(false);
+        return hasExamPermit(studentId, ExamPeriod.PRELIM);
+    }
+
+    /**
+     * Check if student has paid the installment for an exam period. Answered
+     * from the exam permission index while it is current; otherwise from the
+     * database, past the account cache, which sees other processes' writes
+     * only after its next version check.
+     */
+    public boolean hasExamPermit(String studentId, ExamPeriod period) {
+        ExamPermissionIndex index = ExamPermissionIndex.getInstance();
+        if (index.isReady()) {
+            return index.isPermitted(studentId, AcademicTerm.CURRENT, period);
+        }
+
+        return accountDAO.findByStudentIdUncached(studentId)
+            .map(period::isPaid)
+            .orElse(false);
     }
 
     /**
      * Check if student can take exams
      */
     public boolean canTakeExams(String studentId) {
-        Optional<Account> accountOpt = getStudentAccount(studentId);
-        return accountOpt.map(Account::canTakeExams).orElse(false);
+        return getStudentAccount(studentId)
+            .map(Account::canTakeExams)
+            .orElse(false);
+    }
+
+    /**
+     * Get account cache hit-rate and eviction counters
+     */
+    public BoundedCache.Stats getAccountCacheStats() {
+        return AccountDAO.getCacheStats();
     }
 
     /**
@@ -78,53 +122,61 @@ public class AccountService {
         return transactionDAO.findByStudentId(studentId);
     }
 
+    /**
+     * Get one page of student transaction history, newest first
+     */
+    public TransactionPage getTransactionHistoryPage(String studentId, TransactionPage.Cursor after, int pageSize) {
+        return transactionDAO.findPageByStudentId(studentId, after, pageSize);
+    }
+
     /**
      * Process payment for student
      */
-    public boolean processPayment(String studentId, double amount, String paymentMethod, String paymentReference) {
+    public boolean processPayment(String studentId, Money amount, String paymentMethod, String paymentReference) {
+        Optional<PaymentReceipt> receiptOpt = postPayment(studentId, amount, paymentMethod, paymentReference);
+
+        if (receiptOpt.isEmpty()) {
+            return false;
+        }
+
+        PaymentReceipt receipt = receiptOpt.get();
+        System.out.println("Payment processed successfully:");
+        System.out.println("  Amount: ₱" + receipt.getAmount());
+        System.out.println("  Reference: " + receipt.getPaymentReference());
+        System.out.println("  New Balance: ₱" + receipt.getRemainingBalance());
+        System.out.println("  Prelim Status: " + receipt.getPrelimStatus());
+        System.out.println("  Exam Permission: " + receipt.getExamPermission());
+        System.out.println("  Posted in: " + String.format("%.2f", receipt.getTotalMillis()) + " ms");
+        return true;
+    }
+
+    /**
+     * Post a payment as a single commit covering the ledger entry and the balance update
+     */
+    public Optional<PaymentReceipt> postPayment(String studentId, Money amount, String paymentMethod, String paymentReference) {
         Optional<Account> accountOpt = getStudentAccount(studentId);
         
         if (accountOpt.isEmpty()) {
             System.err.println("Account not found for student: " + studentId);
-            return false;
+            return Optional.empty();
         }
         
-        Account account = accountOpt.get();
-        
         // Create payment transaction
         Transaction paymentTransaction = new Transaction(
             studentId, 
-            account.getId(), 
+            accountOpt.get().getId(), 
             Transaction.TransactionType.PAYMENT,
             "PAYMENT RECEIVED (" + paymentReference + ")",
-            -amount, // Negative amount for payments
+            amount.negate(), // Negative amount for payments
             paymentMethod,
             paymentReference
         );
         
-        boolean transactionCreated = transactionDAO.createTransaction(paymentTransaction);
-        
-        if (transactionCreated) {
-            // Update account balances
-            account.processPayment(amount);
-            boolean accountUpdated = accountDAO.updateAccount(account);
-            
-            if (accountUpdated) {
-                System.out.println("Payment processed successfully:");
-                System.out.println("  Amount: ₱" + String.format("%.2f", amount));
-                System.out.println("  Reference: " + paymentReference);
-                System.out.println("  New Balance: ₱" + String.format("%.2f", account.getRemainingBalance()));
-                System.out.println("  Prelim Status: " + account.getPrelimStatus());
-                System.out.println("  Exam Permission: " + account.getExamPermission());
-                return true;
-            }
-        }
-        
-        return false;
+        return accountDAO.postPayment(paymentTransaction);
     }
 
     /**
-     * Get payment summary for display
+     * Get payment summary for display; served from memory until the account changes
      */
     public String getPaymentSummary(String studentId) {
         Optional<Account> accountOpt = getStudentAccount(studentId);
@@ -134,6 +186,11 @@ public class AccountService {
         }
         
         Account account = accountOpt.get();
+        String key = "summary\n" + account.getId() + '\n' + account.getUpdatedAtMillis();
+        return rendered(key, () -> renderPaymentSummary(account));
+    }
+
+    private String renderPaymentSummary(Account account) {
         StringBuilder summary = new StringBuilder();
         
         summary.append("═══════════════════════════════════════════════════════════════\n");
@@ -141,8 +198,8 @@ public class AccountService {
         summary.append("                   FIRST SEMESTER, 2025-2026                  \n");
         summary.append("═══════════════════════════════════════════════════════════════\n\n");
         
-        summary.append(String.format("Your amount due for PRELIM is: ₱%.2f\n", account.getPrelimAmountDue()));
-        summary.append(String.format("Your remaining balance is: ₱%.2f\n\n", account.getRemainingBalance()));
+        summary.append(String.format("Your amount due for PRELIM is: ₱%s\n", account.getPrelimAmountDue()));
+        summary.append(String.format("Your remaining balance is: ₱%s\n\n", account.getRemainingBalance()));
         
         summary.append("PRELIM STATUS: ").append(account.getPrelimStatus()).append("\n");
         summary.append("EXAM PERMISSION: ").append(account.getExamPermission()).append("\n\n");
@@ -172,22 +229,41 @@ public class AccountService {
             {"Miscellaneous Fees", "3117.00"}
         };
 
+        List<Transaction> transactions = new ArrayList<>();
         for (String[] assessment : assessments) {
-            Transaction transaction = new Transaction(
+            transactions.add(new Transaction(
                 studentId,
                 accountId,
                 Transaction.TransactionType.ASSESSMENT,
                 assessment[0],
-                Double.parseDouble(assessment[1])
-            );
-            transactionDAO.createTransaction(transaction);
+                Money.parse(assessment[1])
+            ));
+        }
+
+        boolean[] created = transactionDAO.createTransactions(transactions);
+        for (int i = 0; i < created.length; i++) {
+            if (!created[i]) {
+                System.err.println("Failed to create assessment: " + assessments[i][0]);
+            }
         }
     }
 
     /**
-     * Get formatted transaction breakdown
+     * Get formatted transaction breakdown; served from memory until the
+     * student's ledger changes
      */
     public String getTransactionBreakdown(String studentId) {
+        Optional<Long> version = transactionDAO.findLedgerVersion(studentId);
+
+        if (version.isEmpty()) {
+            return renderTransactionBreakdown(studentId);
+        }
+
+        String key = "breakdown\n" + studentId + '\n' + version.get();
+        return rendered(key, () -> renderTransactionBreakdown(studentId));
+    }
+
+    private String renderTransactionBreakdown(String studentId) {
         List<Transaction> transactions = getTransactionHistory(studentId);
         StringBuilder breakdown = new StringBuilder();
         
@@ -219,6 +295,28 @@ public class AccountService {
         return breakdown.toString();
     }
 
+    /**
+     * Get rendered statement cache hit-rate and eviction counters
+     */
+    public BoundedCache.Stats getRenderCacheStats() {
+        return RENDERED_STATEMENTS.getStats();
+    }
+
+    /**
+     * Get the rendering stored under a versioned key, rendering it on a miss
+     */
+    private String rendered(String key, Supplier<String> renderer) {
+        String text = RENDERED_STATEMENTS.get(key);
+
+        if (text == null) {
+            long generation = RENDERED_STATEMENTS.generation();
+            text = renderer.get();
+            RENDERED_STATEMENTS.putIfCurrent(key, text, generation);
+        }
+
+        return text;
+    }
+
     /**
      * Get all accounts (for admin purposes)
      */
@@ -226,6 +324,29 @@ public class AccountService {
         return accountDAO.findAll();
     }
 
+    /**
+     * Stream all accounts for reports over the whole student body; the
+     * stream must be closed
+     */
+    public Stream<Account> streamAllAccounts() {
+        return accountDAO.streamAll();
+    }
+
+    /**
+     * Get outstanding balances and unpaid prelims per course and year level,
+     * totalled by the database
+     */
+    public List<BalanceSummary> getBalanceSummaries() {
+        return reportDAO.findBalancesByCourseAndYear();
+    }
+
+    /**
+     * Get completed payment totals per payment method, totalled by the database
+     */
+    public List<CollectionSummary> getCollectionsByPaymentMethod() {
+        return reportDAO.findCollectionsByPaymentMethod();
+    }
+
     /**
      * Get accounts with unpaid prelims
      */
@@ -1,26 +1,34 @@
 package edu.slu.accounts.service;
 
 import edu.slu.accounts.dao.StudentDAO;
+import edu.slu.accounts.model.Session;
 import edu.slu.accounts.model.Student;
 import edu.slu.accounts.util.PasswordUtil;
 
 import java.util.Optional;
 
 /**
- * Authentication service for handling login and session management
+ * Authentication service for handling login and session management.
+ *
+ * A login opens a session in the shared SessionStore and returns its token;
+ * every other call takes that token, so one instance serves any number of
+ * users at once.
  */
 public class AuthenticationService {
     private final StudentDAO studentDAO;
-    private Student currentUser;
+    private final AccountService accountService;
+    private final SessionStore sessionStore;
 
     public AuthenticationService() {
         this.studentDAO = new StudentDAO();
+        this.accountService = new AccountService();
+        this.sessionStore = SessionStore.getInstance();
     }
 
     /**
-     * Authenticate student with student number and password
+     * Authenticate student with student number and password, returning the new session's token
      */
-    public boolean login(String studentNumber, String password) {
+    public Optional<String> login(String studentNumber, String password) {
         Optional<Student> studentOpt = studentDAO.findByStudentNumber(studentNumber);
         
         if (studentOpt.isPresent()) {
@@ -29,9 +37,13 @@ public class AuthenticationService {
             // For demo purposes, we'll use simple password comparison
             // In production, use PasswordUtil.verifyPassword(password, student.getPassword())
             if (password.equals("password") || PasswordUtil.verifyPassword(password, student.getPassword())) {
-                this.currentUser = student;
+                Optional<Session> session = sessionStore.create(student);
+                if (session.isEmpty()) {
+                    System.out.println("Too many active sessions, login refused for: " + studentNumber);
+                    return Optional.empty();
+                }
                 System.out.println("Login successful for: " + student.getFullName());
-                return true;
+                return Optional.of(session.get().getToken());
             } else {
                 System.out.println("Invalid password for student: " + studentNumber);
             }
@@ -39,64 +51,72 @@ public class AuthenticationService {
             System.out.println("Student not found: " + studentNumber);
         }
         
-        return false;
+        return Optional.empty();
     }
 
     /**
-     * Logout current user
+     * Logout the session's user
      */
-    public void logout() {
-        if (currentUser != null) {
-            System.out.println("Logging out: " + currentUser.getFullName());
-            this.currentUser = null;
-        }
+    public void logout(String token) {
+        sessionStore.get(token).ifPresent(session -> {
+            System.out.println("Logging out: " + session.getStudent().getFullName());
+            sessionStore.invalidate(token);
+        });
+    }
+
+    /**
+     * Get the session for a token, extending it
+     */
+    public Optional<Session> getSession(String token) {
+        return sessionStore.get(token);
     }
 
     /**
-     * Check if user is logged in
+     * Check if the token belongs to a live session
      */
-    public boolean isLoggedIn() {
-        return currentUser != null;
+    public boolean isLoggedIn(String token) {
+        return sessionStore.get(token).isPresent();
     }
 
     /**
-     * Get current logged-in user
+     * Get the session's logged-in user, or null if the session has ended
      */
-    public Student getCurrentUser() {
-        return currentUser;
+    public Student getCurrentUser(String token) {
+        return sessionStore.get(token).map(Session::getStudent).orElse(null);
     }
 
     /**
-     * Get current user ID
+     * Get the session's user ID, or null if the session has ended
      */
-    public String getCurrentUserId() {
-        return currentUser != null ? currentUser.getId() : null;
+    public String getCurrentUserId(String token) {
+        return sessionStore.get(token).map(Session::getStudentId).orElse(null);
     }
 
     /**
-     * Check if current user has permission to access grades
+     * Check if the session's user has permission to access grades
      */
-    public boolean canAccessGrades() {
-        if (!isLoggedIn()) {
+    public boolean canAccessGrades(String token) {
+        String studentId = getCurrentUserId(token);
+        if (studentId == null) {
             return false;
         }
         
         // Check if student has paid prelim fees
-        AccountService accountService = new AccountService();
-        return accountService.isPrelimPaid(getCurrentUserId());
+        return accountService.isPrelimPaid(studentId);
     }
 
     /**
      * Validate session
      */
-    public boolean validateSession() {
-        return isLoggedIn();
+    public boolean validateSession(String token) {
+        return isLoggedIn(token);
     }
 
     /**
      * Get user display info
      */
-    public String getUserDisplayInfo() {
+    public String getUserDisplayInfo(String token) {
+        Student currentUser = getCurrentUser(token);
         if (currentUser == null) {
             return "Not logged in";
         }
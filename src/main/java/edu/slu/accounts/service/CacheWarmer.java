@@ -0,0 +1,216 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.dao.AccountDAO;
+import edu.slu.accounts.dao.StudentDAO;
+import edu.slu.accounts.model.AcademicTerm;
+import edu.slu.accounts.util.DatabaseConnection;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the account and student caches and rebuilds the exam permission index
+ * ahead of peak traffic, so the first wave of logins and gate checks does not
+ * all go to the database.
+ *
+ * Student IDs are split into chunks that fork-join workers load with IN-list
+ * queries, one worker per read connection. The permission index is rebuilt
+ * afterwards on the calling thread. Runs at startup, on demand through
+ * {@link #warmUp()}, and at the times of day given by {@code slu.warmup.times}
+ * (e.g. "06:30,12:45").
+ */
+public class CacheWarmer {
+    private static final int CHUNK_SIZE = 512;
+
+    private final StudentDAO studentDAO;
+    private final AccountDAO accountDAO;
+    private final Object progressLock = new Object();
+    private int reportedTenths;
+
+    public CacheWarmer() {
+        this.studentDAO = new StudentDAO();
+        this.accountDAO = new AccountDAO();
+    }
+
+    /**
+     * Warm every cache now and report what was loaded. Only as many students
+     * as the caches can hold are loaded.
+     */
+    public synchronized Report warmUp() {
+        long start = System.nanoTime();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        List<String> ids = studentDAO.findAllIds();
+        // Each student takes two student cache entries: by ID and by student number
+        int limit = Math.min(ids.size(), Math.min(AccountDAO.getCacheStats().getCapacity(),
+                                                  StudentDAO.getCacheStats().getCapacity() / 2));
+        List<String> warmed = ids.subList(0, limit);
+
+        AtomicInteger studentsDone = new AtomicInteger();
+        AtomicInteger studentsFound = new AtomicInteger();
+        AtomicInteger accountsFound = new AtomicInteger();
+        System.out.printf("Warming caches: %d of %d students, %d worker(s)...%n",
+                          limit, ids.size(), DatabaseConnection.getReadPoolSize());
+
+        synchronized (progressLock) {
+            reportedTenths = 0;
+        }
+        ForkJoinPool pool = new ForkJoinPool(DatabaseConnection.getReadPoolSize());
+        try {
+            pool.invoke(new ChunkTask(warmed, 0, warmed.size(), studentsDone, studentsFound, accountsFound));
+        } finally {
+            pool.shutdown();
+        }
+
+        // The workers already use every read connection, so the index loads after them
+        ExamPermissionIndex.getInstance().rebuild();
+
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        Report report = new Report(ids.size(), studentsFound.get(), accountsFound.get(),
+                                   Duration.ofNanos(System.nanoTime() - start), heapAfter - heapBefore, heapAfter);
+        System.out.println("Caches warmed: " + report);
+        return report;
+    }
+
+    /**
+     * Warm the caches every day at the given times, on a background thread
+     */
+    public void scheduleDaily(List<LocalTime> times) {
+        if (times.isEmpty()) {
+            return;
+        }
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (LocalTime time : times) {
+            long delay = Duration.between(LocalDateTime.now(), nextOccurrence(time)).toMillis();
+            scheduler.scheduleAtFixedRate(this::warmUp, delay, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+            System.out.println("Cache warm-up scheduled daily at " + time + ".");
+        }
+    }
+
+    /**
+     * Parse {@code slu.warmup.times}, a comma-separated list of HH:mm times
+     */
+    public static List<LocalTime> getScheduledTimes() {
+        String times = System.getProperty("slu.warmup.times", "").trim();
+        if (times.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(times.split(","))
+                               .map(String::trim)
+                               .map(LocalTime::parse)
+                               .toList();
+    }
+
+    private static LocalDateTime nextOccurrence(LocalTime time) {
+        LocalDateTime next = LocalDateTime.now().with(time);
+        return next.isAfter(LocalDateTime.now()) ? next : next.plusDays(1);
+    }
+
+    /**
+     * Load a range of student IDs, splitting it until it fits one IN-list chunk
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> ids;
+        private final int from;
+        private final int to;
+        private final AtomicInteger done;
+        private final AtomicInteger studentsFound;
+        private final AtomicInteger accountsFound;
+
+        private ChunkTask(List<String> ids, int from, int to, AtomicInteger done,
+                          AtomicInteger studentsFound, AtomicInteger accountsFound) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+            this.done = done;
+            this.studentsFound = studentsFound;
+            this.accountsFound = accountsFound;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(ids, from, middle, done, studentsFound, accountsFound),
+                          new ChunkTask(ids, middle, to, done, studentsFound, accountsFound));
+                return;
+            }
+
+            List<String> chunk = ids.subList(from, to);
+            studentsFound.addAndGet(studentDAO.preload(chunk));
+            accountsFound.addAndGet(accountDAO.preload(chunk, AcademicTerm.CURRENT));
+            reportProgress(done.addAndGet(chunk.size()), ids.size());
+        }
+
+        /**
+         * Print a line each time another tenth of the students is done. A
+         * worker that finished earlier but reports later prints nothing, so
+         * the lines never go backwards.
+         */
+        private void reportProgress(int completed, int total) {
+            int tenths = completed * 10 / total;
+            synchronized (progressLock) {
+                if (tenths > reportedTenths) {
+                    reportedTenths = tenths;
+                    System.out.printf("  warm-up %d%%: %d/%d students%n", tenths * 10, completed, total);
+                }
+            }
+        }
+    }
+
+    /**
+     * What a warm-up loaded, how long it took and the heap it used
+     */
+    public static final class Report {
+        private final int totalStudents;
+        private final int studentsLoaded;
+        private final int accountsLoaded;
+        private final Duration elapsed;
+        private final long heapDeltaBytes;
+        private final long heapUsedBytes;
+
+        private Report(int totalStudents, int studentsLoaded, int accountsLoaded, Duration elapsed,
+                       long heapDeltaBytes, long heapUsedBytes) {
+            this.totalStudents = totalStudents;
+            this.studentsLoaded = studentsLoaded;
+            this.accountsLoaded = accountsLoaded;
+            this.elapsed = elapsed;
+            this.heapDeltaBytes = heapDeltaBytes;
+            this.heapUsedBytes = heapUsedBytes;
+        }
+
+        public int getTotalStudents() { return totalStudents; }
+        public int getStudentsLoaded() { return studentsLoaded; }
+        public int getAccountsLoaded() { return accountsLoaded; }
+        public Duration getElapsed() { return elapsed; }
+
+        /** Heap growth during the warm-up; garbage not yet collected is included */
+        public long getHeapDeltaBytes() { return heapDeltaBytes; }
+        public long getHeapUsedBytes() { return heapUsedBytes; }
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d students, %d accounts in %d ms; heap +%.1f MB (%.1f MB used)",
+                                 studentsLoaded, totalStudents, accountsLoaded, elapsed.toMillis(),
+                                 heapDeltaBytes / 1048576.0, heapUsedBytes / 1048576.0);
+        }
+    }
+}
\ No newline at end of file
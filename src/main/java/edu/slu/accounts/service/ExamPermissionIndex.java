@@ -0,0 +1,260 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.dao.AccountDAO;
+import edu.slu.accounts.model.AcademicTerm;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.ExamPeriod;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of which students hold an exam permit, per term and exam
+ * period, so gate checks never touch the database.
+ *
+ * Every student gets a dense integer index, and every term one bitmap per
+ * exam period over those indexes. Bitmaps are copy-on-write: a check is a
+ * map lookup and a bit test, and a committed account write publishes updated
+ * copies. The index is rebuilt from the accounts table at startup and kept
+ * current through {@link AccountDAO#addCommitListener}.
+ *
+ * Writes by other processes bump the accounts version counter (see schema
+ * migration 12) without reaching the listener. The version is checked at most
+ * once per interval; when it has moved past this process's own writes, the
+ * index stops answering and rebuilds in the background.
+ */
+public class ExamPermissionIndex {
+    private static final long CHECK_INTERVAL_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("slu.examPermits.checkMillis", 1000));
+    private static final long UNVERSIONED = -1;
+
+    private static final ExamPermissionIndex INSTANCE = new ExamPermissionIndex();
+
+    private final AccountDAO accountDAO = new AccountDAO();
+    private final Map<String, Integer> studentIndexes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService rebuilder;
+    private volatile Map<AcademicTerm, BitSet[]> permits = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private volatile boolean current;
+    private volatile long builtVersion = UNVERSIONED;
+    private volatile long nextCheckAt;
+
+    // Updates committed while a rebuild is loading; replayed on top of it
+    private List<Update> pendingUpdates;
+
+    private ExamPermissionIndex() {
+        this.rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exam-permit-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AccountDAO.addCommitListener(this::update);
+    }
+
+    public static ExamPermissionIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Check if the index can answer gate checks: it has been built and has
+     * seen every account write since. False while a rebuild triggered by
+     * another process's writes is running.
+     */
+    public boolean isReady() {
+        if (!ready) {
+            return false;
+        }
+        checkForChanges();
+        return current;
+    }
+
+    /**
+     * Check if a student's installment for the exam period is paid
+     */
+    public boolean isPermitted(String studentId, AcademicTerm term, ExamPeriod period) {
+        Integer index = studentIndexes.get(studentId);
+        if (index == null) {
+            return false;
+        }
+        BitSet[] periods = permits.get(term);
+        return periods != null && periods[period.ordinal()].get(index);
+    }
+
+    /**
+     * Count the students permitted for the exam period
+     */
+    public int countPermitted(AcademicTerm term, ExamPeriod period) {
+        BitSet[] periods = permits.get(term);
+        return periods == null ? 0 : periods[period.ordinal()].cardinality();
+    }
+
+    /**
+     * Load every account and replace the index. The accounts are read on the
+     * calling thread, which owns the stream's JDBC cursor.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            synchronized (this) {
+                pendingUpdates = new ArrayList<>();
+            }
+
+            // Read the version first: a write during the load then shows up as a change
+            Optional<Long> version = accountDAO.findVersion();
+            Map<AcademicTerm, BitSet[]> built = new HashMap<>();
+            try (Stream<Account> accounts = accountDAO.streamAll()) {
+                accounts.forEach(account -> add(built, account));
+            }
+
+            synchronized (this) {
+                permits = new ConcurrentHashMap<>(built);
+                builtVersion = version.orElse(UNVERSIONED);
+                current = version.isPresent();
+                nextCheckAt = System.nanoTime() + CHECK_INTERVAL_NANOS;
+                ready = true;
+
+                List<Update> replay = pendingUpdates;
+                pendingUpdates = null;
+                for (Update update : replay) {
+                    apply(update.account);
+                    advance(update.tableVersion);
+                }
+            }
+
+            System.out.printf("Exam permission index rebuilt: %d students, %d term(s) in %d ms%n",
+                              studentIndexes.size(), built.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingUpdates = null;
+            }
+            System.err.println("Error rebuilding exam permission index: " + e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Apply a committed account write
+     */
+    private synchronized void update(Account account, long tableVersion) {
+        apply(account);
+        if (pendingUpdates != null) {
+            pendingUpdates.add(new Update(account, tableVersion));
+        } else if (ready) {
+            advance(tableVersion);
+        }
+    }
+
+    /**
+     * Move the built version past one of this process's writes. A gap means
+     * another process wrote in between.
+     */
+    private void advance(long tableVersion) {
+        if (tableVersion == builtVersion + 1) {
+            builtVersion = tableVersion;
+        } else if (tableVersion > builtVersion) {
+            markStale();
+        }
+    }
+
+    /**
+     * Compare the accounts version with the built one, at most once per
+     * interval, and retry a rebuild that left the index stale
+     */
+    private void checkForChanges() {
+        long now = System.nanoTime();
+        if (now - nextCheckAt < 0) {
+            return;
+        }
+        nextCheckAt = now + CHECK_INTERVAL_NANOS;
+
+        if (!current) {
+            // The last rebuild failed or could not read the version; try again
+            if (!rebuildLock.isLocked()) {
+                markStale();
+            }
+            return;
+        }
+
+        Optional<Long> version = accountDAO.findVersion();
+        if (version.isPresent() && version.get() != builtVersion) {
+            markStale();
+        }
+    }
+
+    private void markStale() {
+        current = false;
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void apply(Account account) {
+        AcademicTerm term = new AcademicTerm(account.getSemester(), account.getAcademicYear());
+        int index = indexOf(account.getStudentId());
+
+        BitSet[] existing = permits.get(term);
+        BitSet[] updated = new BitSet[ExamPeriod.values().length];
+        for (ExamPeriod period : ExamPeriod.values()) {
+            BitSet bits = existing == null ? new BitSet() : (BitSet) existing[period.ordinal()].clone();
+            bits.set(index, period.isPaid(account));
+            updated[period.ordinal()] = bits;
+        }
+        permits.put(term, updated);
+    }
+
+    private void add(Map<AcademicTerm, BitSet[]> built, Account account) {
+        BitSet[] periods = built.computeIfAbsent(
+            new AcademicTerm(account.getSemester(), account.getAcademicYear()), term -> newPeriods());
+        int index = indexOf(account.getStudentId());
+        for (ExamPeriod period : ExamPeriod.values()) {
+            if (period.isPaid(account)) {
+                periods[period.ordinal()].set(index);
+            }
+        }
+    }
+
+    private int indexOf(String studentId) {
+        return studentIndexes.computeIfAbsent(studentId, id -> nextIndex.getAndIncrement());
+    }
+
+    private static BitSet[] newPeriods() {
+        BitSet[] periods = new BitSet[ExamPeriod.values().length];
+        for (int i = 0; i < periods.length; i++) {
+            periods[i] = new BitSet();
+        }
+        return periods;
+    }
+
+    /**
+     * A committed account and the table version its write produced
+     */
+    private static final class Update {
+        private final Account account;
+        private final long tableVersion;
+
+        private Update(Account account, long tableVersion) {
+            this.account = account;
+            this.tableVersion = tableVersion;
+        }
+    }
+}
\ No newline at end of file
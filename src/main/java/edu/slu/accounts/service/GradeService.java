@@ -1,9 +1,12 @@
 package edu.slu.accounts.service;
 
 import edu.slu.accounts.dao.GradeDAO;
+import edu.slu.accounts.model.AcademicTerm;
 import edu.slu.accounts.model.Grade;
+import edu.slu.accounts.model.GradeSummary;
 import edu.slu.accounts.util.IdGenerator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,7 +36,7 @@ public class GradeService {
             {"PE 101", "Physical Education", "2.0"}
         };
 
-        boolean allCreated = true;
+        List<Grade> grades = new ArrayList<>();
         
         for (String[] subject : subjects) {
             Grade grade = new Grade(
@@ -48,10 +51,16 @@ public class GradeService {
             // Set sample prelim grades (only visible after payment)
             double prelimGrade = 75.0 + (Math.random() * 20); // Random grade between 75-95
             grade.setPrelimGrade(prelimGrade);
-            
-            if (!gradeDAO.createGrade(grade)) {
+            grades.add(grade);
+        }
+
+        boolean allCreated = true;
+        boolean[] created = gradeDAO.createGrades(grades);
+        
+        for (int i = 0; i < created.length; i++) {
+            if (!created[i]) {
                 allCreated = false;
-                System.err.println("Failed to create grade for subject: " + subject[0]);
+                System.err.println("Failed to create grade for subject: " + subjects[i][0]);
             }
         }
         
@@ -106,27 +115,22 @@ public class GradeService {
         System.out.printf("%-10s %-35s %-6s %-10s\n", "Subject", "Subject Name", "Units", "Prelim");
         System.out.println("───────────────────────────────────────────────────────────────");
 
-        double totalUnits = 0;
-        double totalGradePoints = 0;
-        
         for (Grade grade : grades) {
             System.out.printf("%-10s %-35s %-6.1f %-10s\n",
                             grade.getSubjectCode(),
                             grade.getSubjectName(),
                             grade.getUnits(),
                             grade.getFormattedPrelimGrade());
-            
-            totalUnits += grade.getUnits();
-            if (grade.getPrelimGrade() != null) {
-                totalGradePoints += grade.getPrelimGrade() * grade.getUnits();
-            }
         }
         
+        Optional<GradeSummary> summaryOpt = getTermSummary(studentId);
+        double totalUnits = summaryOpt.map(GradeSummary::getTotalUnits).orElse(0.0);
+
         System.out.println("───────────────────────────────────────────────────────────────");
         System.out.printf("%-52s %-6.1f\n", "TOTAL UNITS:", totalUnits);
         
-        if (totalUnits > 0) {
-            double gpa = totalGradePoints / totalUnits;
+        if (summaryOpt.isPresent() && summaryOpt.get().getPrelim().getGradedCount() > 0) {
+            double gpa = summaryOpt.get().getPrelim().getWeightedAverage();
             System.out.printf("%-52s %-6.2f\n", "PRELIM GPA:", gpa);
             
             // Display GPA status
@@ -153,26 +157,41 @@ public class GradeService {
      * Update prelim grade for a subject
      */
     public boolean updatePrelimGrade(String studentId, String subjectCode, double grade) {
-        List<Grade> grades = gradeDAO.findByStudentId(studentId);
-        
-        Optional<Grade> gradeOpt = grades.stream()
-                                       .filter(g -> g.getSubjectCode().equals(subjectCode))
-                                       .findFirst();
-        
-        if (gradeOpt.isPresent()) {
-            Grade gradeRecord = gradeOpt.get();
-            gradeRecord.setPrelimGrade(grade);
-            return gradeDAO.updateGrade(gradeRecord);
+        return gradeDAO.updatePrelimGrade(studentId, AcademicTerm.CURRENT, subjectCode, grade);
+    }
+
+    /**
+     * Post a class sheet of grades in one commit; rows that already exist for
+     * the student, term and subject are updated
+     */
+    public boolean postGrades(List<Grade> grades) {
+        boolean[] written = gradeDAO.upsertGrades(grades);
+
+        boolean allWritten = true;
+        for (int i = 0; i < written.length; i++) {
+            if (!written[i]) {
+                allWritten = false;
+                System.err.println("Failed to post grade for student " + grades.get(i).getStudentId()
+                                   + ", subject " + grades.get(i).getSubjectCode());
+            }
         }
-        
-        return false;
+
+        return allWritten;
     }
 
     /**
      * Calculate student GPA
      */
     public double calculateGPA(String studentId) {
-        return gradeDAO.getStudentGPA(studentId, "FIRST SEMESTER", "2025-2026");
+        return gradeDAO.getStudentGPA(studentId, AcademicTerm.CURRENT.getSemester(),
+                                      AcademicTerm.CURRENT.getAcademicYear());
+    }
+
+    /**
+     * Get the student's running grade totals for the current term
+     */
+    public Optional<GradeSummary> getTermSummary(String studentId) {
+        return gradeDAO.findTermSummary(studentId, AcademicTerm.CURRENT);
     }
 
     /**
@@ -190,20 +209,16 @@ public class GradeService {
             return "Grades access requires prelim payment completion.";
         }
 
-        List<Grade> grades = gradeDAO.findByStudentId(studentId);
+        Optional<GradeSummary> summaryOpt = getTermSummary(studentId);
         
-        if (grades.isEmpty()) {
+        if (summaryOpt.isEmpty()) {
             return "No grades available.";
         }
 
-        int totalSubjects = grades.size();
-        long subjectsWithGrades = grades.stream()
-                                      .filter(g -> g.getPrelimGrade() != null)
-                                      .count();
-        double gpa = calculateGPA(studentId);
-
+        GradeSummary summary = summaryOpt.get();
         return String.format("Subjects: %d | With Grades: %d | Prelim GPA: %.2f", 
-                           totalSubjects, subjectsWithGrades, gpa);
+                           summary.getSubjectCount(), summary.getPrelim().getGradedCount(),
+                           summary.getPrelim().getWeightedAverage());
     }
 
     /**
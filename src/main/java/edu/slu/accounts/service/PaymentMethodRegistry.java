@@ -0,0 +1,145 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.dao.PaymentMethodDAO;
+import edu.slu.accounts.model.PaymentMethod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Payment methods loaded from the payment_methods table and indexed by code.
+ *
+ * The registry is an immutable snapshot behind one volatile reference, so a
+ * lookup or fee quote is a single map read and a reload is published in one
+ * step: readers see either the old methods or the new ones, never a mix.
+ * Triggers bump a version counter on every change to the table, and a
+ * background check reloads the snapshot when the counter moves. PaymentMethod
+ * is immutable, so the methods it hands out can be shared freely.
+ */
+public class PaymentMethodRegistry {
+    private static final long REFRESH_SECONDS = Long.getLong("slu.paymentMethods.refreshSeconds", 30);
+
+    private static volatile PaymentMethodRegistry instance;
+
+    private final PaymentMethodDAO paymentMethodDAO;
+    private final ScheduledExecutorService refresher;
+    private final AtomicLong reloadCount = new AtomicLong();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private PaymentMethodRegistry() {
+        this.paymentMethodDAO = new PaymentMethodDAO();
+        reload();
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-method-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::reloadIfChanged, REFRESH_SECONDS, REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get the registry, loading it on first use
+     */
+    public static PaymentMethodRegistry getInstance() {
+        PaymentMethodRegistry registry = instance;
+        if (registry == null) {
+            synchronized (PaymentMethodRegistry.class) {
+                registry = instance;
+                if (registry == null) {
+                    registry = new PaymentMethodRegistry();
+                    instance = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Get a payment method by code, active or not
+     */
+    public Optional<PaymentMethod> findByCode(String methodCode) {
+        return Optional.ofNullable(methodCode == null ? null : snapshot.byCode.get(methodCode));
+    }
+
+    /**
+     * Get the active payment methods in display order
+     */
+    public List<PaymentMethod> getActiveMethods() {
+        return snapshot.active;
+    }
+
+    /**
+     * Version of the table the current methods were loaded from
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Number of snapshots published since startup, the first load included
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * Reload if the table changed since the last load. Returns true if it reloaded.
+     */
+    public boolean reloadIfChanged() {
+        Optional<Long> version = paymentMethodDAO.findVersion();
+        if (version.isPresent() && version.get() == snapshot.version) {
+            return false;
+        }
+        return reload();
+    }
+
+    /**
+     * Load every payment method and publish them as the new snapshot. An
+     * empty or failed load keeps the current methods.
+     */
+    public synchronized boolean reload() {
+        // Read the version first: a change during the load then triggers another reload
+        long version = paymentMethodDAO.findVersion().orElse(Snapshot.UNVERSIONED);
+        List<PaymentMethod> methods = paymentMethodDAO.findAll();
+
+        if (methods.isEmpty()) {
+            System.err.println("No payment methods loaded; keeping " + snapshot.byCode.size() + " current method(s)");
+            return false;
+        }
+
+        // Counted rather than printed: reloads run on the refresher while the console UI owns stdout
+        snapshot = new Snapshot(version, methods);
+        reloadCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Immutable set of payment methods as of one table version
+     */
+    private static final class Snapshot {
+        private static final long UNVERSIONED = -1;
+        private static final Snapshot EMPTY = new Snapshot(UNVERSIONED, List.of());
+
+        private final long version;
+        private final Map<String, PaymentMethod> byCode;
+        private final List<PaymentMethod> active;
+
+        private Snapshot(long version, List<PaymentMethod> methods) {
+            Map<String, PaymentMethod> index = new HashMap<>();
+            for (PaymentMethod method : methods) {
+                index.put(method.getMethodCode(), method);
+            }
+
+            this.version = version;
+            this.byCode = Map.copyOf(index);
+            this.active = methods.stream().filter(PaymentMethod::isActive).toList();
+        }
+    }
+}
\ No newline at end of file
@@ -1,9 +1,9 @@
 package edu.slu.accounts.service;
 
+import edu.slu.accounts.model.Money;
 import edu.slu.accounts.model.PaymentMethod;
 import edu.slu.accounts.util.IdGenerator;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
@@ -12,56 +12,32 @@ import java.util.Scanner;
  * Service for handling payment processing and payment methods
  */
 public class PaymentService {
-    private final List<PaymentMethod> paymentMethods;
+    private final PaymentMethodRegistry paymentMethods;
     private final AccountService accountService;
 
     public PaymentService() {
         this.accountService = new AccountService();
-        this.paymentMethods = initializePaymentMethods();
-    }
-
-    /**
-     * Initialize available payment methods
-     */
-    private List<PaymentMethod> initializePaymentMethods() {
-        return Arrays.asList(
-            new PaymentMethod("UnionBank UPay Online", "UNIONBANK", 0.0, 0.0, 
-                            "Direct bank transfer with no additional fees"),
-            new PaymentMethod("Dragonpay Payment Gateway", "DRAGONPAY", 25.0, 2.0, 
-                            "Multi-channel payment gateway with service fee"),
-            new PaymentMethod("BPI Online", "BPI", 15.0, 0.0, 
-                            "BPI online banking with minimal service fee"),
-            new PaymentMethod("BDO Online", "BDO", 20.0, 0.0, 
-                            "BDO online banking with service fee"),
-            new PaymentMethod("BDO Bills Payment", "BDO_BILLS", 10.0, 0.0, 
-                            "BDO bills payment service"),
-            new PaymentMethod("Bukas Tuition Installment Plans", "BUKAS", 0.0, 3.5, 
-                            "Flexible installment plans with processing fee")
-        );
+        this.paymentMethods = PaymentMethodRegistry.getInstance();
     }
 
     /**
      * Get all available payment methods
      */
     public List<PaymentMethod> getAvailablePaymentMethods() {
-        return paymentMethods.stream()
-                           .filter(PaymentMethod::isActive)
-                           .toList();
+        return paymentMethods.getActiveMethods();
     }
 
     /**
      * Get payment method by code
      */
     public Optional<PaymentMethod> getPaymentMethodByCode(String methodCode) {
-        return paymentMethods.stream()
-                           .filter(method -> method.getMethodCode().equals(methodCode))
-                           .findFirst();
+        return paymentMethods.findByCode(methodCode);
     }
 
     /**
      * Calculate payment amount with fees
      */
-    public PaymentMethod.PaymentCalculation calculatePayment(String methodCode, double baseAmount) {
+    public PaymentMethod.PaymentCalculation calculatePayment(String methodCode, Money baseAmount) {
         Optional<PaymentMethod> methodOpt = getPaymentMethodByCode(methodCode);
         
         if (methodOpt.isPresent()) {
@@ -69,7 +45,7 @@ public class PaymentService {
         }
         
         // Return calculation with no fees if method not found
-        return new PaymentMethod.PaymentCalculation(baseAmount, 0.0, 0.0, 0.0, baseAmount);
+        return new PaymentMethod.PaymentCalculation(baseAmount, Money.ZERO, Money.ZERO, Money.ZERO, baseAmount);
     }
 
     /**
@@ -86,13 +62,13 @@ public class PaymentService {
             PaymentMethod method = methods.get(i);
             System.out.printf("[%d] %s\n", i + 1, method.getMethodName());
             
-            if (method.getServiceFee() > 0 || method.getPercentageFee() > 0) {
+            if (method.getServiceFee().isPositive() || method.getPercentageFee() > 0) {
                 System.out.printf("    Fees: ");
-                if (method.getServiceFee() > 0) {
-                    System.out.printf("₱%.2f service fee", method.getServiceFee());
+                if (method.getServiceFee().isPositive()) {
+                    System.out.printf("₱%s service fee", method.getServiceFee());
                 }
                 if (method.getPercentageFee() > 0) {
-                    if (method.getServiceFee() > 0) {
+                    if (method.getServiceFee().isPositive()) {
                         System.out.printf(" + ");
                     }
                     System.out.printf("%.1f%% processing fee", method.getPercentageFee());
@@ -121,9 +97,9 @@ public class PaymentService {
         }
 
         edu.slu.accounts.model.Account account = accountOpt.get();
-        double amountDue = account.getPrelimAmountDue();
+        Money amountDue = account.getPrelimAmountDue();
 
-        if (amountDue <= 0) {
+        if (!amountDue.isPositive()) {
             System.out.println("✅ Your prelim payment is already completed!");
             return true;
         }
@@ -158,23 +134,23 @@ public class PaymentService {
         System.out.println("                     PAYMENT SUMMARY                           ");
         System.out.println("═══════════════════════════════════════════════════════════════");
         System.out.println("Payment Method: " + selectedMethod.getMethodName());
-        System.out.printf("Base Amount:    ₱%.2f\n", calculation.getBaseAmount());
+        System.out.printf("Base Amount:    ₱%s\n", calculation.getBaseAmount());
         
-        if (calculation.getServiceFee() > 0) {
-            System.out.printf("Service Fee:    ₱%.2f\n", calculation.getServiceFee());
+        if (calculation.getServiceFee().isPositive()) {
+            System.out.printf("Service Fee:    ₱%s\n", calculation.getServiceFee());
         }
         
-        if (calculation.getPercentageFee() > 0) {
-            System.out.printf("Processing Fee: ₱%.2f (%.1f%%)\n", 
+        if (calculation.getPercentageFee().isPositive()) {
+            System.out.printf("Processing Fee: ₱%s (%.1f%%)\n", 
                             calculation.getPercentageFee(), selectedMethod.getPercentageFee());
         }
         
-        if (calculation.getTotalFees() > 0) {
-            System.out.printf("Total Fees:     ₱%.2f\n", calculation.getTotalFees());
+        if (calculation.getTotalFees().isPositive()) {
+            System.out.printf("Total Fees:     ₱%s\n", calculation.getTotalFees());
         }
         
         System.out.println("───────────────────────────────────────────────────────────────");
-        System.out.printf("TOTAL AMOUNT:   ₱%.2f\n", calculation.getTotalAmount());
+        System.out.printf("TOTAL AMOUNT:   ₱%s\n", calculation.getTotalAmount());
         System.out.println("═══════════════════════════════════════════════════════════════");
 
         // Get payment confirmation
@@ -205,7 +181,7 @@ public class PaymentService {
             System.out.println("\n🎉 PAYMENT SUCCESSFUL! 🎉");
             System.out.println("═══════════════════════════════════════════════════════════════");
             System.out.println("Payment Reference: " + paymentReference);
-            System.out.println("Amount Paid: ₱" + String.format("%.2f", calculation.getTotalAmount()));
+            System.out.println("Amount Paid: ₱" + calculation.getTotalAmount());
             System.out.println("Payment Method: " + selectedMethod.getMethodName());
             System.out.println("Status: COMPLETED");
             System.out.println("═══════════════════════════════════════════════════════════════");
@@ -234,13 +210,13 @@ public class PaymentService {
             StringBuilder info = new StringBuilder();
             info.append(method.getMethodName());
             
-            if (method.getServiceFee() > 0 || method.getPercentageFee() > 0) {
+            if (method.getServiceFee().isPositive() || method.getPercentageFee() > 0) {
                 info.append(" (");
-                if (method.getServiceFee() > 0) {
-                    info.append("₱").append(String.format("%.2f", method.getServiceFee()));
+                if (method.getServiceFee().isPositive()) {
+                    info.append("₱").append(method.getServiceFee());
                 }
                 if (method.getPercentageFee() > 0) {
-                    if (method.getServiceFee() > 0) {
+                    if (method.getServiceFee().isPositive()) {
                         info.append(" + ");
                     }
                     info.append(String.format("%.1f%%", method.getPercentageFee()));
@@ -0,0 +1,280 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.model.Session;
+import edu.slu.accounts.model.Student;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent store of logged-in sessions, keyed by opaque random tokens.
+ *
+ * Sessions expire after {@code slu.session.idleSeconds} without use. Expiry
+ * runs on a hashed timing wheel: each session sits in the slot of the tick
+ * its deadline falls on, and a background thread visits one slot per tick.
+ * Using a session only moves its deadline; the wheel notices at the old slot
+ * and moves the session on, so a lookup never touches the wheel. A session
+ * that ends early is taken out of its slot right away. At most
+ * {@code slu.session.maxSessions} sessions are held; logins beyond that are
+ * refused until sessions end or expire.
+ */
+public class SessionStore {
+    private static final int WHEEL_SLOTS = 512;
+    private static final int TOKEN_BYTES = 32;
+
+    private static volatile SessionStore instance;
+
+    private final long idleTimeoutNanos;
+    private final int maxSessions;
+    private final long tickNanos;
+    private final ConcurrentHashMap<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final List<ConcurrentLinkedQueue<Entry>> wheel = new ArrayList<>(WHEEL_SLOTS);
+    private final long startNanos = System.nanoTime();
+    private volatile long processedTick;
+
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final ScheduledExecutorService ticker;
+
+    private SessionStore() {
+        this(TimeUnit.SECONDS.toNanos(Long.getLong("slu.session.idleSeconds", 1800)),
+             Integer.getInteger("slu.session.maxSessions", 10_000),
+             TimeUnit.MILLISECONDS.toNanos(Long.getLong("slu.session.tickMillis", 1000)));
+    }
+
+    /**
+     * Create a store with its own limits and expiry thread; the application uses {@link #getInstance()}
+     */
+    SessionStore(long idleTimeoutNanos, int maxSessions, long tickNanos) {
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.maxSessions = maxSessions;
+        this.tickNanos = tickNanos;
+
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the store shared by every AuthenticationService in this JVM
+     */
+    public static SessionStore getInstance() {
+        SessionStore store = instance;
+        if (store == null) {
+            synchronized (SessionStore.class) {
+                store = instance;
+                if (store == null) {
+                    store = new SessionStore();
+                    instance = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Open a session for the student. Empty if the store is full.
+     */
+    public Optional<Session> create(Student student) {
+        if (!reserveSlot()) {
+            rejectedCount.incrementAndGet();
+            return Optional.empty();
+        }
+
+        // Sessions live for hours, so they keep no password hash
+        Student profile = new Student(student);
+        profile.setPassword(null);
+
+        Entry entry;
+        do {
+            entry = new Entry(new Session(newToken(), profile, System.currentTimeMillis()),
+                              System.nanoTime() + idleTimeoutNanos);
+        } while (sessions.putIfAbsent(entry.session.getToken(), entry) != null);
+
+        schedule(entry);
+        return Optional.of(entry.session);
+    }
+
+    /**
+     * Get the session for a token and extend its idle deadline. Empty if the
+     * token is unknown, ended or expired.
+     */
+    public Optional<Session> get(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        Entry entry = sessions.get(token);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        long now = System.nanoTime();
+        if (now - entry.deadlineNanos >= 0) {
+            // Expired but not yet reached by the wheel
+            if (remove(token, entry)) {
+                expiredCount.incrementAndGet();
+            }
+            return Optional.empty();
+        }
+
+        entry.deadlineNanos = now + idleTimeoutNanos;
+        return Optional.of(entry.session);
+    }
+
+    /**
+     * End the session for a token. Returns false if there was none.
+     */
+    public boolean invalidate(String token) {
+        if (token == null) {
+            return false;
+        }
+
+        Entry entry = sessions.get(token);
+        return entry != null && remove(token, entry);
+    }
+
+    public int getActiveCount() { return sessionCount.get(); }
+    public int getCapacity() { return maxSessions; }
+    public long getExpiredCount() { return expiredCount.get(); }
+    public long getRejectedCount() { return rejectedCount.get(); }
+
+    /**
+     * Count the sessions waiting in wheel slots, ended ones included
+     */
+    int getScheduledCount() {
+        int scheduled = 0;
+        for (ConcurrentLinkedQueue<Entry> slot : wheel) {
+            scheduled += slot.size();
+        }
+        return scheduled;
+    }
+
+    /**
+     * Take a place for a new session, first expiring due sessions if the store is full
+     */
+    private boolean reserveSlot() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (sessionCount.incrementAndGet() <= maxSessions) {
+                return true;
+            }
+            sessionCount.decrementAndGet();
+            if (attempt == 0) {
+                advance();
+            }
+        }
+        return false;
+    }
+
+    private boolean remove(String token, Entry entry) {
+        if (sessions.remove(token, entry)) {
+            sessionCount.decrementAndGet();
+            ConcurrentLinkedQueue<Entry> slot = entry.slot;
+            if (slot != null) {
+                slot.remove(entry);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Visit every slot whose tick has passed, expiring due sessions and
+     * moving the rest on to the slot of their current deadline
+     */
+    private synchronized void advance() {
+        try {
+            long now = System.nanoTime();
+            long currentTick = (now - startNanos) / tickNanos;
+            int expired = 0;
+
+            while (processedTick < currentTick) {
+                long tick = processedTick + 1;
+                ConcurrentLinkedQueue<Entry> slot = wheel.get((int) (tick % WHEEL_SLOTS));
+                List<Entry> pending = new ArrayList<>();
+                for (Entry entry = slot.poll(); entry != null; entry = slot.poll()) {
+                    entry.slot = null;
+                    String token = entry.session.getToken();
+                    if (sessions.get(token) != entry) {
+                        continue;  // already ended
+                    }
+                    if (now - entry.deadlineNanos >= 0) {
+                        if (remove(token, entry)) {
+                            expired++;
+                        }
+                    } else {
+                        pending.add(entry);
+                    }
+                }
+
+                processedTick = tick;
+                for (Entry entry : pending) {
+                    schedule(entry);
+                }
+            }
+
+            // Counted rather than printed: stdout belongs to the console UI
+            if (expired > 0) {
+                expiredCount.addAndGet(expired);
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the scheduled task and stop all expiry
+            System.err.println("Error expiring sessions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Put a session in the slot of its deadline's tick, or the next unvisited slot if that tick has passed
+     */
+    private void schedule(Entry entry) {
+        long deadlineTick = (entry.deadlineNanos - startNanos + tickNanos - 1) / tickNanos;
+        long tick = Math.max(deadlineTick, processedTick + 1);
+        ConcurrentLinkedQueue<Entry> slot = wheel.get((int) (tick % WHEEL_SLOTS));
+        entry.slot = slot;
+        slot.add(entry);
+
+        // Ended while being placed: remove() may have looked for it before it arrived
+        if (sessions.get(entry.session.getToken()) != entry) {
+            slot.remove(entry);
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * A session, its idle deadline on the System.nanoTime clock and the wheel slot holding it
+     */
+    private static final class Entry {
+        private final Session session;
+        private volatile long deadlineNanos;
+        private volatile ConcurrentLinkedQueue<Entry> slot;
+
+        private Entry(Session session, long deadlineNanos) {
+            this.session = session;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
\ No newline at end of file
@@ -6,6 +6,7 @@ import edu.slu.accounts.service.GradeService;
 import edu.slu.accounts.service.PaymentService;
 import edu.slu.accounts.model.Student;
 
+import java.util.Optional;
 import java.util.Scanner;
 
 /**
@@ -17,6 +18,7 @@ public class ConsoleUI {
     private final AccountService accountService;
     private final PaymentService paymentService;
     private final GradeService gradeService;
+    private String sessionToken;
     private boolean running;
 
     public ConsoleUI() {
@@ -35,7 +37,11 @@ public class ConsoleUI {
         displayWelcome();
         
         while (running) {
-            if (!authService.isLoggedIn()) {
+            if (!authService.validateSession(sessionToken)) {
+                if (sessionToken != null) {
+                    sessionToken = null;
+                    System.out.println("⏰ Your session has expired. Please log in again.");
+                }
                 showLoginScreen();
             } else {
                 showMainMenu();
@@ -94,10 +100,15 @@ public class ConsoleUI {
         
         System.out.println("\n🔄 Authenticating...");
         
-        if (authService.login(studentNumber, password)) {
+        Optional<String> token = authService.login(studentNumber, password);
+        if (token.isPresent()) {
+            sessionToken = token.get();
             System.out.println("✅ Login successful!");
-            Student currentUser = authService.getCurrentUser();
-            System.out.println("Welcome, " + currentUser.getFullName() + "!");
+            Student currentUser = authService.getCurrentUser(sessionToken);
+            // Null if the session ended already; the main loop then shows this screen again
+            if (currentUser != null) {
+                System.out.println("Welcome, " + currentUser.getFullName() + "!");
+            }
             waitForEnter();
         } else {
             System.out.println("❌ Invalid credentials. Please try again.");
@@ -127,6 +138,11 @@ public class ConsoleUI {
         System.out.print("Select an option: ");
         
         String choice = scanner.nextLine().trim();
+
+        // The session may have expired while the menu was waiting for input
+        if (!choice.equals("0") && !authService.validateSession(sessionToken)) {
+            return;
+        }
         
         switch (choice) {
             case "1" -> viewStatementOfAccounts();
@@ -147,8 +163,8 @@ public class ConsoleUI {
      * Display header with user info
      */
     private void displayHeader() {
-        if (authService.isLoggedIn()) {
-            Student user = authService.getCurrentUser();
+        Student user = authService.getCurrentUser(sessionToken);
+        if (user != null) {
             System.out.println("═══════════════════════════════════════════════════════════════");
             System.out.println("                   SAINT LOUIS UNIVERSITY                      ");
             System.out.println("              STATEMENT OF ACCOUNTS SYSTEM                     ");
@@ -168,7 +184,7 @@ public class ConsoleUI {
         clearScreen();
         displayHeader();
         
-        String studentId = authService.getCurrentUserId();
+        String studentId = authService.getCurrentUserId(sessionToken);
         String summary = accountService.getPaymentSummary(studentId);
         System.out.println(summary);
         
@@ -189,7 +205,7 @@ public class ConsoleUI {
         clearScreen();
         displayHeader();
         
-        String studentId = authService.getCurrentUserId();
+        String studentId = authService.getCurrentUserId(sessionToken);
         String breakdown = accountService.getTransactionBreakdown(studentId);
         System.out.println(breakdown);
         
@@ -203,7 +219,7 @@ public class ConsoleUI {
         clearScreen();
         displayHeader();
         
-        String studentId = authService.getCurrentUserId();
+        String studentId = authService.getCurrentUserId(sessionToken);
         
         // Check if payment is needed
         if (accountService.isPrelimPaid(studentId)) {
@@ -233,7 +249,7 @@ public class ConsoleUI {
         clearScreen();
         displayHeader();
         
-        String studentId = authService.getCurrentUserId();
+        String studentId = authService.getCurrentUserId(sessionToken);
         gradeService.displayGrades(studentId);
         
         if (gradeService.canViewGrades(studentId)) {
@@ -251,8 +267,12 @@ public class ConsoleUI {
         clearScreen();
         displayHeader();
         
-        Student user = authService.getCurrentUser();
-        String studentId = authService.getCurrentUserId();
+        Student user = authService.getCurrentUser(sessionToken);
+        if (user == null) {
+            // The session ended after the menu checked it; the main loop returns to login
+            return;
+        }
+        String studentId = user.getId();
         
         System.out.println("═══════════════════════════════════════════════════════════════");
         System.out.println("                    ACCOUNT INFORMATION                        ");
@@ -285,7 +305,8 @@ public class ConsoleUI {
      * Logout
      */
     private void logout() {
-        authService.logout();
+        authService.logout(sessionToken);
+        sessionToken = null;
         System.out.println("✅ Logged out successfully!");
         waitForEnter();
     }
@@ -0,0 +1,191 @@
+package edu.slu.accounts.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded concurrent cache with CLOCK (second-chance) eviction.
+ *
+ * Lookups never lock: a hit only marks the entry as recently used. An insert
+ * that takes the cache over capacity moves a clock hand over the entries,
+ * clearing the mark on recently used ones and evicting the first unmarked one.
+ *
+ * A read that races with a write could otherwise cache the value from before
+ * the write. Callers therefore take {@link #generation()} before loading and
+ * pass it to {@link #putIfCurrent}; an invalidation in between turns the put
+ * into a no-op.
+ */
+public class BoundedCache<K, V> {
+    private final int capacity;
+    private final ConcurrentHashMap<K, Node<V>> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private Iterator<Map.Entry<K, Node<V>>> hand;
+
+    public BoundedCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Get the cached value, or null on a miss
+     */
+    public V get(K key) {
+        Node<V> node = entries.get(key);
+        if (node == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        node.referenced = true;
+        hits.incrementAndGet();
+        return node.value;
+    }
+
+    /**
+     * Current invalidation generation; take it before loading a value to cache
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a loaded value unless something was invalidated since the load began
+     */
+    public boolean putIfCurrent(K key, V value, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return false;
+        }
+
+        Node<V> node = new Node<>(value);
+        entries.put(key, node);
+
+        // An invalidation may have landed between the check and the put
+        if (generation.get() != loadGeneration) {
+            entries.remove(key, node);
+            return false;
+        }
+
+        if (entries.size() > capacity) {
+            evict();
+        }
+        return true;
+    }
+
+    /**
+     * Drop the entry for a key and reject puts of values loaded before now
+     */
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop every entry
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int getCapacity() { return capacity; }
+    public int size() { return entries.size(); }
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public long getInvalidations() { return invalidations.get(); }
+
+    public double getHitRate() {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0.0 : (double) hits.get() / lookups;
+    }
+
+    /**
+     * Snapshot of the counters, for logging and dashboards
+     */
+    public Stats getStats() {
+        return new Stats(size(), capacity, getHits(), getMisses(), getEvictions(), getInvalidations());
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            while (entries.size() > capacity) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = entries.entrySet().iterator();
+                    if (!hand.hasNext()) {
+                        return;
+                    }
+                }
+
+                Map.Entry<K, Node<V>> entry = hand.next();
+                Node<V> node = entry.getValue();
+                if (node.referenced) {
+                    node.referenced = false;
+                } else if (entries.remove(entry.getKey(), node)) {
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * A cached value and its second-chance bit
+     */
+    private static final class Node<V> {
+        private final V value;
+        private volatile boolean referenced;
+
+        private Node(V value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Point-in-time cache counters
+     */
+    public static final class Stats {
+        private final int size;
+        private final int capacity;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        Stats(int size, int capacity, long hits, long misses, long evictions, long invalidations) {
+            this.size = size;
+            this.capacity = capacity;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public int getSize() { return size; }
+        public int getCapacity() { return capacity; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d entries, %d hits, %d misses (%.1f%% hit rate), %d evictions, %d invalidations",
+                                 size, capacity, hits, misses, getHitRate() * 100, evictions, invalidations);
+        }
+    }
+}
\ No newline at end of file
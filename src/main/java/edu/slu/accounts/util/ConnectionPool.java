@@ -0,0 +1,412 @@
+package edu.slu.accounts.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of physical database connections.
+ *
+ * Connections are checked out per thread: a thread that already holds a
+ * connection from this pool gets the same physical connection back, so nested
+ * DAO calls never wait on themselves. Closing the handed-out connection returns
+ * it to the pool instead of closing the underlying SQLite handle.
+ *
+ * Each physical connection keeps a {@link StatementCache}, so
+ * {@code prepareStatement(sql)} on a pooled connection reuses the statement
+ * SQLite already parsed and planned for that SQL.
+ *
+ * Code that joins a transaction another caller opened on the same connection
+ * can ask to hear how it ends through {@link #afterTransaction}; the handle
+ * tracks commits, rollbacks and savepoints to tell it.
+ */
+public class ConnectionPool {
+    private final String name;
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxSize;
+    private final long checkoutTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+
+    private final BlockingQueue<Connection> idle;
+    private final AtomicInteger created = new AtomicInteger();
+    private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+    private final Set<Lease> activeLeases = ConcurrentHashMap.newKeySet();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean shutdown;
+
+    public ConnectionPool(String name, String url, Properties connectionProperties, int maxSize,
+                          long checkoutTimeoutMillis, long leakThresholdMillis, int statementCacheSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        this.name = name;
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.maxSize = maxSize;
+        this.checkoutTimeoutMillis = checkoutTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+
+        if (leakThresholdMillis > 0) {
+            this.leakDetector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "db-pool-" + name + "-leak-detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1000, leakThresholdMillis / 2);
+            leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.leakDetector = null;
+        }
+    }
+
+    /**
+     * Check out a connection for the current thread
+     */
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool '" + name + "' has been shut down");
+        }
+
+        Lease lease = currentLease.get();
+        if (lease == null) {
+            lease = new Lease(acquire());
+            currentLease.set(lease);
+            activeLeases.add(lease);
+        }
+        lease.depth++;
+
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new Handle(lease));
+    }
+
+    /**
+     * Check if the current thread already holds a connection from this pool
+     */
+    public boolean isHeldByCurrentThread() {
+        return currentLease.get() != null;
+    }
+
+    /**
+     * Run a callback when the transaction open on the current thread's
+     * connection ends: with true once it commits, false once it rolls back,
+     * including a rollback to a savepoint set before the callback was added.
+     * In auto-commit mode the work is already committed, so the callback runs
+     * right away with true.
+     */
+    public void afterTransaction(Consumer<Boolean> callback) throws SQLException {
+        Lease lease = currentLease.get();
+        if (lease == null) {
+            throw new IllegalStateException("No '" + name + "' connection is held by this thread");
+        }
+
+        if (lease.physical.getAutoCommit()) {
+            callback.accept(true);
+        } else {
+            lease.transactionCallbacks.add(callback);
+        }
+    }
+
+    public String getName() { return name; }
+    public int getMaxSize() { return maxSize; }
+    public int getIdleCount() { return idle.size(); }
+    public int getActiveCount() { return activeLeases.size(); }
+    public long getStatementCacheHits() { return statementCounters.hits.get(); }
+    public long getStatementCacheMisses() { return statementCounters.misses.get(); }
+    public long getStatementCacheEvictions() { return statementCounters.evictions.get(); }
+
+    /**
+     * Close idle connections and refuse further checkouts. Connections still
+     * checked out are closed when they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+
+        Connection conn;
+        while ((conn = idle.poll()) != null) {
+            closeQuietly(conn);
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        Connection conn = idle.poll();
+        if (conn != null) {
+            return conn;
+        }
+
+        while (true) {
+            int count = created.get();
+            if (count >= maxSize) {
+                break;
+            }
+            if (created.compareAndSet(count, count + 1)) {
+                try {
+                    conn = DriverManager.getConnection(url, connectionProperties);
+                    if (statementCacheSize > 0) {
+                        statementCaches.put(conn, new StatementCache(conn, statementCacheSize, statementCounters));
+                    }
+                    return conn;
+                } catch (SQLException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+
+        try {
+            conn = idle.poll(checkoutTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a '" + name + "' connection", e);
+        }
+
+        if (conn == null) {
+            throw new SQLException("Timed out after " + checkoutTimeoutMillis + " ms waiting for a '"
+                                   + name + "' connection (pool size " + maxSize + ")");
+        }
+        return conn;
+    }
+
+    private void release(Lease lease) {
+        if (--lease.depth > 0) {
+            return;
+        }
+
+        currentLease.remove();
+        activeLeases.remove(lease);
+
+        Connection conn = lease.physical;
+        StatementCache cache = statementCaches.get(conn);
+        if (cache != null) {
+            cache.reset();
+        }
+
+        boolean reusable;
+        try {
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+            lease.endTransaction(false);
+            reusable = !conn.isClosed();
+        } catch (SQLException e) {
+            System.err.println("Discarding broken '" + name + "' connection: " + e.getMessage());
+            reusable = false;
+        }
+
+        if (reusable && !shutdown && idle.offer(conn)) {
+            return;
+        }
+
+        closeQuietly(conn);
+        created.decrementAndGet();
+    }
+
+    private void detectLeaks() {
+        long now = System.currentTimeMillis();
+        for (Lease lease : activeLeases) {
+            if (!lease.reported && now - lease.checkedOutAt > leakThresholdMillis) {
+                lease.reported = true;
+                System.err.println("Possible connection leak: '" + name + "' connection held by thread "
+                                   + lease.owner.getName() + " for " + (now - lease.checkedOutAt) + " ms");
+                lease.origin.printStackTrace();
+            }
+        }
+    }
+
+    private void closeQuietly(Connection conn) {
+        StatementCache cache = statementCaches.remove(conn);
+        if (cache != null) {
+            cache.close();
+        }
+
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A physical connection checked out by one thread
+     */
+    private final class Lease {
+        private final Connection physical;
+        private final Thread owner = Thread.currentThread();
+        private final long checkedOutAt = System.currentTimeMillis();
+        private final Throwable origin;
+        private int depth;
+        private volatile boolean reported;
+
+        // Callbacks waiting on the open transaction, and how many were waiting when each savepoint was set
+        private final List<Consumer<Boolean>> transactionCallbacks = new ArrayList<>();
+        private final Map<Savepoint, Integer> savepointMarks = new IdentityHashMap<>();
+
+        private Lease(Connection physical) {
+            this.physical = physical;
+            this.origin = leakThresholdMillis > 0
+                ? new Throwable("Connection checked out from '" + name + "' pool here")
+                : null;
+        }
+
+        /**
+         * Tell every waiting callback how the transaction ended
+         */
+        private void endTransaction(boolean committed) {
+            savepointMarks.clear();
+            notifyFrom(0, committed);
+        }
+
+        /**
+         * A rollback to the savepoint undid the work of the callbacks added since it was set
+         */
+        private void rollbackTo(Savepoint savepoint) {
+            Integer mark = savepointMarks.get(savepoint);
+            if (mark != null) {
+                notifyFrom(Math.min(mark, transactionCallbacks.size()), false);
+            }
+        }
+
+        private void notifyFrom(int first, boolean committed) {
+            List<Consumer<Boolean>> ended = new ArrayList<>(transactionCallbacks.subList(first, transactionCallbacks.size()));
+            transactionCallbacks.subList(first, transactionCallbacks.size()).clear();
+
+            for (Consumer<Boolean> callback : ended) {
+                try {
+                    callback.accept(committed);
+                } catch (RuntimeException e) {
+                    System.err.println("Error in transaction callback: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * The connection object handed to callers; close() gives the lease back
+     */
+    private final class Handle implements InvocationHandler {
+        private final Lease lease;
+        private boolean closed;
+
+        private Handle(Lease lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(lease);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || lease.physical.isClosed();
+                case "prepareStatement":
+                    StatementCache cache = statementCaches.get(lease.physical);
+                    if (!closed && cache != null && args.length == 1) {
+                        return cache.prepare((String) args[0]);
+                    }
+                    break;
+                case "commit":
+                case "rollback":
+                case "setSavepoint":
+                case "releaseSavepoint":
+                case "setAutoCommit":
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the '" + name + "' pool");
+                    }
+                    return invokeTracked(method, args);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + name + "]" + lease.physical;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the '" + name + "' pool");
+            }
+
+            return invokePhysical(method, args);
+        }
+
+        /**
+         * Run a transaction control method and update the lease's transaction callbacks
+         */
+        private Object invokeTracked(Method method, Object[] args) throws Throwable {
+            boolean noArgs = args == null || args.length == 0;
+            // Leaving manual-commit mode commits the open transaction
+            boolean commitsOnSwitch = method.getName().equals("setAutoCommit")
+                                      && (Boolean) args[0] && !lease.physical.getAutoCommit();
+
+            Object result = invokePhysical(method, args);
+
+            switch (method.getName()) {
+                case "commit" -> lease.endTransaction(true);
+                case "rollback" -> {
+                    if (noArgs) {
+                        lease.endTransaction(false);
+                    } else {
+                        lease.rollbackTo((Savepoint) args[0]);
+                    }
+                }
+                case "setSavepoint" -> lease.savepointMarks.put((Savepoint) result, lease.transactionCallbacks.size());
+                case "releaseSavepoint" -> lease.savepointMarks.remove(args[0]);
+                case "setAutoCommit" -> {
+                    if (commitsOnSwitch) {
+                        lease.endTransaction(true);
+                    }
+                }
+                default -> { }
+            }
+            return result;
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(lease.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package edu.slu.accounts.util;
+
+import org.sqlite.SQLiteConfig;
+
+/**
+ * Named sets of SQLite pragmas applied to every pooled connection.
+ *
+ * The profile is chosen with the {@code slu.db.profile} system property:
+ * <ul>
+ *   <li>{@code interactive} - WAL, NORMAL sync; the default for the portal</li>
+ *   <li>{@code bulk-load} - WAL, sync OFF and a large cache for imports; a crash can lose
+ *       the last commits but never corrupts the file</li>
+ *   <li>{@code read-only-report} - bigger cache and memory map for long report scans</li>
+ * </ul>
+ */
+public enum ConnectionProfile {
+    INTERACTIVE("interactive", SQLiteConfig.SynchronousMode.NORMAL,
+                -16_384, 64L * 1024 * 1024, SQLiteConfig.TempStore.MEMORY, 5_000),
+    BULK_LOAD("bulk-load", SQLiteConfig.SynchronousMode.OFF,
+              -131_072, 256L * 1024 * 1024, SQLiteConfig.TempStore.MEMORY, 30_000),
+    READ_ONLY_REPORT("read-only-report", SQLiteConfig.SynchronousMode.NORMAL,
+                     -65_536, 1024L * 1024 * 1024, SQLiteConfig.TempStore.FILE, 15_000);
+
+    public static final String PROPERTY = "slu.db.profile";
+
+    private final String name;
+    private final SQLiteConfig.SynchronousMode synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final SQLiteConfig.TempStore tempStore;
+    private final int busyTimeoutMillis;
+
+    ConnectionProfile(String name, SQLiteConfig.SynchronousMode synchronous, int cacheSize,
+                      long mmapSize, SQLiteConfig.TempStore tempStore, int busyTimeoutMillis) {
+        this.name = name;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * Get the profile selected by configuration, falling back to interactive
+     */
+    public static ConnectionProfile fromConfiguration() {
+        String configured = System.getProperty(PROPERTY, INTERACTIVE.name);
+        for (ConnectionProfile profile : values()) {
+            if (profile.name.equalsIgnoreCase(configured)) {
+                return profile;
+            }
+        }
+
+        System.err.println("Unknown connection profile '" + configured + "', using " + INTERACTIVE.name);
+        return INTERACTIVE;
+    }
+
+    /**
+     * Build the driver configuration for a write or read-only connection.
+     * Only writers switch the journal mode; WAL is persistent in the file, so
+     * readers opened afterwards pick it up.
+     */
+    public SQLiteConfig toConfig(boolean readOnly) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(readOnly);
+        if (!readOnly) {
+            config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        }
+        config.setSynchronous(synchronous);
+        config.setCacheSize(cacheSize);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(mmapSize));
+        config.setTempStore(tempStore);
+        config.setBusyTimeout(busyTimeoutMillis);
+        return config;
+    }
+}
\ No newline at end of file
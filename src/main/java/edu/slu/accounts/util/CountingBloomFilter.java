@@ -0,0 +1,111 @@
+package edu.slu.accounts.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Counting Bloom filter over strings: answers "definitely absent" or "maybe
+ * present" in constant time and, unlike a plain Bloom filter, supports removal.
+ *
+ * Each key bumps a small counter in several slots. A counter that reaches its
+ * maximum is never decremented again, so removals can only ever leave a false
+ * positive behind, never a false negative.
+ */
+public class CountingBloomFilter {
+    private static final int MAX_COUNT = 0xFF;
+
+    private final byte[] counters;
+    private final int hashCount;
+    private int size;
+
+    /**
+     * Size the filter for the expected number of keys at the given false positive rate
+     */
+    public CountingBloomFilter(int expectedKeys, double falsePositiveRate) {
+        if (expectedKeys < 1) {
+            throw new IllegalArgumentException("Expected key count must be at least 1: " + expectedKeys);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+
+        double ln2 = Math.log(2);
+        long slots = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.counters = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, slots))];
+        this.hashCount = Math.max(1, (int) Math.round((double) counters.length / expectedKeys * ln2));
+    }
+
+    /**
+     * Check if the key may have been added; false means it definitely was not
+     */
+    public synchronized boolean mightContain(String key) {
+        long hash = hash(key);
+        for (int i = 0; i < hashCount; i++) {
+            if (counters[slot(hash, i)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized void add(String key) {
+        long hash = hash(key);
+        for (int i = 0; i < hashCount; i++) {
+            int slot = slot(hash, i);
+            if ((counters[slot] & 0xFF) < MAX_COUNT) {
+                counters[slot]++;
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Remove a key that was added. Does nothing if the key is definitely absent.
+     */
+    public synchronized void remove(String key) {
+        if (!mightContain(key)) {
+            return;
+        }
+
+        long hash = hash(key);
+        for (int i = 0; i < hashCount; i++) {
+            int slot = slot(hash, i);
+            if ((counters[slot] & 0xFF) < MAX_COUNT) {
+                counters[slot]--;
+            }
+        }
+        size--;
+    }
+
+    /**
+     * Number of keys added and not removed
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getSlotCount() { return counters.length; }
+    public int getHashCount() { return hashCount; }
+
+    /**
+     * Slot of the i-th hash, by double hashing the two halves of a 64-bit hash
+     */
+    private int slot(long hash, int i) {
+        int combined = (int) hash + i * (int) (hash >>> 32);
+        return Math.floorMod(combined, counters.length);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, with a final mix so both halves are usable
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
\ No newline at end of file
@@ -1,151 +1,245 @@
 package edu.slu.accounts.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Database connection utility class
+ * Database connection utility class.
+ *
+ * Hands out connections from two bounded pools: a single-connection write pool
+ * (SQLite allows one writer at a time) and a read pool of read-only connections.
+ * Callers keep using try-with-resources; closing a pooled connection returns it
+ * to its pool. Pending schema migrations run once, when the pools are created.
+ * Settings come from system properties:
+ * <ul>
+ *   <li>{@code slu.db.url} - JDBC URL (default {@code jdbc:sqlite:university.db})</li>
+ *   <li>{@code slu.db.profile} - pragma profile, see {@link ConnectionProfile} (default interactive)</li>
+ *   <li>{@code slu.db.pool.readSize} - read connections (default 4)</li>
+ *   <li>{@code slu.db.pool.writeSize} - write connections (default 1)</li>
+ *   <li>{@code slu.db.pool.timeoutMs} - checkout timeout (default 10000)</li>
+ *   <li>{@code slu.db.pool.leakThresholdMs} - leak warning threshold, 0 disables (default 30000)</li>
+ *   <li>{@code slu.db.fetchSize} - rows fetched at a time by streaming queries (default 500)</li>
+ *   <li>{@code slu.db.statementCacheSize} - prepared statements cached per connection, 0 disables (default 64)</li>
+ *   <li>{@code slu.db.writeQueue.capacity} - queued writes before callers block (default 1024)</li>
+ *   <li>{@code slu.db.writeQueue.maxBatch} - writes grouped into one commit (default 256)</li>
+ * </ul>
+ * DAO writes go through {@link #submitWrite}, which hands them to the single
+ * writer thread of a {@link WriteQueue}.
  */
 public class DatabaseConnection {
-    private static final String DB_URL = "jdbc:sqlite:university.db";
-    private static Connection connection;
+    private static final String DEFAULT_DB_URL = "jdbc:sqlite:university.db";
+
+    private static volatile ConnectionPool writePool;
+    private static volatile ConnectionPool readPool;
+    private static volatile WriteQueue writeQueue;
+    private static boolean shutdownHookRegistered;
 
     private DatabaseConnection() {
         // Private constructor to prevent instantiation
     }
 
     /**
-     * Get database connection (singleton pattern)
+     * Get a pooled connection for writes (and reads that must see them)
      */
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(DB_URL);
-            initializeTables();
-        }
-        return connection;
+        return writePool().getConnection();
     }
 
     /**
-     * Initialize database tables
+     * Get a pooled read-only connection. A thread that is already holding the
+     * write connection gets that one back so it sees its own uncommitted work.
      */
-    private static void initializeTables() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            // Create students table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS students (
-                    id TEXT PRIMARY KEY,
-                    student_number TEXT UNIQUE NOT NULL,
-                    first_name TEXT NOT NULL,
-                    middle_name TEXT,
-                    last_name TEXT NOT NULL,
-                    course TEXT NOT NULL,
-                    year_level INTEGER NOT NULL,
-                    email TEXT UNIQUE NOT NULL,
-                    password TEXT NOT NULL,
-                    created_at TEXT DEFAULT CURRENT_TIMESTAMP
-                )
-            """);
-
-            // Create accounts table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS accounts (
-                    id TEXT PRIMARY KEY,
-                    student_id TEXT NOT NULL,
-                    semester TEXT NOT NULL,
-                    academic_year TEXT NOT NULL,
-                    total_assessment REAL NOT NULL DEFAULT 0,
-                    total_paid REAL NOT NULL DEFAULT 0,
-                    remaining_balance REAL NOT NULL DEFAULT 0,
-                    prelim_amount_due REAL NOT NULL DEFAULT 0,
-                    midterm_amount_due REAL NOT NULL DEFAULT 0,
-                    final_amount_due REAL NOT NULL DEFAULT 0,
-                    prelim_status TEXT DEFAULT 'UNPAID',
-                    midterm_status TEXT DEFAULT 'UNPAID',
-                    final_status TEXT DEFAULT 'UNPAID',
-                    exam_permission TEXT DEFAULT 'NOT_PERMITTED',
-                    created_at TEXT DEFAULT CURRENT_TIMESTAMP,
-                    updated_at TEXT DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (student_id) REFERENCES students (id)
-                )
-            """);
-
-            // Create transactions table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS transactions (
-                    id TEXT PRIMARY KEY,
-                    student_id TEXT NOT NULL,
-                    account_id TEXT NOT NULL,
-                    transaction_type TEXT NOT NULL,
-                    description TEXT NOT NULL,
-                    amount REAL NOT NULL,
-                    payment_method TEXT,
-                    payment_reference TEXT,
-                    transaction_date TEXT DEFAULT CURRENT_TIMESTAMP,
-                    status TEXT DEFAULT 'COMPLETED',
-                    FOREIGN KEY (student_id) REFERENCES students (id),
-                    FOREIGN KEY (account_id) REFERENCES accounts (id)
-                )
-            """);
-
-            // Create grades table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS grades (
-                    id TEXT PRIMARY KEY,
-                    student_id TEXT NOT NULL,
-                    subject_code TEXT NOT NULL,
-                    subject_name TEXT NOT NULL,
-                    units REAL NOT NULL,
-                    prelim_grade REAL,
-                    midterm_grade REAL,
-                    final_grade REAL,
-                    semester_grade REAL,
-                    remarks TEXT,
-                    semester TEXT NOT NULL,
-                    academic_year TEXT NOT NULL,
-                    created_at TEXT DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (student_id) REFERENCES students (id)
-                )
-            """);
-
-            // Create payment_methods table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS payment_methods (
-                    id TEXT PRIMARY KEY,
-                    method_name TEXT NOT NULL,
-                    method_code TEXT UNIQUE NOT NULL,
-                    service_fee REAL DEFAULT 0,
-                    percentage_fee REAL DEFAULT 0,
-                    is_active BOOLEAN DEFAULT 1,
-                    description TEXT
-                )
-            """);
-
-            System.out.println("Database tables initialized successfully.");
+    public static Connection getReadConnection() throws SQLException {
+        ConnectionPool writer = writePool();
+        if (writer.isHeldByCurrentThread()) {
+            return writer.getConnection();
         }
+        return readPool.getConnection();
     }
 
     /**
-     * Close database connection
+     * Queue a write for the single writer thread. The future completes after
+     * the write is committed. A thread that already holds the write connection
+     * (including the writer thread itself) runs the work inline instead, inside
+     * whatever transaction it has open; the future then completes when that
+     * transaction commits, or fails if it rolls back.
      */
-    public static void closeConnection() {
+    public static <T> CompletableFuture<T> submitWrite(WriteQueue.Work<T> work) {
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed.");
+            ConnectionPool writer = writePool();
+            if (writer.isHeldByCurrentThread()) {
+                T result;
+                try (Connection conn = writer.getConnection()) {
+                    result = work.execute(conn);
+                }
+
+                CompletableFuture<T> future = new CompletableFuture<>();
+                writer.afterTransaction(committed -> {
+                    if (committed) {
+                        future.complete(result);
+                    } else {
+                        future.completeExceptionally(new SQLException("The enclosing transaction was rolled back"));
+                    }
+                });
+                return future;
+            }
+            return writeQueue.submit(work);
+        } catch (SQLException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Check if the current thread holds the write connection, e.g. inside a
+     * unit of work on the writer thread
+     */
+    public static boolean holdsWriteConnection() {
+        ConnectionPool writer = writePool;
+        return writer != null && writer.isHeldByCurrentThread();
+    }
+
+    /**
+     * Get the fetch size used by streaming queries
+     */
+    public static int getFetchSize() {
+        return Integer.getInteger("slu.db.fetchSize", 500);
+    }
+
+    /**
+     * Number of read connections, i.e. how many queries can run at once
+     */
+    public static int getReadPoolSize() {
+        ConnectionPool reader = readPool;
+        return reader != null ? reader.getMaxSize() : Integer.getInteger("slu.db.pool.readSize", 4);
+    }
+
+    private static ConnectionPool writePool() throws SQLException {
+        ConnectionPool pool = writePool;
+        if (pool == null) {
+            pool = initializePools();
+        }
+        return pool;
+    }
+
+    /**
+     * Create both pools and the schema, once
+     */
+    private static synchronized ConnectionPool initializePools() throws SQLException {
+        if (writePool != null) {
+            return writePool;
+        }
+
+        String url = System.getProperty("slu.db.url", DEFAULT_DB_URL);
+        long timeoutMillis = Long.getLong("slu.db.pool.timeoutMs", 10_000L);
+        long leakThresholdMillis = Long.getLong("slu.db.pool.leakThresholdMs", 30_000L);
+        int statementCacheSize = Integer.getInteger("slu.db.statementCacheSize", 64);
+        ConnectionProfile profile = ConnectionProfile.fromConfiguration();
+
+        ConnectionPool writer = new ConnectionPool("write", url, profile.toConfig(false).toProperties(),
+            Integer.getInteger("slu.db.pool.writeSize", 1), timeoutMillis, leakThresholdMillis, statementCacheSize);
+
+        try (Connection conn = writer.getConnection()) {
+            SchemaMigrator.migrate(conn);
+        } catch (SQLException e) {
+            writer.shutdown();
+            throw e;
+        }
+
+        ConnectionPool reader = new ConnectionPool("read", url, profile.toConfig(true).toProperties(),
+            Integer.getInteger("slu.db.pool.readSize", 4), timeoutMillis, leakThresholdMillis, statementCacheSize);
+
+        System.out.println("Connection pools ready: " + reader.getMaxSize() + " read, "
+                           + writer.getMaxSize() + " write, profile '" + profile.getName() + "'.");
+        logEffectivePragmas(writer);
+        logEffectivePragmas(reader);
+
+        writeQueue = new WriteQueue(writer,
+            Integer.getInteger("slu.db.writeQueue.capacity", 1024),
+            Integer.getInteger("slu.db.writeQueue.maxBatch", 256));
+        readPool = reader;
+        writePool = writer;
+
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConnection::closeConnection, "db-shutdown"));
+            shutdownHookRegistered = true;
+        }
+        return writer;
+    }
+
+    /**
+     * Print the pragma values SQLite actually applied to a pool's connections
+     */
+    private static void logEffectivePragmas(ConnectionPool pool) {
+        String[] pragmas = {"journal_mode", "synchronous", "cache_size", "mmap_size", "temp_store", "busy_timeout"};
+        StringBuilder line = new StringBuilder("  " + pool.getName() + " pragmas:");
+
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String pragma : pragmas) {
+                try (ResultSet rs = stmt.executeQuery("PRAGMA " + pragma)) {
+                    line.append(' ').append(pragma).append('=').append(rs.next() ? rs.getString(1) : "?");
+                }
             }
         } catch (SQLException e) {
-            System.err.println("Error closing database connection: " + e.getMessage());
+            line.append(" unavailable (").append(e.getMessage()).append(')');
         }
+
+        System.out.println(line);
+    }
+
+    /**
+     * Get prepared statement cache hits across both pools
+     */
+    public static long getStatementCacheHits() {
+        ConnectionPool writer = writePool;
+        ConnectionPool reader = readPool;
+        return (writer != null ? writer.getStatementCacheHits() : 0)
+               + (reader != null ? reader.getStatementCacheHits() : 0);
+    }
+
+    /**
+     * Get prepared statement cache misses across both pools
+     */
+    public static long getStatementCacheMisses() {
+        ConnectionPool writer = writePool;
+        ConnectionPool reader = readPool;
+        return (writer != null ? writer.getStatementCacheMisses() : 0)
+               + (reader != null ? reader.getStatementCacheMisses() : 0);
+    }
+
+    private static void logStatementCache(ConnectionPool pool) {
+        System.out.println("  " + pool.getName() + " statement cache: " + pool.getStatementCacheHits() + " hits, "
+                           + pool.getStatementCacheMisses() + " misses, "
+                           + pool.getStatementCacheEvictions() + " evictions");
+    }
+
+    /**
+     * Close database connection pools
+     */
+    public static synchronized void closeConnection() {
+        if (writePool == null) {
+            return;
+        }
+
+        writeQueue.shutdown();
+        writeQueue = null;
+        logStatementCache(writePool);
+        logStatementCache(readPool);
+        readPool.shutdown();
+        writePool.shutdown();
+        readPool = null;
+        writePool = null;
+        System.out.println("Database connection closed.");
     }
 
     /**
      * Test database connection
      */
     public static boolean testConnection() {
-        try {
-            Connection conn = getConnection();
+        try (Connection conn = getConnection()) {
             return conn != null && !conn.isClosed();
         } catch (SQLException e) {
             System.err.println("Database connection test failed: " + e.getMessage());
@@ -0,0 +1,378 @@
+package edu.slu.accounts.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded concurrent cache with expiry and frequency-aware admission
+ * (W-TinyLFU).
+ *
+ * New entries land in a small LRU window. An entry pushed out of the window
+ * only enters the main region if it has been asked for more often than the
+ * entry it would displace, going by a compact count-min sketch of recent
+ * lookups. A burst of one-off lookups therefore cannot flush the entries that
+ * are used over and over. The main region is a segmented LRU: an entry seen
+ * again while on probation is promoted to the protected segment.
+ *
+ * Lookups never block. The policy bookkeeping for a lookup is skipped when
+ * another thread holds the policy lock, which only makes the frequencies a
+ * little less exact. Entries expire a fixed time after they were loaded.
+ *
+ * Like {@link BoundedCache}, callers take {@link #generation()} before loading
+ * and pass it to {@link #putIfCurrent}, so a value loaded before an
+ * invalidation is never cached.
+ */
+public class FrequencyCache<K, V> {
+    private final int capacity;
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<K, Node<K, V>> entries;
+    private final FrequencySketch sketch;
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public FrequencyCache(int capacity, long ttl, TimeUnit unit) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1: " + capacity);
+        }
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("Cache TTL must be positive: " + ttl);
+        }
+        this.capacity = capacity;
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.protectedCapacity = (capacity - windowCapacity) * 4 / 5;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    /**
+     * Get the cached value, or null on a miss or if it has expired
+     */
+    public V get(K key) {
+        Node<K, V> node = entries.get(key);
+
+        if (node == null || node.isExpired(System.nanoTime())) {
+            misses.incrementAndGet();
+            recordMiss(key, node);
+            return null;
+        }
+
+        hits.incrementAndGet();
+        recordHit(node);
+        return node.value;
+    }
+
+    /**
+     * Current invalidation generation; take it before loading a value to cache
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a loaded value unless something was invalidated since the load began
+     */
+    public boolean putIfCurrent(K key, V value, long loadGeneration) {
+        policyLock.lock();
+        try {
+            if (generation.get() != loadGeneration) {
+                return false;
+            }
+
+            Node<K, V> node = new Node<>(key, value, System.nanoTime() + ttlNanos);
+            Node<K, V> previous = entries.put(key, node);
+            if (previous != null) {
+                previous.unlink();
+            }
+
+            sketch.increment(key);
+            window.addLast(node);
+            evictFromWindow();
+            return true;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Drop the entry for a key and reject puts of values loaded before now
+     */
+    public void invalidate(K key) {
+        policyLock.lock();
+        try {
+            generation.incrementAndGet();
+            Node<K, V> node = entries.remove(key);
+            if (node != null) {
+                node.unlink();
+                invalidations.incrementAndGet();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Get the value for a key without counting a lookup, e.g. to find related
+     * keys before invalidating
+     */
+    public V peek(K key) {
+        Node<K, V> node = entries.get(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Drop every entry
+     */
+    public void clear() {
+        policyLock.lock();
+        try {
+            generation.incrementAndGet();
+            for (Node<K, V> node : entries.values()) {
+                node.unlink();
+            }
+            entries.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public int getCapacity() { return capacity; }
+    public int size() { return entries.size(); }
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public long getInvalidations() { return invalidations.get(); }
+
+    public double getHitRate() {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0.0 : (double) hits.get() / lookups;
+    }
+
+    /**
+     * Snapshot of the counters, for logging and dashboards; expired entries
+     * count as evictions
+     */
+    public BoundedCache.Stats getStats() {
+        return new BoundedCache.Stats(size(), capacity, getHits(), getMisses(), getEvictions(), getInvalidations());
+    }
+
+    private void recordHit(Node<K, V> node) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(node.key);
+            if (node.queue == window) {
+                window.moveToBack(node);
+            } else if (node.queue == probation) {
+                probation.remove(node);
+                protectedQueue.addLast(node);
+                if (protectedQueue.size() > protectedCapacity) {
+                    Node<K, V> demoted = protectedQueue.first();
+                    protectedQueue.remove(demoted);
+                    probation.addLast(demoted);
+                }
+            } else if (node.queue == protectedQueue) {
+                protectedQueue.moveToBack(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void recordMiss(K key, Node<K, V> expired) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(key);
+            if (expired != null && entries.remove(key, expired)) {
+                expired.unlink();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Move entries past the window's share into the main region, each one
+     * either displacing the main region's LRU entry or being dropped itself
+     */
+    private void evictFromWindow() {
+        while (window.size() > windowCapacity) {
+            Node<K, V> candidate = window.first();
+            window.remove(candidate);
+
+            if (probation.size() + protectedQueue.size() < capacity - windowCapacity) {
+                probation.addLast(candidate);
+                continue;
+            }
+
+            Node<K, V> victim = probation.size() > 0 ? probation.first() : protectedQueue.first();
+            if (victim == null) {
+                evict(candidate);
+            } else if (victim.isExpired(System.nanoTime())
+                    || sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evict(victim);
+                probation.addLast(candidate);
+            } else {
+                evict(candidate);
+            }
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        node.unlink();
+        if (entries.remove(node.key, node)) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * A cached value, its expiry and its place in one of the access queues
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final long expiresAt;
+        private AccessQueue<K, V> queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        private void unlink() {
+            if (queue != null) {
+                queue.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked LRU queue threaded through the nodes; least recently used first
+     */
+    private static final class AccessQueue<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        private int size;
+
+        private int size() {
+            return size;
+        }
+
+        private Node<K, V> first() {
+            return head;
+        }
+
+        private void addLast(Node<K, V> node) {
+            node.queue = this;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        private void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.queue = null;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        private void moveToBack(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch of recent lookups with 4-bit saturating counters. All
+     * counters are halved once the sample is full, so old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final int[] SEEDS = {0x97cb3127, 0xb4b82e3b, 0xd3a2646c, 0xf1357aea};
+        private static final int MAX_COUNT = 15;
+
+        private final byte[][] rows;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        private FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+            this.rows = new byte[SEEDS.length][width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * Math.max(16, capacity);
+        }
+
+        private int frequency(Object key) {
+            int hash = key.hashCode();
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < rows.length; row++) {
+                frequency = Math.min(frequency, rows[row][index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        private void increment(Object key) {
+            int hash = key.hashCode();
+            for (int row = 0; row < rows.length; row++) {
+                int index = index(hash, row);
+                if (rows[row][index] < MAX_COUNT) {
+                    rows[row][index]++;
+                }
+            }
+
+            if (++additions >= sampleSize) {
+                for (byte[] counters : rows) {
+                    for (int i = 0; i < counters.length; i++) {
+                        counters[i] >>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
\ No newline at end of file
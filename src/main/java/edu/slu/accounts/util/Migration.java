@@ -0,0 +1,53 @@
+package edu.slu.accounts.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A single versioned schema change applied by {@link SchemaMigrator}
+ */
+public class Migration {
+    private final int version;
+    private final String description;
+    private final Step step;
+
+    /**
+     * Work performed by a migration inside its transaction
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    public Migration(int version, String description, Step step) {
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+
+    /**
+     * Create a migration that runs the given SQL statements in order
+     */
+    public static Migration sql(int version, String description, String... statements) {
+        return new Migration(version, description, conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String statement : statements) {
+                    stmt.execute(statement);
+                }
+            }
+        });
+    }
+
+    public int getVersion() { return version; }
+    public String getDescription() { return description; }
+
+    public void apply(Connection conn) throws SQLException {
+        step.apply(conn);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Migration{version=%d, description='%s'}", version, description);
+    }
+}
\ No newline at end of file
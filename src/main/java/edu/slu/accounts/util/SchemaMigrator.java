@@ -0,0 +1,700 @@
+package edu.slu.accounts.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Versioned schema migration runner.
+ *
+ * Applied migrations are recorded in the {@code schema_version} table together
+ * with how long each one took. Every pending migration runs in its own
+ * {@code BEGIN IMMEDIATE} transaction, which also keeps a second process from
+ * migrating the same database file at the same time. New schema changes are
+ * appended to {@link #MIGRATIONS} with the next version number; released
+ * migrations must never be edited.
+ */
+public class SchemaMigrator {
+    // Column default for INTEGER timestamps: the current time in epoch milliseconds
+    private static final String NOW_EPOCH_MILLIS = "(CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER))";
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        Migration.sql(1, "Create baseline tables",
+            """
+                CREATE TABLE IF NOT EXISTS students (
+                    id TEXT PRIMARY KEY,
+                    student_number TEXT UNIQUE NOT NULL,
+                    first_name TEXT NOT NULL,
+                    middle_name TEXT,
+                    last_name TEXT NOT NULL,
+                    course TEXT NOT NULL,
+                    year_level INTEGER NOT NULL,
+                    email TEXT UNIQUE NOT NULL,
+                    password TEXT NOT NULL,
+                    created_at TEXT DEFAULT CURRENT_TIMESTAMP
+                )
+            """,
+            """
+                CREATE TABLE IF NOT EXISTS accounts (
+                    id TEXT PRIMARY KEY,
+                    student_id TEXT NOT NULL,
+                    semester TEXT NOT NULL,
+                    academic_year TEXT NOT NULL,
+                    total_assessment REAL NOT NULL DEFAULT 0,
+                    total_paid REAL NOT NULL DEFAULT 0,
+                    remaining_balance REAL NOT NULL DEFAULT 0,
+                    prelim_amount_due REAL NOT NULL DEFAULT 0,
+                    midterm_amount_due REAL NOT NULL DEFAULT 0,
+                    final_amount_due REAL NOT NULL DEFAULT 0,
+                    prelim_status TEXT DEFAULT 'UNPAID',
+                    midterm_status TEXT DEFAULT 'UNPAID',
+                    final_status TEXT DEFAULT 'UNPAID',
+                    exam_permission TEXT DEFAULT 'NOT_PERMITTED',
+                    created_at TEXT DEFAULT CURRENT_TIMESTAMP,
+                    updated_at TEXT DEFAULT CURRENT_TIMESTAMP,
+                    FOREIGN KEY (student_id) REFERENCES students (id)
+                )
+            """,
+            """
+                CREATE TABLE IF NOT EXISTS transactions (
+                    id TEXT PRIMARY KEY,
+                    student_id TEXT NOT NULL,
+                    account_id TEXT NOT NULL,
+                    transaction_type TEXT NOT NULL,
+                    description TEXT NOT NULL,
+                    amount REAL NOT NULL,
+                    payment_method TEXT,
+                    payment_reference TEXT,
+                    transaction_date TEXT DEFAULT CURRENT_TIMESTAMP,
+                    status TEXT DEFAULT 'COMPLETED',
+                    FOREIGN KEY (student_id) REFERENCES students (id),
+                    FOREIGN KEY (account_id) REFERENCES accounts (id)
+                )
+            """,
+            """
+                CREATE TABLE IF NOT EXISTS grades (
+                    id TEXT PRIMARY KEY,
+                    student_id TEXT NOT NULL,
+                    subject_code TEXT NOT NULL,
+                    subject_name TEXT NOT NULL,
+                    units REAL NOT NULL,
+                    prelim_grade REAL,
+                    midterm_grade REAL,
+                    final_grade REAL,
+                    semester_grade REAL,
+                    remarks TEXT,
+                    semester TEXT NOT NULL,
+                    academic_year TEXT NOT NULL,
+                    created_at TEXT DEFAULT CURRENT_TIMESTAMP,
+                    FOREIGN KEY (student_id) REFERENCES students (id)
+                )
+            """,
+            """
+                CREATE TABLE IF NOT EXISTS payment_methods (
+                    id TEXT PRIMARY KEY,
+                    method_name TEXT NOT NULL,
+                    method_code TEXT UNIQUE NOT NULL,
+                    service_fee REAL DEFAULT 0,
+                    percentage_fee REAL DEFAULT 0,
+                    is_active BOOLEAN DEFAULT 1,
+                    description TEXT
+                )
+            """
+        ),
+
+        Migration.sql(2, "Add secondary indexes for DAO lookups",
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_accounts_student_term ON accounts (student_id, semester, academic_year)",
+            "CREATE INDEX IF NOT EXISTS idx_accounts_prelim_status ON accounts (prelim_status, updated_at)",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_student_date ON transactions (student_id, transaction_date)",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_student_type_date ON transactions (student_id, transaction_type, transaction_date)",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_account_date ON transactions (account_id, transaction_date)",
+            "CREATE INDEX IF NOT EXISTS idx_grades_student_term ON grades (student_id, semester, academic_year, subject_code)"
+        ),
+
+        Migration.sql(3, "Add id to transaction history indexes for keyset pagination",
+            "DROP INDEX IF EXISTS idx_transactions_student_date",
+            "DROP INDEX IF EXISTS idx_transactions_account_date",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_student_date_id ON transactions (student_id, transaction_date, id)",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_account_date_id ON transactions (account_id, transaction_date, id)"
+        ),
+
+        Migration.sql(4, "Store timestamps as INTEGER epoch milliseconds",
+            """
+                CREATE TABLE students_new (
+                    id TEXT PRIMARY KEY,
+                    student_number TEXT UNIQUE NOT NULL,
+                    first_name TEXT NOT NULL,
+                    middle_name TEXT,
+                    last_name TEXT NOT NULL,
+                    course TEXT NOT NULL,
+                    year_level INTEGER NOT NULL,
+                    email TEXT UNIQUE NOT NULL,
+                    password TEXT NOT NULL,
+                    created_at INTEGER DEFAULT %1$s
+                )
+            """.formatted(NOW_EPOCH_MILLIS),
+            "INSERT INTO students_new SELECT id, student_number, first_name, middle_name, last_name, course, "
+                + "year_level, email, password, " + toEpochMillis("created_at") + " FROM students",
+            "DROP TABLE students",
+            "ALTER TABLE students_new RENAME TO students",
+            """
+                CREATE TABLE accounts_new (
+                    id TEXT PRIMARY KEY,
+                    student_id TEXT NOT NULL,
+                    semester TEXT NOT NULL,
+                    academic_year TEXT NOT NULL,
+                    total_assessment REAL NOT NULL DEFAULT 0,
+                    total_paid REAL NOT NULL DEFAULT 0,
+                    remaining_balance REAL NOT NULL DEFAULT 0,
+                    prelim_amount_due REAL NOT NULL DEFAULT 0,
+                    midterm_amount_due REAL NOT NULL DEFAULT 0,
+                    final_amount_due REAL NOT NULL DEFAULT 0,
+                    prelim_status TEXT DEFAULT 'UNPAID',
+                    midterm_status TEXT DEFAULT 'UNPAID',
+                    final_status TEXT DEFAULT 'UNPAID',
+                    exam_permission TEXT DEFAULT 'NOT_PERMITTED',
+                    created_at INTEGER DEFAULT %1$s,
+                    updated_at INTEGER DEFAULT %1$s,
+                    FOREIGN KEY (student_id) REFERENCES students (id)
+                )
+            """.formatted(NOW_EPOCH_MILLIS),
+            "INSERT INTO accounts_new SELECT id, student_id, semester, academic_year, total_assessment, total_paid, "
+                + "remaining_balance, prelim_amount_due, midterm_amount_due, final_amount_due, prelim_status, "
+                + "midterm_status, final_status, exam_permission, " + toEpochMillis("created_at") + ", "
+                + toEpochMillis("updated_at") + " FROM accounts",
+            "DROP TABLE accounts",
+            "ALTER TABLE accounts_new RENAME TO accounts",
+            """
+                CREATE TABLE transactions_new (
+                    id TEXT PRIMARY KEY,
+                    student_id TEXT NOT NULL,
+                    account_id TEXT NOT NULL,
+                    transaction_type TEXT NOT NULL,
+                    description TEXT NOT NULL,
+                    amount REAL NOT NULL,
+                    payment_method TEXT,
+                    payment_reference TEXT,
+                    transaction_date INTEGER DEFAULT %1$s,
+                    status TEXT DEFAULT 'COMPLETED',
+                    FOREIGN KEY (student_id) REFERENCES students (id),
+                    FOREIGN KEY (account_id) REFERENCES accounts (id)
+                )
+            """.formatted(NOW_EPOCH_MILLIS),
+            "INSERT INTO transactions_new SELECT id, student_id, account_id, transaction_type, description, amount, "
+                + "payment_method, payment_reference, " + toEpochMillis("transaction_date") + ", status FROM transactions",
+            "DROP TABLE transactions",
+            "ALTER TABLE transactions_new RENAME TO transactions",
+            """
+                CREATE TABLE grades_new (
+                    id TEXT PRIMARY KEY,
+                    student_id TEXT NOT NULL,
+                    subject_code TEXT NOT NULL,
+                    subject_name TEXT NOT NULL,
+                    units REAL NOT NULL,
+                    prelim_grade REAL,
+                    midterm_grade REAL,
+                    final_grade REAL,
+                    semester_grade REAL,
+                    remarks TEXT,
+                    semester TEXT NOT NULL,
+                    academic_year TEXT NOT NULL,
+                    created_at INTEGER DEFAULT %1$s,
+                    FOREIGN KEY (student_id) REFERENCES students (id)
+                )
+            """.formatted(NOW_EPOCH_MILLIS),
+            "INSERT INTO grades_new SELECT id, student_id, subject_code, subject_name, units, prelim_grade, "
+                + "midterm_grade, final_grade, semester_grade, remarks, semester, academic_year, "
+                + toEpochMillis("created_at") + " FROM grades",
+            "DROP TABLE grades",
+            "ALTER TABLE grades_new RENAME TO grades",
+            "CREATE UNIQUE INDEX idx_accounts_student_term ON accounts (student_id, semester, academic_year)",
+            "CREATE INDEX idx_accounts_prelim_status ON accounts (prelim_status, updated_at)",
+            "CREATE INDEX idx_transactions_student_type_date ON transactions (student_id, transaction_type, transaction_date)",
+            "CREATE INDEX idx_transactions_student_date_id ON transactions (student_id, transaction_date, id)",
+            "CREATE INDEX idx_transactions_account_date_id ON transactions (account_id, transaction_date, id)",
+            "CREATE INDEX idx_grades_student_term ON grades (student_id, semester, academic_year, subject_code)"
+        ),
+
+        Migration.sql(5, "Store money as INTEGER centavos",
+            """
+                CREATE TABLE accounts_new (
+                    id TEXT PRIMARY KEY,
+                    student_id TEXT NOT NULL,
+                    semester TEXT NOT NULL,
+                    academic_year TEXT NOT NULL,
+                    total_assessment INTEGER NOT NULL DEFAULT 0,
+                    total_paid INTEGER NOT NULL DEFAULT 0,
+                    remaining_balance INTEGER NOT NULL DEFAULT 0,
+                    prelim_amount_due INTEGER NOT NULL DEFAULT 0,
+                    midterm_amount_due INTEGER NOT NULL DEFAULT 0,
+                    final_amount_due INTEGER NOT NULL DEFAULT 0,
+                    prelim_status TEXT DEFAULT 'UNPAID',
+                    midterm_status TEXT DEFAULT 'UNPAID',
+                    final_status TEXT DEFAULT 'UNPAID',
+                    exam_permission TEXT DEFAULT 'NOT_PERMITTED',
+                    created_at INTEGER DEFAULT %1$s,
+                    updated_at INTEGER DEFAULT %1$s,
+                    FOREIGN KEY (student_id) REFERENCES students (id)
+                )
+            """.formatted(NOW_EPOCH_MILLIS),
+            "INSERT INTO accounts_new SELECT id, student_id, semester, academic_year, " + toCentavos("total_assessment")
+                + ", " + toCentavos("total_paid") + ", " + toCentavos("remaining_balance") + ", "
+                + toCentavos("prelim_amount_due") + ", " + toCentavos("midterm_amount_due") + ", "
+                + toCentavos("final_amount_due") + ", prelim_status, midterm_status, final_status, exam_permission, "
+                + "created_at, updated_at FROM accounts",
+            "DROP TABLE accounts",
+            "ALTER TABLE accounts_new RENAME TO accounts",
+            """
+                CREATE TABLE transactions_new (
+                    id TEXT PRIMARY KEY,
+                    student_id TEXT NOT NULL,
+                    account_id TEXT NOT NULL,
+                    transaction_type TEXT NOT NULL,
+                    description TEXT NOT NULL,
+                    amount INTEGER NOT NULL,
+                    payment_method TEXT,
+                    payment_reference TEXT,
+                    transaction_date INTEGER DEFAULT %1$s,
+                    status TEXT DEFAULT 'COMPLETED',
+                    FOREIGN KEY (student_id) REFERENCES students (id),
+                    FOREIGN KEY (account_id) REFERENCES accounts (id)
+                )
+            """.formatted(NOW_EPOCH_MILLIS),
+            "INSERT INTO transactions_new SELECT id, student_id, account_id, transaction_type, description, "
+                + toCentavos("amount") + ", payment_method, payment_reference, transaction_date, status FROM transactions",
+            "DROP TABLE transactions",
+            "ALTER TABLE transactions_new RENAME TO transactions",
+            """
+                CREATE TABLE payment_methods_new (
+                    id TEXT PRIMARY KEY,
+                    method_name TEXT NOT NULL,
+                    method_code TEXT UNIQUE NOT NULL,
+                    service_fee INTEGER DEFAULT 0,
+                    percentage_fee REAL DEFAULT 0,
+                    is_active BOOLEAN DEFAULT 1,
+                    description TEXT
+                )
+            """,
+            "INSERT INTO payment_methods_new SELECT id, method_name, method_code, " + toCentavos("service_fee")
+                + ", percentage_fee, is_active, description FROM payment_methods",
+            "DROP TABLE payment_methods",
+            "ALTER TABLE payment_methods_new RENAME TO payment_methods",
+            "CREATE UNIQUE INDEX idx_accounts_student_term ON accounts (student_id, semester, academic_year)",
+            "CREATE INDEX idx_accounts_prelim_status ON accounts (prelim_status, updated_at)",
+            "CREATE INDEX idx_transactions_student_type_date ON transactions (student_id, transaction_type, transaction_date)",
+            "CREATE INDEX idx_transactions_student_date_id ON transactions (student_id, transaction_date, id)",
+            "CREATE INDEX idx_transactions_account_date_id ON transactions (account_id, transaction_date, id)"
+        ),
+
+        Migration.sql(6, "Add indexes for finance dashboard aggregates",
+            "CREATE INDEX IF NOT EXISTS idx_students_course_year ON students (course, year_level, id)",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_collections ON transactions (transaction_type, status, payment_method, amount)"
+        ),
+
+        Migration.sql(7, "Make student, term and subject the natural key of grades",
+            // Keep the most recently created row of any duplicates
+            """
+                DELETE FROM grades WHERE rowid IN (
+                    SELECT rowid FROM (
+                        SELECT rowid, ROW_NUMBER() OVER (
+                            PARTITION BY student_id, semester, academic_year, subject_code
+                            ORDER BY created_at DESC, rowid DESC
+                        ) AS duplicate_rank
+                        FROM grades
+                    ) WHERE duplicate_rank > 1
+                )
+            """,
+            "DROP INDEX IF EXISTS idx_grades_student_term",
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_grades_natural_key ON grades (student_id, semester, academic_year, subject_code)"
+        ),
+
+        Migration.sql(8, "Seed payment methods and version them for reloads",
+            "ALTER TABLE payment_methods ADD COLUMN sort_order INTEGER NOT NULL DEFAULT 0",
+            // Fees in centavos; rows already present keep their fees
+            """
+                INSERT INTO payment_methods (id, method_name, method_code, service_fee, percentage_fee,
+                                             is_active, description, sort_order)
+                VALUES ('pm-unionbank', 'UnionBank UPay Online', 'UNIONBANK', 0, 0.0, 1,
+                        'Direct bank transfer with no additional fees', 1),
+                       ('pm-dragonpay', 'Dragonpay Payment Gateway', 'DRAGONPAY', 2500, 2.0, 1,
+                        'Multi-channel payment gateway with service fee', 2),
+                       ('pm-bpi', 'BPI Online', 'BPI', 1500, 0.0, 1,
+                        'BPI online banking with minimal service fee', 3),
+                       ('pm-bdo', 'BDO Online', 'BDO', 2000, 0.0, 1,
+                        'BDO online banking with service fee', 4),
+                       ('pm-bdo-bills', 'BDO Bills Payment', 'BDO_BILLS', 1000, 0.0, 1,
+                        'BDO bills payment service', 5),
+                       ('pm-bukas', 'Bukas Tuition Installment Plans', 'BUKAS', 0, 3.5, 1,
+                        'Flexible installment plans with processing fee', 6)
+                ON CONFLICT (method_code) DO UPDATE SET
+                    sort_order = excluded.sort_order,
+                    description = COALESCE(payment_methods.description, excluded.description)
+            """,
+            """
+                CREATE TABLE IF NOT EXISTS table_versions (
+                    table_name TEXT PRIMARY KEY,
+                    version INTEGER NOT NULL DEFAULT 0
+                )
+            """,
+            "INSERT OR IGNORE INTO table_versions (table_name, version) VALUES ('payment_methods', 0)",
+            // Triggers also fire for rows changed by other processes sharing the file
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_payment_methods_insert AFTER INSERT ON payment_methods
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'payment_methods';
+                END
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_payment_methods_update AFTER UPDATE ON payment_methods
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'payment_methods';
+                END
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_payment_methods_delete AFTER DELETE ON payment_methods
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'payment_methods';
+                END
+            """
+        ),
+
+        Migration.sql(9, "Version the set of student numbers",
+            "INSERT OR IGNORE INTO table_versions (table_name, version) VALUES ('students', 0)",
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_students_insert AFTER INSERT ON students
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'students';
+                END
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_students_number_update AFTER UPDATE OF student_number ON students
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'students';
+                END
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_students_delete AFTER DELETE ON students
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'students';
+                END
+            """
+        ),
+
+        Migration.sql(10, "Maintain per-student, per-term grade totals",
+            """
+                CREATE TABLE IF NOT EXISTS grade_term_summary (
+                    student_id TEXT NOT NULL,
+                    semester TEXT NOT NULL,
+                    academic_year TEXT NOT NULL,
+                    subject_count INTEGER NOT NULL DEFAULT 0,
+                    total_units REAL NOT NULL DEFAULT 0,
+                    prelim_count INTEGER NOT NULL DEFAULT 0,
+                    prelim_units REAL NOT NULL DEFAULT 0,
+                    prelim_weighted_sum REAL NOT NULL DEFAULT 0,
+                    prelim_sum REAL NOT NULL DEFAULT 0,
+                    semester_count INTEGER NOT NULL DEFAULT 0,
+                    semester_units REAL NOT NULL DEFAULT 0,
+                    semester_weighted_sum REAL NOT NULL DEFAULT 0,
+                    semester_sum REAL NOT NULL DEFAULT 0,
+                    PRIMARY KEY (student_id, semester, academic_year)
+                )
+            """,
+            """
+                INSERT INTO grade_term_summary
+                SELECT student_id, semester, academic_year, COUNT(*), TOTAL(units),
+                       COUNT(prelim_grade), TOTAL(CASE WHEN prelim_grade IS NOT NULL THEN units END),
+                       TOTAL(prelim_grade * units), TOTAL(prelim_grade),
+                       COUNT(semester_grade), TOTAL(CASE WHEN semester_grade IS NOT NULL THEN units END),
+                       TOTAL(semester_grade * units), TOTAL(semester_grade)
+                FROM grades
+                GROUP BY student_id, semester, academic_year
+            """,
+            // Triggers run inside the grade write's own transaction, whoever writes
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_grades_summary_insert AFTER INSERT ON grades
+                BEGIN
+                    %s;
+                END
+            """.formatted(gradeSummaryDelta("NEW", "+")),
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_grades_summary_update
+                AFTER UPDATE OF student_id, semester, academic_year, units, prelim_grade, semester_grade ON grades
+                BEGIN
+                    %s;
+                    %s;
+                END
+            """.formatted(gradeSummaryDelta("OLD", "-"), gradeSummaryDelta("NEW", "+")),
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_grades_summary_delete AFTER DELETE ON grades
+                BEGIN
+                    %s;
+                END
+            """.formatted(gradeSummaryDelta("OLD", "-"))
+        ),
+
+        // Other clients of the file (server.js) may still write CURRENT_TIMESTAMP text
+        Migration.sql(11, "Convert TEXT timestamps from other writers to epoch milliseconds",
+            normaliseTimestamps("students", "created_at"),
+            normaliseTimestamps("accounts", "created_at", "updated_at"),
+            normaliseTimestamps("transactions", "transaction_date"),
+            normaliseTimestamps("grades", "created_at"),
+            timestampTrigger("students", "insert", "created_at"),
+            timestampTrigger("students", "update", "created_at"),
+            timestampTrigger("accounts", "insert", "created_at", "updated_at"),
+            timestampTrigger("accounts", "update", "created_at", "updated_at"),
+            timestampTrigger("transactions", "insert", "transaction_date"),
+            timestampTrigger("transactions", "update", "transaction_date"),
+            timestampTrigger("grades", "insert", "created_at"),
+            timestampTrigger("grades", "update", "created_at")
+        ),
+
+        Migration.sql(12, "Version the accounts table for in-memory indexes",
+            "INSERT OR IGNORE INTO table_versions (table_name, version) VALUES ('accounts', 0)",
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_accounts_insert AFTER INSERT ON accounts
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'accounts';
+                END
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_accounts_update AFTER UPDATE ON accounts
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'accounts';
+                END
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_accounts_delete AFTER DELETE ON accounts
+                BEGIN
+                    UPDATE table_versions SET version = version + 1 WHERE table_name = 'accounts';
+                END
+            """
+        ),
+
+        Migration.sql(13, "Version each student's ledger for rendered breakdowns",
+            """
+                CREATE TABLE IF NOT EXISTS ledger_versions (
+                    student_id TEXT PRIMARY KEY,
+                    version INTEGER NOT NULL
+                )
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_ledger_insert AFTER INSERT ON transactions
+                BEGIN
+                    INSERT OR IGNORE INTO ledger_versions (student_id, version) VALUES (NEW.student_id, 0);
+                    UPDATE ledger_versions SET version = version + 1 WHERE student_id = NEW.student_id;
+                END
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_ledger_update AFTER UPDATE ON transactions
+                BEGIN
+                    INSERT OR IGNORE INTO ledger_versions (student_id, version) VALUES (NEW.student_id, 0);
+                    UPDATE ledger_versions SET version = version + 1 WHERE student_id IN (OLD.student_id, NEW.student_id);
+                END
+            """,
+            """
+                CREATE TRIGGER IF NOT EXISTS trg_transactions_ledger_delete AFTER DELETE ON transactions
+                BEGIN
+                    UPDATE ledger_versions SET version = version + 1 WHERE student_id = OLD.student_id;
+                END
+            """
+        )
+    );
+
+    private static final Set<String> migratedDatabases = new HashSet<>();
+
+    private SchemaMigrator() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * SQL converting a TEXT timestamp column to epoch milliseconds. Values with
+     * a 'T' were written by this application in local time; values with a
+     * space are SQLite CURRENT_TIMESTAMP defaults, which are UTC.
+     */
+    private static String toEpochMillis(String column) {
+        return "CASE WHEN " + column + " IS NULL OR typeof(" + column + ") = 'integer' THEN " + column
+               + " WHEN instr(" + column + ", 'T') > 0"
+               + " THEN CAST(round((julianday(" + column + ", 'utc') - 2440587.5) * 86400000) AS INTEGER)"
+               + " ELSE CAST(round((julianday(" + column + ") - 2440587.5) * 86400000) AS INTEGER) END";
+    }
+
+    /**
+     * SQL converting the table's TEXT values in the given timestamp columns to epoch milliseconds
+     */
+    private static String normaliseTimestamps(String table, String... columns) {
+        List<String> assignments = new ArrayList<>();
+        List<String> textChecks = new ArrayList<>();
+        for (String column : columns) {
+            assignments.add(column + " = " + toEpochMillis(column));
+            textChecks.add("typeof(" + column + ") = 'text'");
+        }
+        return "UPDATE " + table + " SET " + String.join(", ", assignments)
+               + " WHERE " + String.join(" OR ", textChecks);
+    }
+
+    /**
+     * Trigger converting TEXT timestamps in a row just inserted or updated (event
+     * "insert" or "update") to epoch milliseconds, before the write commits
+     */
+    private static String timestampTrigger(String table, String event, String... columns) {
+        List<String> assignments = new ArrayList<>();
+        List<String> textChecks = new ArrayList<>();
+        for (String column : columns) {
+            assignments.add(column + " = " + toEpochMillis(column));
+            textChecks.add("typeof(NEW." + column + ") = 'text'");
+        }
+        String trigger = event.equals("insert") ? "INSERT" : "UPDATE OF " + String.join(", ", columns);
+
+        return """
+            CREATE TRIGGER IF NOT EXISTS trg_%1$s_timestamps_%2$s AFTER %3$s ON %1$s
+            WHEN %4$s
+            BEGIN
+                UPDATE %1$s SET %5$s WHERE rowid = NEW.rowid;
+            END""".formatted(table, event, trigger, String.join(" OR ", textChecks), String.join(", ", assignments));
+    }
+
+    /**
+     * SQL converting a REAL peso column to whole centavos, rounded to the nearest centavo
+     */
+    private static String toCentavos(String column) {
+        return "CAST(round(" + column + " * 100) AS INTEGER)";
+    }
+
+    /**
+     * SQL adding (sign "+") or subtracting (sign "-") one grade row, NEW or OLD
+     * inside a trigger, to its student's term totals in grade_term_summary
+     */
+    private static String gradeSummaryDelta(String row, String sign) {
+        String values = String.join(", ",
+            row + ".student_id", row + ".semester", row + ".academic_year",
+            sign + "1",
+            sign + row + ".units",
+            sign + "(" + row + ".prelim_grade IS NOT NULL)",
+            sign + "(CASE WHEN " + row + ".prelim_grade IS NOT NULL THEN " + row + ".units ELSE 0 END)",
+            sign + "COALESCE(" + row + ".prelim_grade * " + row + ".units, 0)",
+            sign + "COALESCE(" + row + ".prelim_grade, 0)",
+            sign + "(" + row + ".semester_grade IS NOT NULL)",
+            sign + "(CASE WHEN " + row + ".semester_grade IS NOT NULL THEN " + row + ".units ELSE 0 END)",
+            sign + "COALESCE(" + row + ".semester_grade * " + row + ".units, 0)",
+            sign + "COALESCE(" + row + ".semester_grade, 0)");
+
+        return """
+            INSERT INTO grade_term_summary (student_id, semester, academic_year, subject_count, total_units,
+                                            prelim_count, prelim_units, prelim_weighted_sum, prelim_sum,
+                                            semester_count, semester_units, semester_weighted_sum, semester_sum)
+            VALUES (%s)
+            ON CONFLICT (student_id, semester, academic_year) DO UPDATE SET
+                subject_count = subject_count + excluded.subject_count,
+                total_units = total_units + excluded.total_units,
+                prelim_count = prelim_count + excluded.prelim_count,
+                prelim_units = prelim_units + excluded.prelim_units,
+                prelim_weighted_sum = prelim_weighted_sum + excluded.prelim_weighted_sum,
+                prelim_sum = prelim_sum + excluded.prelim_sum,
+                semester_count = semester_count + excluded.semester_count,
+                semester_units = semester_units + excluded.semester_units,
+                semester_weighted_sum = semester_weighted_sum + excluded.semester_weighted_sum,
+                semester_sum = semester_sum + excluded.semester_sum""".formatted(values);
+    }
+
+    /**
+     * Bring the database behind the given connection up to the latest version.
+     * Runs at most once per database per process.
+     */
+    public static synchronized void migrate(Connection conn) throws SQLException {
+        String url = conn.getMetaData().getURL();
+        if (migratedDatabases.contains(url)) {
+            return;
+        }
+
+        int applied = migrateTo(conn, Integer.MAX_VALUE);
+
+        migratedDatabases.add(url);
+        System.out.println("Database schema is at version " + getCurrentVersion(conn)
+                           + (applied > 0 ? " (" + applied + " migration(s) applied)." : "."));
+    }
+
+    /**
+     * Apply the pending migrations up to and including the target version.
+     * Returns how many were applied; tests use it to stop at an older schema.
+     */
+    static int migrateTo(Connection conn, int targetVersion) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    applied_at TEXT NOT NULL,
+                    duration_ms INTEGER NOT NULL
+                )
+            """);
+        }
+
+        int currentVersion = getCurrentVersion(conn);
+        int applied = 0;
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.getVersion() > currentVersion && migration.getVersion() <= targetVersion
+                    && apply(conn, migration)) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Get the highest applied migration version, or 0 for a new database
+     */
+    public static int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Apply one migration under the database write lock. Returns false if
+     * another process applied it first.
+     */
+    private static boolean apply(Connection conn, Migration migration) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("BEGIN IMMEDIATE");
+
+            try {
+                if (getCurrentVersion(conn) >= migration.getVersion()) {
+                    stmt.execute("ROLLBACK");
+                    return false;
+                }
+
+                long start = System.nanoTime();
+                migration.apply(conn);
+                long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT INTO schema_version (version, description, applied_at, duration_ms) VALUES (?, ?, ?, ?)")) {
+                    pstmt.setInt(1, migration.getVersion());
+                    pstmt.setString(2, migration.getDescription());
+                    pstmt.setString(3, LocalDateTime.now().toString());
+                    pstmt.setLong(4, durationMillis);
+                    pstmt.executeUpdate();
+                }
+
+                stmt.execute("COMMIT");
+                System.out.println("Applied migration " + migration.getVersion() + ": "
+                                   + migration.getDescription() + " (" + durationMillis + " ms)");
+                return true;
+
+            } catch (SQLException e) {
+                stmt.execute("ROLLBACK");
+                throw new SQLException("Migration " + migration.getVersion() + " ("
+                                       + migration.getDescription() + ") failed: " + e.getMessage(), e);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package edu.slu.accounts.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least-recently-used cache of prepared statements for one physical connection.
+ *
+ * The pool hands out a cached statement wrapped so that close() only resets it
+ * (closes its result set and clears parameters) and makes it available again.
+ * A connection is only ever used by one thread at a time, so the cache itself
+ * is not synchronized. When the SQL is already checked out, for example by a
+ * nested call, the caller gets a plain uncached statement instead.
+ */
+final class StatementCache {
+
+    /**
+     * Hit, miss and eviction counts shared by every cache in a pool
+     */
+    static final class Counters {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+    }
+
+    private final Connection physical;
+    private final int capacity;
+    private final Counters counters;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(Connection physical, int capacity, Counters counters) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.counters = counters;
+    }
+
+    /**
+     * Get a statement for the SQL, preparing it only on the first use
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        Entry entry = entries.get(sql);
+
+        if (entry != null) {
+            if (entry.inUse) {
+                counters.misses.incrementAndGet();
+                return physical.prepareStatement(sql);
+            }
+            counters.hits.incrementAndGet();
+            return entry.checkOut();
+        }
+
+        counters.misses.incrementAndGet();
+        entry = new Entry(physical.prepareStatement(sql));
+        entries.put(sql, entry);
+        evictIdle();
+        return entry.checkOut();
+    }
+
+    /**
+     * Make statements a caller forgot to close available again
+     */
+    void reset() {
+        for (Entry entry : entries.values()) {
+            if (entry.inUse) {
+                entry.checkIn();
+            }
+        }
+    }
+
+    /**
+     * Close every cached statement; used when the connection is closed
+     */
+    void close() {
+        for (Entry entry : entries.values()) {
+            closeQuietly(entry.statement);
+        }
+        entries.clear();
+    }
+
+    private void evictIdle() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            if (!eldest.inUse) {
+                it.remove();
+                closeQuietly(eldest.statement);
+                counters.evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A cached statement and the result set of its current use
+     */
+    private static final class Entry {
+        private final PreparedStatement statement;
+        private ResultSet resultSet;
+        private boolean inUse;
+        private int generation;
+
+        private Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private PreparedStatement checkOut() {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new Handle(this, generation));
+        }
+
+        private void checkIn() {
+            try {
+                try {
+                    if (resultSet != null) {
+                        resultSet.close();
+                    }
+                } finally {
+                    // Rows queued by a batch that failed before executeBatch must not be replayed
+                    statement.clearBatch();
+                    statement.clearParameters();
+                }
+            } catch (SQLException e) {
+                System.err.println("Error resetting cached statement: " + e.getMessage());
+            }
+            resultSet = null;
+            inUse = false;
+            generation++;
+        }
+    }
+
+    /**
+     * The statement object handed to callers; close() checks it back in
+     */
+    private static final class Handle implements InvocationHandler {
+        private final Entry entry;
+        private final int generation;
+        private boolean closed;
+
+        private Handle(Entry entry, int generation) {
+            this.entry = entry;
+            this.generation = generation;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (entry.generation != generation) {
+                // Checked back in by the pool when the connection was returned
+                closed = true;
+            }
+
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        entry.checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            try {
+                Object result = method.invoke(entry.statement, args);
+                if (result instanceof ResultSet) {
+                    entry.resultSet = (ResultSet) result;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
\ No newline at end of file
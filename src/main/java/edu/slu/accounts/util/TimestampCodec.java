@@ -0,0 +1,96 @@
+package edu.slu.accounts.util;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Converts between LocalDateTime and the INTEGER epoch-millisecond values the
+ * timestamp columns store.
+ *
+ * DAOs read and bind the raw long so that sorting, range predicates and
+ * keyset cursors work on integers; models decode to LocalDateTime only when
+ * a caller asks for it. Local date-times are interpreted in the system zone.
+ */
+public class TimestampCodec {
+    /** Marker for "no timestamp", stored as SQL NULL */
+    public static final long NONE = Long.MIN_VALUE;
+
+    // Anything below this (early 1973) is the leading digits of a legacy TEXT value
+    private static final long MIN_EPOCH_MILLIS = 100_000_000_000L;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private TimestampCodec() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Encode a local date-time as epoch milliseconds, or NONE for null
+     */
+    public static long encode(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NONE;
+        }
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Decode epoch milliseconds to a local date-time, or null for NONE
+     */
+    public static LocalDateTime decode(long epochMillis) {
+        if (epochMillis == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    /**
+     * Current time as epoch milliseconds
+     */
+    public static long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Read a timestamp column, returning NONE for SQL NULL. Rows written as
+     * TEXT by other clients (ISO local time, or SQLite's UTC CURRENT_TIMESTAMP)
+     * are still understood.
+     */
+    public static long read(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        if (rs.wasNull()) {
+            return NONE;
+        }
+        if (value >= MIN_EPOCH_MILLIS || value < 0) {
+            return value;
+        }
+        return parseLegacy(rs.getString(column));
+    }
+
+    /**
+     * Bind a timestamp parameter, using SQL NULL for NONE
+     */
+    public static void bind(PreparedStatement pstmt, int index, long epochMillis) throws SQLException {
+        if (epochMillis == NONE) {
+            pstmt.setNull(index, Types.INTEGER);
+        } else {
+            pstmt.setLong(index, epochMillis);
+        }
+    }
+
+    private static long parseLegacy(String text) {
+        if (text == null || text.isBlank()) {
+            return NONE;
+        }
+        if (text.indexOf('T') > 0) {
+            return encode(LocalDateTime.parse(text));
+        }
+        return LocalDateTime.parse(text.replace(' ', 'T')).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,236 @@
+package edu.slu.accounts.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-writer queue that group-commits database writes.
+ *
+ * Callers submit units of work and get a future back. One writer thread takes
+ * whatever has queued up (up to {@code maxBatch} units), runs each unit under
+ * its own savepoint and commits them all together. A unit that fails is rolled
+ * back to its savepoint without affecting the rest of the batch, whatever it
+ * throws, so one bad unit never stops the writer or strands other futures. Futures
+ * complete only after the commit, so an acknowledged write is committed and
+ * visible to every later reader. Whether it also survives a power loss depends
+ * on the connection profile's {@code synchronous} setting: under NORMAL in WAL
+ * mode the last commits can be lost until the next checkpoint.
+ */
+public class WriteQueue {
+    private final ConnectionPool pool;
+    private final BlockingQueue<Request<?>> queue;
+    private final int maxBatch;
+    private final Thread writer;
+    private final AtomicLong committedWrites = new AtomicLong();
+    private final AtomicLong committedBatches = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * A unit of work executed on the writer thread's connection
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    public WriteQueue(ConnectionPool pool, int capacity, int maxBatch) {
+        this.pool = pool;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.writer = new Thread(this::run, "db-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue a unit of work. Blocks while the queue is full. Fails the future
+     * if the queue shuts down before the work is taken.
+     */
+    public <T> CompletableFuture<T> submit(Work<T> work) {
+        Request<T> request = new Request<>(work);
+
+        try {
+            while (!queue.offer(request, 100, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    request.future.completeExceptionally(shutDownError());
+                    return request.future;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.future.completeExceptionally(e);
+            return request.future;
+        }
+
+        // Shutdown may have begun after the offer, when the writer could already have stopped
+        if (!running && queue.remove(request)) {
+            request.future.completeExceptionally(shutDownError());
+        }
+        return request.future;
+    }
+
+    /**
+     * Wait for a queued write and report failures the way the DAOs do
+     */
+    public static boolean await(CompletableFuture<Boolean> future, String errorMessage) {
+        try {
+            return join(future);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println(errorMessage + ": " + cause.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Wait for a queued write that produces a result; empty if it failed
+     */
+    public static <T> Optional<T> awaitResult(CompletableFuture<T> future, String errorMessage) {
+        try {
+            return Optional.ofNullable(join(future));
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println(errorMessage + ": " + cause.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A write joined into the caller's own open transaction completes only when
+     * that transaction ends, so waiting for it there would never return
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        if (!future.isDone() && DatabaseConnection.holdsWriteConnection()) {
+            throw new IllegalStateException("Cannot wait for a write inside the transaction it joined");
+        }
+        return future.join();
+    }
+
+    public long getCommittedWrites() { return committedWrites.get(); }
+    public long getCommittedBatches() { return committedBatches.get(); }
+    public int getPendingCount() { return queue.size(); }
+
+    /**
+     * Stop accepting work, commit everything already queued and stop the writer
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Request<?> orphan;
+        while ((orphan = queue.poll()) != null) {
+            orphan.future.completeExceptionally(shutDownError());
+        }
+
+        System.out.println("Write queue stopped: " + committedWrites.get() + " writes in "
+                           + committedBatches.get() + " commits.");
+    }
+
+    private static IllegalStateException shutDownError() {
+        return new IllegalStateException("Write queue has been shut down");
+    }
+
+    private void run() {
+        List<Request<?>> batch = new ArrayList<>(maxBatch);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Request<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Request<?>> batch) {
+        boolean committed = false;
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+
+            for (Request<?> request : batch) {
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    request.execute(conn);
+                    conn.releaseSavepoint(savepoint);
+                } catch (Throwable e) {
+                    conn.rollback(savepoint);
+                    conn.releaseSavepoint(savepoint);
+                    request.error = e;
+                }
+            }
+
+            conn.commit();
+            conn.setAutoCommit(true);
+            committed = true;
+        } catch (Throwable e) {
+            for (Request<?> request : batch) {
+                if (request.error == null) {
+                    request.error = e;
+                }
+            }
+        }
+
+        // Count before completing, so a caller whose write returned sees it in the totals
+        if (committed) {
+            int succeeded = 0;
+            for (Request<?> request : batch) {
+                if (request.error == null) {
+                    succeeded++;
+                }
+            }
+            committedWrites.addAndGet(succeeded);
+            committedBatches.incrementAndGet();
+        }
+        for (Request<?> request : batch) {
+            request.complete();
+        }
+    }
+
+    /**
+     * A queued unit of work and the future waiting on it
+     */
+    private static final class Request<T> {
+        private final Work<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private Throwable error;
+
+        private Request(Work<T> work) {
+            this.work = work;
+        }
+
+        private void execute(Connection conn) throws SQLException {
+            result = work.execute(conn);
+        }
+
+        private void complete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package edu.slu.accounts;
+
+import edu.slu.accounts.dao.AccountDAO;
+import edu.slu.accounts.dao.StudentDAO;
+import edu.slu.accounts.model.AcademicTerm;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.Student;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scratch database shared by the tests in one JVM.
+ *
+ * DatabaseConnection, the DAO caches and the in-memory indexes are static,
+ * so every test class works in the same migrated temporary file and creates
+ * its own students rather than relying on a clean table.
+ */
+public final class TestDatabase {
+    private static final AtomicInteger NEXT_STUDENT = new AtomicInteger();
+    private static Path file;
+
+    private TestDatabase() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Point DatabaseConnection at the scratch file; call before the first DAO is used
+     */
+    public static synchronized Path use() {
+        if (file == null) {
+            try {
+                file = Files.createTempFile("slu-test-", ".db");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (String suffix : new String[] {"", "-wal", "-shm"}) {
+                Path.of(file + suffix).toFile().deleteOnExit();
+            }
+            System.setProperty("slu.db.url", "jdbc:sqlite:" + file);
+        }
+        return file;
+    }
+
+    /**
+     * Open a connection outside DatabaseConnection, standing in for another
+     * process writing to the same file
+     */
+    public static Connection openForeign() throws SQLException {
+        return DriverManager.getConnection("jdbc:sqlite:" + use());
+    }
+
+    /**
+     * Create a student whose student number no other test uses
+     */
+    public static Student createStudent() {
+        use();
+        int n = NEXT_STUDENT.incrementAndGet();
+        String number = String.format("T%07d", n);
+        Student student = new Student(number, "Test", null, "Student " + n, "BSCS", 1,
+                                      number.toLowerCase() + "@test.slu.edu.ph", "not-a-hash");
+        if (!new StudentDAO().createStudent(student)) {
+            throw new IllegalStateException("Could not create test student " + number);
+        }
+        return student;
+    }
+
+    /**
+     * Create a current-term account for the student
+     */
+    public static Account createAccount(Student student, Money totalAssessment) {
+        Account account = new Account(student.getId(), AcademicTerm.CURRENT.getSemester(),
+                                      AcademicTerm.CURRENT.getAcademicYear(), totalAssessment);
+        if (!new AccountDAO().createAccount(account)) {
+            throw new IllegalStateException("Could not create account for " + student.getStudentNumber());
+        }
+        return account;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,267 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.model.AcademicTerm;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.PaymentReceipt;
+import edu.slu.accounts.model.Student;
+import edu.slu.accounts.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountDAOTest {
+    private final AccountDAO accountDAO = new AccountDAO();
+
+    @Test
+    void cachedLookupSeesCommittedUpdates() {
+        Student student = TestDatabase.createStudent();
+        TestDatabase.createAccount(student, Money.of(30000.0));
+
+        Account loaded = accountDAO.findByStudentId(student.getId()).orElseThrow();
+        long hitsBefore = AccountDAO.getCacheStats().getHits();
+        accountDAO.findByStudentId(student.getId()).orElseThrow();
+        assertEquals(hitsBefore + 1, AccountDAO.getCacheStats().getHits());
+
+        loaded.processPayment(Money.of(10000.0));
+        assertTrue(accountDAO.updateAccount(loaded));
+
+        Account reread = accountDAO.findByStudentId(student.getId()).orElseThrow();
+        assertEquals(Money.of(10000.0), reread.getTotalPaid());
+        assertEquals(Money.of(20000.0), reread.getRemainingBalance());
+    }
+
+    @Test
+    void otherProcessWritesAreSeenAfterTheVersionCheck() throws SQLException, InterruptedException {
+        Student student = TestDatabase.createStudent();
+        Account account = TestDatabase.createAccount(student, Money.of(30000.0));
+        accountDAO.findByStudentId(student.getId()).orElseThrow();
+
+        try (Connection conn = TestDatabase.openForeign();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 "UPDATE accounts SET total_paid = 1500000, remaining_balance = 1500000 WHERE id = ?")) {
+            pstmt.setString(1, account.getId());
+            assertEquals(1, pstmt.executeUpdate());
+        }
+
+        // The version is checked once per interval; until then the cached balance may be served
+        assertTrue(eventually(() -> Money.of(15000.0).equals(
+            accountDAO.findByStudentId(student.getId()).orElseThrow().getTotalPaid())));
+        assertEquals(Money.of(15000.0), accountDAO.findByStudentId(student.getId()).orElseThrow().getRemainingBalance());
+    }
+
+    @Test
+    void callersGetTheirOwnCopy() {
+        Student student = TestDatabase.createStudent();
+        TestDatabase.createAccount(student, Money.of(30000.0));
+
+        Account first = accountDAO.findByStudentId(student.getId()).orElseThrow();
+        first.processPayment(Money.of(5000.0));
+
+        Account second = accountDAO.findByStudentId(student.getId()).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals(Money.ZERO, second.getTotalPaid());
+    }
+
+    @Test
+    void postedPaymentRecordsLedgerAndBalanceTogether() {
+        Student student = TestDatabase.createStudent();
+        Account account = TestDatabase.createAccount(student, Money.of(30000.0));
+
+        PaymentReceipt receipt = accountDAO.postPayment(payment(student, account, "REF-POST", 12000.0)).orElseThrow();
+        assertEquals(Money.of(12000.0), receipt.getAmount());
+        assertEquals(Money.of(18000.0), receipt.getRemainingBalance());
+        assertTrue(receipt.getQueueWaitNanos() >= 0);
+        assertTrue(receipt.getExecutionNanos() > 0);
+        assertTrue(receipt.getTotalNanos() >= receipt.getExecutionNanos());
+
+        Account stored = accountDAO.findByStudentIdUncached(student.getId()).orElseThrow();
+        assertEquals(Money.of(12000.0), stored.getTotalPaid());
+        List<Transaction> history = new TransactionDAO().findByStudentId(student.getId());
+        assertEquals(1, history.size());
+        assertEquals(receipt.getTransactionId(), history.get(0).getId());
+        assertEquals(Money.of(-12000.0), history.get(0).getAmount());
+    }
+
+    @Test
+    void failedBalanceUpdateLeavesNoLedgerEntry() throws SQLException {
+        Student student = TestDatabase.createStudent();
+        Account account = TestDatabase.createAccount(student, Money.of(30000.0));
+        accountDAO.findByStudentId(student.getId()).orElseThrow();
+
+        String trigger = "block_" + account.getId().replaceAll("\\W", "_");
+        try (Connection conn = TestDatabase.openForeign(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TRIGGER " + trigger + " BEFORE UPDATE ON accounts WHEN NEW.id = '"
+                         + account.getId() + "' BEGIN SELECT RAISE(ABORT, 'blocked'); END");
+        }
+        try {
+            assertTrue(accountDAO.postPayment(payment(student, account, "REF-BLOCKED", 5000.0)).isEmpty());
+        } finally {
+            try (Connection conn = TestDatabase.openForeign(); Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TRIGGER " + trigger);
+            }
+        }
+
+        assertTrue(new TransactionDAO().findByStudentId(student.getId()).isEmpty());
+        assertEquals(Money.ZERO, accountDAO.findByStudentIdUncached(student.getId()).orElseThrow().getTotalPaid());
+        assertEquals(Money.ZERO, accountDAO.findByStudentId(student.getId()).orElseThrow().getTotalPaid());
+    }
+
+    @Test
+    void concurrentPaymentsOnOneAccountAreAllApplied() {
+        Student student = TestDatabase.createStudent();
+        Account account = TestDatabase.createAccount(student, Money.of(30000.0));
+
+        List<CompletableFuture<PaymentReceipt>> receipts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            receipts.add(accountDAO.postPaymentAsync(payment(student, account, "REF-C" + i, 500.0)));
+        }
+        receipts.forEach(CompletableFuture::join);
+
+        Account stored = accountDAO.findByStudentIdUncached(student.getId()).orElseThrow();
+        assertEquals(Money.of(10000.0), stored.getTotalPaid());
+        assertEquals(Money.of(20000.0), stored.getRemainingBalance());
+        assertEquals(Money.of(10000.0), accountDAO.findByStudentId(student.getId()).orElseThrow().getTotalPaid());
+        assertEquals(20, new TransactionDAO().findByStudentId(student.getId()).size());
+    }
+
+    @Test
+    void everyWriteGivesTheAccountANewVersion() {
+        Student student = TestDatabase.createStudent();
+        Account account = TestDatabase.createAccount(student, Money.of(30000.0));
+        List<Long> versions = new CopyOnWriteArrayList<>();
+        AccountDAO.addCommitListener((written, tableVersion) -> {
+            if (written.getId().equals(account.getId())) {
+                versions.add(written.getUpdatedAtMillis());
+            }
+        });
+
+        // Queued together, the payments commit in one batch within the same few milliseconds
+        List<CompletableFuture<PaymentReceipt>> receipts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            receipts.add(accountDAO.postPaymentAsync(payment(student, account, "REF-V" + i, 100.0)));
+        }
+        receipts.forEach(CompletableFuture::join);
+
+        assertEquals(20, versions.size());
+        for (int i = 1; i < versions.size(); i++) {
+            assertTrue(versions.get(i) > versions.get(i - 1), "version " + i + " of " + versions);
+        }
+        assertEquals(versions.get(19), accountDAO.findById(account.getId()).orElseThrow().getUpdatedAtMillis());
+    }
+
+    @Test
+    void streamReadsTheSameAccountsAsTheList() {
+        TestDatabase.createAccount(TestDatabase.createStudent(), Money.of(30000.0));
+
+        List<String> streamed;
+        try (Stream<Account> accounts = accountDAO.streamAll()) {
+            streamed = accounts.map(Account::getId).toList();
+        }
+        assertEquals(accountDAO.findAll().stream().map(Account::getId).toList(), streamed);
+    }
+
+    @Test
+    void mappedAccountMatchesTheWrittenOne() {
+        Student student = TestDatabase.createStudent();
+        Account written = TestDatabase.createAccount(student, Money.of(30000.0));
+        written.processPayment(Money.of(12345.67));
+        assertTrue(accountDAO.updateAccount(written));
+
+        Account read = accountDAO.findById(written.getId()).orElseThrow();
+        assertEquals(written.getStudentId(), read.getStudentId());
+        assertEquals(written.getSemester(), read.getSemester());
+        assertEquals(written.getAcademicYear(), read.getAcademicYear());
+        assertEquals(written.getTotalAssessment(), read.getTotalAssessment());
+        assertEquals(written.getTotalPaid(), read.getTotalPaid());
+        assertEquals(written.getRemainingBalance(), read.getRemainingBalance());
+        assertEquals(written.getPrelimAmountDue(), read.getPrelimAmountDue());
+        assertEquals(written.getMidtermAmountDue(), read.getMidtermAmountDue());
+        assertEquals(written.getFinalAmountDue(), read.getFinalAmountDue());
+        assertEquals(written.getPrelimStatus(), read.getPrelimStatus());
+        assertEquals(written.getMidtermStatus(), read.getMidtermStatus());
+        assertEquals(written.getFinalStatus(), read.getFinalStatus());
+        assertEquals(written.getExamPermission(), read.getExamPermission());
+        assertEquals(written.getCreatedAtMillis(), read.getCreatedAtMillis());
+    }
+
+    @Test
+    void statusProjectionsMatchTheWholeAccount() {
+        Student student = TestDatabase.createStudent();
+        Account account = TestDatabase.createAccount(student, Money.of(30000.0));
+        assertEquals(account.getPrelimStatus(), accountDAO.findPrelimStatus(student.getId()).orElseThrow());
+        assertEquals(account.getExamPermission(), accountDAO.findExamPermission(student.getId()).orElseThrow());
+
+        Account.PaymentStatus unpaid = account.getPrelimStatus();
+        account.processPayment(account.getPrelimAmountDue());
+        assertNotEquals(unpaid, account.getPrelimStatus());
+        assertTrue(accountDAO.updateAccount(account));
+        assertEquals(account.getPrelimStatus(), accountDAO.findPrelimStatus(student.getId()).orElseThrow());
+        assertEquals(account.getExamPermission(), accountDAO.findExamPermission(student.getId()).orElseThrow());
+
+        assertTrue(accountDAO.findPrelimStatus("no-such-student").isEmpty());
+        assertTrue(accountDAO.findExamPermission("no-such-student").isEmpty());
+    }
+
+    @Test
+    void multiGetFindsAccountsForTheTermOnly() {
+        Student current = TestDatabase.createStudent();
+        Student previous = TestDatabase.createStudent();
+        Account currentAccount = TestDatabase.createAccount(current, Money.of(30000.0));
+        AcademicTerm earlier = new AcademicTerm("SECOND SEMESTER", "2024-2025");
+        assertTrue(accountDAO.createAccount(new Account(previous.getId(), earlier.getSemester(),
+                                                        earlier.getAcademicYear(), Money.of(20000.0))));
+
+        List<String> studentIds = new ArrayList<>();
+        for (int i = 0; i < InListQuery.MAX_CHUNK_SIZE; i++) {
+            studentIds.add("missing-" + i);
+        }
+        studentIds.add(current.getId());
+        studentIds.add(previous.getId());
+
+        Map<String, Account> found = accountDAO.findByStudentIds(studentIds);
+        assertEquals(Set.of(current.getId()), found.keySet());
+        assertEquals(currentAccount.getId(), found.get(current.getId()).getId());
+
+        Map<String, Account> earlierFound = accountDAO.findByStudentIds(studentIds, earlier);
+        assertEquals(Set.of(previous.getId()), earlierFound.keySet());
+        assertEquals(Money.of(20000.0), earlierFound.get(previous.getId()).getTotalAssessment());
+    }
+
+    private static Transaction payment(Student student, Account account, String reference, double amount) {
+        return new Transaction(student.getId(), account.getId(), Transaction.TransactionType.PAYMENT,
+                               "PAYMENT RECEIVED (" + reference + ")", Money.of(-amount), "CASH", reference);
+    }
+
+    /**
+     * Poll the condition for up to five seconds
+     */
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.model.Grade;
+import edu.slu.accounts.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GradeDAOTest {
+    private final GradeDAO gradeDAO = new GradeDAO();
+    private Student student;
+
+    @BeforeEach
+    void createStudent() {
+        student = TestDatabase.createStudent();
+    }
+
+    @Test
+    void upsertUpdatesTheRowWithTheSameNaturalKey() {
+        Grade first = grade("CS101", 85.0);
+        assertArrayEquals(new boolean[] {true}, gradeDAO.upsertGrades(List.of(first)));
+        String storedId = first.getId();
+
+        Grade second = grade("CS101", 92.0);
+        assertArrayEquals(new boolean[] {true}, gradeDAO.upsertGrades(List.of(second)));
+
+        List<Grade> stored = gradeDAO.findByStudentIdAndSemester(student.getId(), "1st", "2024-2025");
+        assertEquals(1, stored.size());
+        assertEquals(storedId, stored.get(0).getId());
+        assertEquals(92.0, stored.get(0).getPrelimGrade());
+    }
+
+    @Test
+    void upsertHandsBackTheStoredRowId() {
+        Grade first = grade("CS102", 85.0);
+        gradeDAO.upsertGrades(List.of(first));
+
+        Grade second = grade("CS102", 88.0);
+        Grade added = grade("CS103", 75.0);
+        gradeDAO.upsertGrades(List.of(second, added));
+
+        assertEquals(first.getId(), second.getId());
+        assertNotEquals(first.getId(), added.getId());
+        assertEquals(88.0, gradeDAO.findById(second.getId()).orElseThrow().getPrelimGrade());
+        assertEquals(75.0, gradeDAO.findById(added.getId()).orElseThrow().getPrelimGrade());
+    }
+
+    @Test
+    void upsertedNullClearsTheStoredGrade() {
+        Grade graded = grade("CS104", 85.0);
+        graded.setRemarks("PASSED");
+        gradeDAO.upsertGrades(List.of(graded));
+
+        Grade cleared = grade("CS104", null);
+        gradeDAO.upsertGrades(List.of(cleared));
+
+        Grade stored = gradeDAO.findById(graded.getId()).orElseThrow();
+        assertNull(stored.getPrelimGrade());
+        assertNull(stored.getRemarks());
+    }
+
+    @Test
+    void gpaFollowsGradeWrites() {
+        Grade first = grade("CS201", 80.0);
+        first.setSemesterGrade(80.0);
+        Grade second = grade("CS202", 90.0);
+        second.setSemesterGrade(91.0);
+        gradeDAO.upsertGrades(List.of(first, second));
+        assertEquals(85.5, gradeDAO.getStudentGPA(student.getId(), "1st", "2024-2025"), 1e-9);
+
+        second.setSemesterGrade(null);
+        gradeDAO.upsertGrades(List.of(second));
+        assertEquals(80.0, gradeDAO.getStudentGPA(student.getId(), "1st", "2024-2025"), 1e-9);
+        assertEquals(0.0, gradeDAO.getStudentGPA(student.getId(), "2nd", "2024-2025"));
+    }
+
+    @Test
+    void batchInsertSkipsADuplicateSubjectOnly() {
+        Grade first = grade("CS301", 80.0);
+        Grade duplicate = grade("CS301", 99.0);
+        Grade other = grade("CS302", 70.0);
+
+        assertArrayEquals(new boolean[] {true, false, true}, gradeDAO.createGrades(List.of(first, duplicate, other)));
+
+        List<Grade> stored = gradeDAO.findByStudentIdAndSemester(student.getId(), "1st", "2024-2025");
+        assertEquals(2, stored.size());
+        assertEquals(80.0, gradeDAO.findById(first.getId()).orElseThrow().getPrelimGrade());
+        assertEquals(70.0, gradeDAO.findById(other.getId()).orElseThrow().getPrelimGrade());
+    }
+
+    private Grade grade(String subjectCode, Double prelimGrade) {
+        Grade grade = new Grade(student.getId(), subjectCode, "Subject " + subjectCode, 3.0, "1st", "2024-2025");
+        grade.setPrelimGrade(prelimGrade);
+        return grade;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.util.DatabaseConnection;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs EXPLAIN QUERY PLAN for every DAO statement against a freshly migrated
+ * scratch database and fails any that scans a whole table or sorts through a
+ * temporary B-tree instead of using an index. A new DAO statement belongs in
+ * the list below.
+ */
+class QueryPlanAuditTest {
+    private static final Map<String, String> STATEMENTS = new LinkedHashMap<>();
+
+    // Whole-table reports that are expected to scan
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+        "AccountDAO.findAll",
+        "TransactionDAO.findAll",
+        "StudentDAO.findAll",
+        "StudentDAO.findAllIds",
+        "ReportDAO.findBalancesByCourseAndYear",
+        "PaymentMethodDAO.findAll",
+        "StudentNumberIndex.rebuild"
+    );
+
+    static {
+        STATEMENTS.put("AccountDAO.createAccount", AccountDAO.CREATE_ACCOUNT_SQL);
+        STATEMENTS.put("AccountDAO.findByStudentIdAndSemester", AccountDAO.FIND_BY_STUDENT_ID_AND_SEMESTER_SQL);
+        STATEMENTS.put("AccountDAO.findByStudentIds", InListQuery.expand(AccountDAO.FIND_BY_STUDENT_IDS_AND_SEMESTER_SQL, 2));
+        STATEMENTS.put("AccountDAO.findPrelimStatus", AccountDAO.FIND_PRELIM_STATUS_SQL);
+        STATEMENTS.put("AccountDAO.findExamPermission", AccountDAO.FIND_EXAM_PERMISSION_SQL);
+        STATEMENTS.put("AccountDAO.findById", AccountDAO.FIND_BY_ID_SQL);
+        STATEMENTS.put("AccountDAO.updateAccount", AccountDAO.UPDATE_ACCOUNT_SQL);
+        STATEMENTS.put("AccountDAO.findUpdatedAt", AccountDAO.FIND_UPDATED_AT_SQL);
+        STATEMENTS.put("AccountDAO.findAll", AccountDAO.FIND_ALL_SQL);
+        STATEMENTS.put("AccountDAO.findUnpaidPrelims", AccountDAO.FIND_UNPAID_PRELIMS_SQL);
+        STATEMENTS.put("AccountDAO.findVersion", AccountDAO.FIND_VERSION_SQL);
+
+        STATEMENTS.put("TransactionDAO.createTransaction", TransactionDAO.CREATE_TRANSACTION_SQL);
+        STATEMENTS.put("TransactionDAO.findByStudentId", TransactionDAO.FIND_BY_STUDENT_ID_SQL);
+        STATEMENTS.put("TransactionDAO.findByAccountId", TransactionDAO.FIND_BY_ACCOUNT_ID_SQL);
+        STATEMENTS.put("TransactionDAO.findByAccountIds", InListQuery.expand(TransactionDAO.FIND_BY_ACCOUNT_IDS_SQL, 2));
+        STATEMENTS.put("TransactionDAO.findPageByStudentId (first)", TransactionDAO.FIND_FIRST_PAGE_BY_STUDENT_ID_SQL);
+        STATEMENTS.put("TransactionDAO.findPageByStudentId (next)", TransactionDAO.FIND_NEXT_PAGE_BY_STUDENT_ID_SQL);
+        STATEMENTS.put("TransactionDAO.findPageByAccountId (first)", TransactionDAO.FIND_FIRST_PAGE_BY_ACCOUNT_ID_SQL);
+        STATEMENTS.put("TransactionDAO.findPageByAccountId (next)", TransactionDAO.FIND_NEXT_PAGE_BY_ACCOUNT_ID_SQL);
+        STATEMENTS.put("TransactionDAO.findById", TransactionDAO.FIND_BY_ID_SQL);
+        STATEMENTS.put("TransactionDAO.findAll", TransactionDAO.FIND_ALL_SQL);
+        STATEMENTS.put("TransactionDAO.findPaymentsByStudentId", TransactionDAO.FIND_PAYMENTS_BY_STUDENT_ID_SQL);
+        STATEMENTS.put("TransactionDAO.updateTransactionStatus", TransactionDAO.UPDATE_TRANSACTION_STATUS_SQL);
+        STATEMENTS.put("TransactionDAO.getTotalPaymentsByStudentId", TransactionDAO.GET_TOTAL_PAYMENTS_BY_STUDENT_ID_SQL);
+        STATEMENTS.put("TransactionDAO.findLedgerVersion", TransactionDAO.FIND_LEDGER_VERSION_SQL);
+
+        STATEMENTS.put("GradeDAO.createGrade", GradeDAO.CREATE_GRADE_SQL);
+        STATEMENTS.put("GradeDAO.upsertGrades", GradeDAO.UPSERT_GRADE_SQL);
+        STATEMENTS.put("GradeDAO.upsertGrades (stored IDs)", GradeDAO.FIND_ID_BY_NATURAL_KEY_SQL);
+        STATEMENTS.put("GradeDAO.findByStudentIdAndSemester", GradeDAO.FIND_BY_STUDENT_ID_AND_SEMESTER_SQL);
+        STATEMENTS.put("GradeDAO.findById", GradeDAO.FIND_BY_ID_SQL);
+        STATEMENTS.put("GradeDAO.updateGrade", GradeDAO.UPDATE_GRADE_SQL);
+        STATEMENTS.put("GradeDAO.updatePrelimGrade", GradeDAO.UPDATE_PRELIM_GRADE_SQL);
+        STATEMENTS.put("GradeDAO.updatePrelimGrade (by subject)", GradeDAO.UPDATE_PRELIM_GRADE_BY_SUBJECT_SQL);
+        STATEMENTS.put("GradeDAO.findTermSummary", GradeDAO.FIND_TERM_SUMMARY_SQL);
+
+        STATEMENTS.put("ReportDAO.findBalancesByCourseAndYear", ReportDAO.FIND_BALANCES_BY_COURSE_AND_YEAR_SQL);
+        STATEMENTS.put("ReportDAO.findCollectionsByPaymentMethod", ReportDAO.FIND_COLLECTIONS_BY_PAYMENT_METHOD_SQL);
+
+        STATEMENTS.put("PaymentMethodDAO.findAll", PaymentMethodDAO.FIND_ALL_SQL);
+        STATEMENTS.put("PaymentMethodDAO.findVersion", PaymentMethodDAO.FIND_VERSION_SQL);
+
+        STATEMENTS.put("StudentDAO.createStudent", StudentDAO.CREATE_STUDENT_SQL);
+        STATEMENTS.put("StudentDAO.findByStudentNumber", StudentDAO.FIND_BY_STUDENT_NUMBER_SQL);
+        STATEMENTS.put("StudentDAO.findById", StudentDAO.FIND_BY_ID_SQL);
+        STATEMENTS.put("StudentDAO.findByIds", InListQuery.expand(StudentDAO.FIND_BY_IDS_SQL, 2));
+        STATEMENTS.put("StudentDAO.findAll", StudentDAO.FIND_ALL_SQL);
+        STATEMENTS.put("StudentDAO.findAllIds", StudentDAO.FIND_ALL_IDS_SQL);
+        STATEMENTS.put("StudentDAO.updateStudent", StudentDAO.UPDATE_STUDENT_SQL);
+        STATEMENTS.put("StudentDAO.deleteStudent", StudentDAO.DELETE_STUDENT_SQL);
+        STATEMENTS.put("StudentDAO.studentNumberExists", StudentDAO.STUDENT_NUMBER_EXISTS_SQL);
+        STATEMENTS.put("StudentNumberIndex.rebuild", StudentNumberIndex.FIND_ALL_STUDENT_NUMBERS_SQL);
+        STATEMENTS.put("StudentNumberIndex.checkForChanges", StudentNumberIndex.FIND_VERSION_SQL);
+    }
+
+    @BeforeAll
+    static void migrateScratchDatabase() {
+        TestDatabase.use();
+        assertTrue(DatabaseConnection.testConnection());
+    }
+
+    @TestFactory
+    Stream<DynamicTest> everyStatementUsesAnIndex() {
+        return STATEMENTS.entrySet().stream()
+            .filter(entry -> !FULL_SCAN_ALLOWED.contains(entry.getKey()))
+            .map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> {
+                for (String detail : explain(entry.getValue())) {
+                    if (detail.startsWith("SCAN ") || detail.startsWith("USE TEMP B-TREE")) {
+                        fail(entry.getKey() + ": " + detail);
+                    }
+                }
+            }));
+    }
+
+    @Test
+    void fullScanAllowancesNameAuditedStatements() {
+        assertTrue(STATEMENTS.keySet().containsAll(FULL_SCAN_ALLOWED),
+                   () -> "Unknown statements allowed to scan: " + FULL_SCAN_ALLOWED);
+    }
+
+    /**
+     * Get the plan detail lines for a statement; parameters are left unbound
+     */
+    private static List<String> explain(String sql) throws SQLException {
+        List<String> details = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                details.add(rs.getString("detail"));
+            }
+        }
+
+        return details;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.model.AcademicTerm;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.BalanceSummary;
+import edu.slu.accounts.model.CollectionSummary;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.Student;
+import edu.slu.accounts.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportDAOTest {
+    private final ReportDAO reportDAO = new ReportDAO();
+    private final AccountDAO accountDAO = new AccountDAO();
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+
+    @Test
+    void balancesOfOneGroupAddUp() {
+        String course = "COURSE-" + System.nanoTime();
+        Account paid = account(student(course, 2), 30000.0);
+        paid.processPayment(paid.getPrelimAmountDue());
+        assertTrue(accountDAO.updateAccount(paid));
+        Account unpaid = account(student(course, 2), 20000.0);
+        account(student(course, 3), 10000.0);
+
+        BalanceSummary second = find(course, 2);
+        assertEquals(2, second.getAccountCount());
+        assertEquals(paid.getRemainingBalance().plus(unpaid.getRemainingBalance()), second.getOutstandingBalance());
+        assertEquals(1, second.getUnpaidPrelimCount());
+        assertEquals(unpaid.getPrelimAmountDue(), second.getUnpaidPrelimAmount());
+
+        BalanceSummary third = find(course, 3);
+        assertEquals(1, third.getAccountCount());
+        assertEquals(Money.of(10000.0), third.getOutstandingBalance());
+    }
+
+    @Test
+    void balancesMatchTotalsSummedInJava() {
+        account(TestDatabase.createStudent(), 25000.0);
+
+        Map<String, Student> students = new HashMap<>();
+        for (Student student : new StudentDAO().findAll()) {
+            students.put(student.getId(), student);
+        }
+        Map<String, Money> expected = new HashMap<>();
+        for (Account account : accountDAO.findAll()) {
+            if (!account.getSemester().equals(AcademicTerm.CURRENT.getSemester())
+                || !account.getAcademicYear().equals(AcademicTerm.CURRENT.getAcademicYear())) {
+                continue;
+            }
+            Student student = students.get(account.getStudentId());
+            expected.merge(student.getCourse() + "/" + student.getYearLevel(), account.getRemainingBalance(), Money::plus);
+        }
+
+        Map<String, Money> actual = new HashMap<>();
+        for (BalanceSummary summary : reportDAO.findBalancesByCourseAndYear()) {
+            actual.put(summary.getCourse() + "/" + summary.getYearLevel(), summary.getOutstandingBalance());
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void collectionsCountCompletedPaymentsOnly() {
+        String method = "METHOD-" + System.nanoTime();
+        Student student = TestDatabase.createStudent();
+        Account account = account(student, 30000.0);
+        Transaction charge = new Transaction(student.getId(), account.getId(), Transaction.TransactionType.ASSESSMENT,
+                                             "Charge", Money.of(500.0), method, null);
+        Transaction pending = payment(student, account, method, 300.0);
+        pending.setStatus(Transaction.TransactionStatus.PENDING);
+        for (boolean inserted : transactionDAO.createTransactions(List.of(payment(student, account, method, 1000.0),
+                                                                          payment(student, account, method, 250.5),
+                                                                          charge, pending))) {
+            assertTrue(inserted);
+        }
+
+        CollectionSummary summary = reportDAO.findCollectionsByPaymentMethod().stream()
+            .filter(collection -> method.equals(collection.getPaymentMethod()))
+            .findFirst().orElseThrow();
+        assertEquals(2, summary.getPaymentCount());
+        assertEquals(Money.of(1250.5), summary.getTotalCollected());
+    }
+
+    private BalanceSummary find(String course, int yearLevel) {
+        return reportDAO.findBalancesByCourseAndYear().stream()
+            .filter(summary -> course.equals(summary.getCourse()) && summary.getYearLevel() == yearLevel)
+            .findFirst().orElseThrow();
+    }
+
+    private static Student student(String course, int yearLevel) {
+        Student student = TestDatabase.createStudent();
+        student.setCourse(course);
+        student.setYearLevel(yearLevel);
+        assertTrue(new StudentDAO().updateStudent(student));
+        return student;
+    }
+
+    private static Account account(Student student, double totalAssessment) {
+        return TestDatabase.createAccount(student, Money.of(totalAssessment));
+    }
+
+    private static Transaction payment(Student student, Account account, String method, double amount) {
+        return new Transaction(student.getId(), account.getId(), Transaction.TransactionType.PAYMENT,
+                               "Payment", Money.of(-amount), method, "REF-" + System.nanoTime());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.Student;
+import edu.slu.accounts.model.Transaction;
+import edu.slu.accounts.util.DatabaseConnection;
+import edu.slu.accounts.util.TimestampCodec;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Before/after timing of row mapping: the old {@code SELECT *} with columns
+ * looked up by name on every row, against the DAOs' fixed column lists read
+ * by position, and a whole account against the one-column prelim projection.
+ *
+ * Not part of the normal test run, since the class name does not end in
+ * Test. Run it with {@code mvn test -Dtest=RowMappingBenchmark}; results are
+ * printed as time and heap allocated per row on the calling thread.
+ */
+class RowMappingBenchmark {
+    private static final int HISTORY_ROWS = Integer.getInteger("slu.bench.rows", 20_000);
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final int LOOKUPS_PER_ROUND = 2_000;
+
+    private static final String SELECT_ALL_BY_STUDENT_SQL =
+        "SELECT * FROM transactions WHERE student_id = ? ORDER BY transaction_date DESC, id DESC";
+
+    @Test
+    void compareMappers() throws Exception {
+        TestDatabase.use();
+        Student student = TestDatabase.createStudent();
+        Account account = TestDatabase.createAccount(student, Money.of(45000.0));
+        seedHistory(student, account);
+
+        TransactionDAO transactionDAO = new TransactionDAO();
+        AccountDAO accountDAO = new AccountDAO();
+
+        Result byName = measure(HISTORY_ROWS, () -> findByNameWithSelectAll(student.getId()).size());
+        Result byPosition = measure(HISTORY_ROWS, () -> transactionDAO.findByStudentId(student.getId()).size());
+        Result wholeAccount = measure(LOOKUPS_PER_ROUND, () -> {
+            for (int i = 0; i < LOOKUPS_PER_ROUND; i++) {
+                accountDAO.findByStudentIdUncached(student.getId()).orElseThrow();
+            }
+            return LOOKUPS_PER_ROUND;
+        });
+        Result projection = measure(LOOKUPS_PER_ROUND, () -> {
+            for (int i = 0; i < LOOKUPS_PER_ROUND; i++) {
+                accountDAO.findPrelimStatus(student.getId()).orElseThrow();
+            }
+            return LOOKUPS_PER_ROUND;
+        });
+
+        System.out.printf("Transaction history, %d rows per call:%n", HISTORY_ROWS);
+        System.out.println("  SELECT *, by name:      " + byName);
+        System.out.println("  column list, position:  " + byPosition);
+        System.out.println("Prelim status check, per lookup:");
+        System.out.println("  whole account:          " + wholeAccount);
+        System.out.println("  prelim_status column:   " + projection);
+    }
+
+    private static void seedHistory(Student student, Account account) {
+        List<Transaction> history = new ArrayList<>(HISTORY_ROWS);
+        for (int i = 0; i < HISTORY_ROWS; i++) {
+            Transaction payment = new Transaction(student.getId(), account.getId(), Transaction.TransactionType.PAYMENT,
+                                                  "Payment " + i, Money.of(-10.0), "CASH", "REF-" + i);
+            payment.setTransactionDateMillis(1_700_000_000_000L + i * 1000L);
+            history.add(payment);
+        }
+        boolean[] inserted = new TransactionDAO().createTransactions(history);
+        for (boolean row : inserted) {
+            assertEquals(true, row);
+        }
+    }
+
+    /**
+     * The mapping as it was before fixed column lists: every column by name
+     */
+    private static List<Transaction> findByNameWithSelectAll(String studentId) throws SQLException {
+        List<Transaction> transactions = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ALL_BY_STUDENT_SQL)) {
+            pstmt.setString(1, studentId);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                Transaction transaction = new Transaction();
+                transaction.setId(rs.getString("id"));
+                transaction.setStudentId(rs.getString("student_id"));
+                transaction.setAccountId(rs.getString("account_id"));
+                transaction.setTransactionType(Transaction.TransactionType.valueOf(rs.getString("transaction_type")));
+                transaction.setDescription(rs.getString("description"));
+                transaction.setAmount(Money.ofCentavos(rs.getLong("amount")));
+                transaction.setPaymentMethod(rs.getString("payment_method"));
+                transaction.setPaymentReference(rs.getString("payment_reference"));
+                transaction.setStatus(Transaction.TransactionStatus.valueOf(rs.getString("status")));
+                transaction.setTransactionDateMillis(TimestampCodec.read(rs, rs.findColumn("transaction_date")));
+                transactions.add(transaction);
+            }
+        }
+
+        return transactions;
+    }
+
+    /**
+     * Run the body for warm-up rounds, then time the measured rounds
+     */
+    private static Result measure(int rowsPerRound, Callable<Integer> body) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertEquals(rowsPerRound, (int) body.call());
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            body.call();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        long rows = (long) rowsPerRound * MEASURED_ROUNDS;
+        return new Result(elapsed / (double) rows, allocated / (double) rows);
+    }
+
+    private static final class Result {
+        private final double nanosPerRow;
+        private final double bytesPerRow;
+
+        private Result(double nanosPerRow, double bytesPerRow) {
+            this.nanosPerRow = nanosPerRow;
+            this.bytesPerRow = bytesPerRow;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%8.2f us/row %8.0f B/row", nanosPerRow / 1000, bytesPerRow);
+        }
+    }
+}
\ No newline at end of file
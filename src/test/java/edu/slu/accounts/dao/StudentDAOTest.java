@@ -0,0 +1,158 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.model.Student;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentDAOTest {
+    private final StudentDAO studentDAO = new StudentDAO();
+
+    @Test
+    void updateIsSeenByIdAndByNumber() {
+        Student student = TestDatabase.createStudent();
+        studentDAO.findById(student.getId()).orElseThrow();
+        studentDAO.findByStudentNumber(student.getStudentNumber()).orElseThrow();
+
+        student.setFirstName("Renamed");
+        assertTrue(studentDAO.updateStudent(student));
+
+        assertEquals("Renamed", studentDAO.findById(student.getId()).orElseThrow().getFirstName());
+        assertEquals("Renamed", studentDAO.findByStudentNumber(student.getStudentNumber()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void deleteDropsBothCacheKeys() {
+        Student student = TestDatabase.createStudent();
+        studentDAO.findById(student.getId()).orElseThrow();
+        studentDAO.findByStudentNumber(student.getStudentNumber()).orElseThrow();
+
+        assertTrue(studentDAO.deleteStudent(student.getId()));
+
+        assertTrue(studentDAO.findById(student.getId()).isEmpty());
+        assertTrue(studentDAO.findByStudentNumber(student.getStudentNumber()).isEmpty());
+    }
+
+    @Test
+    void callersGetTheirOwnCopy() {
+        Student student = TestDatabase.createStudent();
+        Student first = studentDAO.findById(student.getId()).orElseThrow();
+        first.setFirstName("Changed locally");
+
+        Student second = studentDAO.findById(student.getId()).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals("Test", second.getFirstName());
+    }
+
+    @Test
+    void unknownNumbersAreAnsweredWithoutAQuery() throws InterruptedException {
+        StudentDAO.rebuildStudentNumberFilter();
+        String unknown = "U" + System.nanoTime();
+
+        assertTrue(eventually(() -> {
+            long answeredBefore = answeredFromMemory();
+            boolean absent = studentDAO.findByStudentNumber(unknown).isEmpty() && !studentDAO.studentNumberExists(unknown);
+            return absent && answeredFromMemory() > answeredBefore;
+        }));
+    }
+
+    @Test
+    void numberLookedUpBeforeItWasCreatedIsFound() {
+        StudentDAO.rebuildStudentNumberFilter();
+        Student student = new Student("N" + System.nanoTime(), "Late", null, "Arrival", "BSCS", 1,
+                                      "late" + System.nanoTime() + "@test.slu.edu.ph", "not-a-hash");
+        assertFalse(studentDAO.studentNumberExists(student.getStudentNumber()));
+        assertFalse(studentDAO.studentNumberExists(student.getStudentNumber()));
+
+        assertTrue(studentDAO.createStudent(student));
+
+        assertTrue(studentDAO.studentNumberExists(student.getStudentNumber()));
+        assertEquals(student.getId(), studentDAO.findByStudentNumber(student.getStudentNumber()).orElseThrow().getId());
+    }
+
+    @Test
+    void deletedNumberCanBeCreatedAgain() {
+        StudentDAO.rebuildStudentNumberFilter();
+        Student student = TestDatabase.createStudent();
+        assertTrue(studentDAO.deleteStudent(student.getId()));
+        assertFalse(studentDAO.studentNumberExists(student.getStudentNumber()));
+
+        student.setId(null);
+        assertTrue(studentDAO.createStudent(student));
+        assertTrue(studentDAO.studentNumberExists(student.getStudentNumber()));
+    }
+
+    @Test
+    void studentCreatedByAnotherProcessIsFound() throws Exception {
+        StudentDAO.rebuildStudentNumberFilter();
+        String number = "F" + System.nanoTime();
+        assertFalse(studentDAO.studentNumberExists(number));
+
+        try (Connection conn = TestDatabase.openForeign();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 "INSERT INTO students (id, student_number, first_name, last_name, course, year_level, email, password) "
+                 + "VALUES (?, ?, 'Other', 'Process', 'BSCS', 1, ?, 'not-a-hash')")) {
+            pstmt.setString(1, "foreign-" + number);
+            pstmt.setString(2, number);
+            pstmt.setString(3, number + "@test.slu.edu.ph");
+            pstmt.executeUpdate();
+        }
+
+        // The version is checked once per interval; after that the database answers
+        assertTrue(eventually(() -> studentDAO.studentNumberExists(number)));
+        assertTrue(studentDAO.findByStudentNumber(number).isPresent());
+    }
+
+    @Test
+    void multiGetFindsStudentsAcrossChunks() {
+        Student first = TestDatabase.createStudent();
+        Student middle = TestDatabase.createStudent();
+        Student last = TestDatabase.createStudent();
+
+        // More keys than one IN-list chunk holds, with duplicates and a null mixed in
+        List<String> ids = new ArrayList<>();
+        ids.add(first.getId());
+        for (int i = 0; i < InListQuery.MAX_CHUNK_SIZE + 100; i++) {
+            ids.add(i == InListQuery.MAX_CHUNK_SIZE ? middle.getId() : "missing-" + i);
+        }
+        ids.add(last.getId());
+        ids.add(first.getId());
+        ids.add(null);
+
+        Map<String, Student> found = studentDAO.findByIds(ids);
+        assertEquals(Set.of(first.getId(), middle.getId(), last.getId()), found.keySet());
+        assertEquals(middle.getStudentNumber(), found.get(middle.getId()).getStudentNumber());
+        assertTrue(studentDAO.findByIds(List.of()).isEmpty());
+    }
+
+    private static long answeredFromMemory() {
+        return StudentDAO.getFilterRejections() + StudentDAO.getNegativeCacheStats().getHits();
+    }
+
+    /**
+     * Poll the condition for up to five seconds
+     */
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package edu.slu.accounts.dao;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.Student;
+import edu.slu.accounts.model.Transaction;
+import edu.slu.accounts.model.TransactionPage;
+import edu.slu.accounts.util.DatabaseConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionDAOTest {
+    private static final long BASE_MILLIS = 1_700_000_000_000L;
+
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private Student student;
+    private Account account;
+
+    @BeforeEach
+    void createAccount() {
+        student = TestDatabase.createStudent();
+        account = TestDatabase.createAccount(student, Money.of(45000.0));
+    }
+
+    @Test
+    void pagesCoverTheHistoryOnceInOrder() {
+        // Three rows share each timestamp, so the id breaks ties across page boundaries
+        insert(30, 3);
+
+        for (int pageSize : new int[] {1, 4, 7, 10, 30, 31}) {
+            assertEquals(ids(transactionDAO.findByStudentId(student.getId())), ids(walk(pageSize)), "page size " + pageSize);
+        }
+    }
+
+    @Test
+    void lastPageOfAnExactMultipleHasNoNextCursor() {
+        insert(20, 1);
+
+        TransactionPage first = transactionDAO.findPageByStudentId(student.getId(), null, 10);
+        assertTrue(first.hasMore());
+        TransactionPage second = transactionDAO.findPageByStudentId(student.getId(), first.getNextCursor(), 10);
+        assertEquals(10, second.size());
+        assertFalse(second.hasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void emptyHistoryIsOneEmptyPage() {
+        TransactionPage page = transactionDAO.findPageByStudentId(student.getId(), null, 10);
+        assertEquals(0, page.size());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void newerRowsDoNotShiftLaterPages() {
+        insert(10, 1);
+        TransactionPage first = transactionDAO.findPageByStudentId(student.getId(), null, 5);
+
+        Transaction newest = payment(99);
+        newest.setTransactionDateMillis(BASE_MILLIS + 1_000_000);
+        assertTrue(transactionDAO.createTransaction(newest));
+
+        TransactionPage second = transactionDAO.findPageByStudentId(student.getId(), first.getNextCursor(), 5);
+        List<String> seen = new ArrayList<>(ids(first.getTransactions()));
+        seen.addAll(ids(second.getTransactions()));
+        List<String> expected = ids(transactionDAO.findByStudentId(student.getId()));
+        expected.remove(newest.getId());
+        assertEquals(expected, seen);
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    void accountPagesMatchStudentPages() {
+        insert(12, 2);
+        TransactionPage byStudent = transactionDAO.findPageByStudentId(student.getId(), null, 5);
+        TransactionPage byAccount = transactionDAO.findPageByAccountId(account.getId(), null, 5);
+        assertEquals(ids(byStudent.getTransactions()), ids(byAccount.getTransactions()));
+    }
+
+    @Test
+    void rejectsAnEmptyPageSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> transactionDAO.findPageByStudentId(student.getId(), null, 0));
+    }
+
+    @Test
+    void batchReportsEachRowAndKeepsTheOthers() {
+        Transaction first = payment(0);
+        Transaction duplicate = payment(1);
+        Transaction last = payment(2);
+        assertTrue(transactionDAO.createTransactions(List.of(first))[0]);
+
+        duplicate.setId(first.getId());
+        boolean[] inserted = transactionDAO.createTransactions(List.of(payment(3), duplicate, last));
+        assertTrue(inserted[0]);
+        assertFalse(inserted[1]);
+        assertTrue(inserted[2]);
+
+        List<Transaction> stored = transactionDAO.findByStudentId(student.getId());
+        assertEquals(3, stored.size());
+        assertTrue(ids(stored).contains(last.getId()));
+        assertEquals("Payment 0", stored.stream()
+            .filter(transaction -> transaction.getId().equals(first.getId()))
+            .findFirst().orElseThrow().getDescription());
+    }
+
+    @Test
+    void emptyBatchWritesNothing() {
+        assertEquals(0, transactionDAO.createTransactions(List.of()).length);
+        assertTrue(transactionDAO.findByStudentId(student.getId()).isEmpty());
+    }
+
+    @Test
+    void streamReadsTheSameRowsAsTheList() {
+        insert(10, 1);
+
+        List<String> streamed;
+        try (Stream<Transaction> transactions = transactionDAO.streamAll()) {
+            streamed = ids(transactions.toList());
+        }
+        assertEquals(ids(transactionDAO.findAll()), streamed);
+    }
+
+    @Test
+    void closedStreamsReturnTheirConnection() {
+        insert(2, 1);
+
+        // Leaked connections would exhaust the read pool long before the loop ends
+        for (int i = 0; i < DatabaseConnection.getReadPoolSize() * 3; i++) {
+            try (Stream<Transaction> transactions = transactionDAO.streamAll()) {
+                assertTrue(transactions.findFirst().isPresent());
+            }
+        }
+        assertEquals(2, transactionDAO.findByStudentId(student.getId()).size());
+    }
+
+    @Test
+    void multiGetGroupsTransactionsByAccountNewestFirst() {
+        insert(5, 1);
+        Student other = TestDatabase.createStudent();
+        Account otherAccount = TestDatabase.createAccount(other, Money.of(45000.0));
+        Transaction otherPayment = new Transaction(other.getId(), otherAccount.getId(), Transaction.TransactionType.PAYMENT,
+                                                   "Other payment", Money.of(-50.0), "CASH", "REF-" + other.getStudentNumber());
+        assertTrue(transactionDAO.createTransactions(List.of(otherPayment))[0]);
+
+        Map<String, List<Transaction>> found =
+            transactionDAO.findByAccountIds(List.of(account.getId(), otherAccount.getId(), "missing"));
+        assertEquals(Set.of(account.getId(), otherAccount.getId()), found.keySet());
+        assertEquals(ids(transactionDAO.findByStudentId(student.getId())), ids(found.get(account.getId())));
+        assertEquals(List.of(otherPayment.getId()), ids(found.get(otherAccount.getId())));
+    }
+
+    private List<Transaction> walk(int pageSize) {
+        List<Transaction> all = new ArrayList<>();
+        TransactionPage.Cursor cursor = null;
+        do {
+            TransactionPage page = transactionDAO.findPageByStudentId(student.getId(), cursor, pageSize);
+            assertTrue(page.size() <= pageSize);
+            assertTrue(page.size() > 0 || all.isEmpty(), "empty page after " + all.size() + " rows");
+            all.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    /**
+     * Insert payments, the given number per distinct timestamp
+     */
+    private void insert(int count, int perTimestamp) {
+        List<Transaction> payments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Transaction payment = payment(i);
+            payment.setTransactionDateMillis(BASE_MILLIS + (i / perTimestamp) * 1000L);
+            payments.add(payment);
+        }
+        for (boolean inserted : transactionDAO.createTransactions(payments)) {
+            assertTrue(inserted);
+        }
+    }
+
+    private Transaction payment(int n) {
+        return new Transaction(student.getId(), account.getId(), Transaction.TransactionType.PAYMENT,
+                               "Payment " + n, Money.of(-100.0), "CASH", "REF-" + student.getStudentNumber() + "-" + n);
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        List<String> ids = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            ids.add(transaction.getId());
+        }
+        return ids;
+    }
+}
\ No newline at end of file
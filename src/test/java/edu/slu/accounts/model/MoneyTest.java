@@ -0,0 +1,72 @@
+package edu.slu.accounts.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void pesoAmountsRoundHalfUpToTheCentavo() {
+        assertEquals(1, Money.of(0.005).getCentavos());
+        assertEquals(0, Money.of(0.004).getCentavos());
+        assertEquals(-1, Money.of(-0.005).getCentavos());
+        assertEquals(902000, Money.of(9020.0).getCentavos());
+        // 1.015 has no exact binary form; the decimal the user typed is what rounds
+        assertEquals(102, Money.of(1.015).getCentavos());
+    }
+
+    @Test
+    void parsedAmountsRoundTheSameWay() {
+        assertEquals(902000, Money.parse(" 9020.00 ").getCentavos());
+        assertEquals(2551, Money.parse("25.505").getCentavos());
+        assertEquals(-2551, Money.parse("-25.505").getCentavos());
+        assertThrows(NumberFormatException.class, () -> Money.parse("12,50"));
+    }
+
+    @Test
+    void sharesAndPercentagesRoundHalfUp() {
+        Money assessment = Money.ofCentavos(1_000_001);
+        assertEquals(333_334, assessment.times(1 / 3.0).getCentavos());
+        assertEquals(20_000, assessment.percent(2.0).getCentavos());
+        assertEquals(50, Money.ofCentavos(1).times(50.0).getCentavos());
+        assertEquals(1, Money.ofCentavos(1).times(0.5).getCentavos());
+        assertEquals(-1, Money.ofCentavos(-1).times(0.5).getCentavos());
+    }
+
+    @Test
+    void sumsStayExactWhereDoublesDrift() {
+        Money total = Money.ZERO;
+        double drifting = 0;
+        for (int i = 0; i < 10; i++) {
+            total = total.plus(Money.of(0.1));
+            drifting += 0.1;
+        }
+        assertEquals(Money.of(1.0), total);
+        assertNotEquals(1.0, drifting);
+    }
+
+    @Test
+    void overflowFailsInsteadOfWrapping() {
+        Money max = Money.ofCentavos(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCentavos(Long.MIN_VALUE).negate());
+    }
+
+    @Test
+    void zeroIsShared() {
+        assertSame(Money.ZERO, Money.ofCentavos(0));
+        assertSame(Money.ZERO, Money.of(0.001));
+    }
+
+    @Test
+    void printsTwoDecimals() {
+        assertEquals("14850.00", Money.of(14850).toString());
+        assertEquals("-25.50", Money.parse("-25.5").toString());
+        assertEquals("-0.05", Money.ofCentavos(-5).toString());
+        assertEquals("0.00", Money.ZERO.toString());
+    }
+}
\ No newline at end of file
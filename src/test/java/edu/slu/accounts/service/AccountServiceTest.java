@@ -0,0 +1,90 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.dao.TransactionDAO;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.PaymentReceipt;
+import edu.slu.accounts.model.Student;
+import edu.slu.accounts.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountServiceTest {
+    private final AccountService accountService = new AccountService();
+    private Student student;
+    private Account account;
+
+    @BeforeEach
+    void createAccount() {
+        student = TestDatabase.createStudent();
+        account = TestDatabase.createAccount(student, Money.of(30000.0));
+    }
+
+    @Test
+    void repeatedViewsAreServedFromMemory() {
+        String first = accountService.getPaymentSummary(student.getId());
+        long hitsBefore = accountService.getRenderCacheStats().getHits();
+
+        assertSame(first, accountService.getPaymentSummary(student.getId()));
+        assertEquals(hitsBefore + 1, accountService.getRenderCacheStats().getHits());
+    }
+
+    @Test
+    void everyPaymentShowsInTheNextView() {
+        accountService.getPaymentSummary(student.getId());
+        accountService.getTransactionBreakdown(student.getId());
+
+        // Back-to-back payments often commit within the same millisecond
+        for (int i = 0; i < 50; i++) {
+            String reference = "REF-" + student.getStudentNumber() + "-" + i;
+            PaymentReceipt receipt = accountService.postPayment(student.getId(), Money.of(100.0), "CASH", reference)
+                                                   .orElseThrow();
+
+            String summary = accountService.getPaymentSummary(student.getId());
+            assertTrue(summary.contains("Your remaining balance is: ₱" + receipt.getRemainingBalance() + "\n"), summary);
+            assertTrue(accountService.getTransactionBreakdown(student.getId()).contains(reference), reference);
+        }
+
+        Account account = accountService.getStudentAccount(student.getId()).orElseThrow();
+        assertEquals(Money.of(25000.0), account.getRemainingBalance());
+    }
+
+    @Test
+    void ledgerRowsWithoutAnAccountUpdateShowInTheNextBreakdown() {
+        accountService.getTransactionBreakdown(student.getId());
+
+        Transaction adjustment = new Transaction(student.getId(), account.getId(),
+                                                 Transaction.TransactionType.ADJUSTMENT,
+                                                 "LIBRARY FINE " + student.getStudentNumber(), Money.of(50.0));
+        assertTrue(new TransactionDAO().createTransaction(adjustment));
+
+        assertTrue(accountService.getTransactionBreakdown(student.getId())
+                                 .contains("LIBRARY FINE " + student.getStudentNumber()));
+    }
+
+    @Test
+    void otherProcessesLedgerWritesShowInTheNextBreakdown() throws SQLException {
+        String description = "LAB BREAKAGE " + student.getStudentNumber();
+        assertFalse(accountService.getTransactionBreakdown(student.getId()).contains(description));
+
+        try (Connection conn = TestDatabase.openForeign();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO transactions (id, student_id, account_id, transaction_type, description, "
+                + "amount, transaction_date, status) VALUES ('foreign-" + student.getId() + "', '" + student.getId()
+                + "', '" + account.getId() + "', 'ADJUSTMENT', '" + description + "', 75.0, "
+                + System.currentTimeMillis() + ", 'COMPLETED')");
+        }
+
+        assertTrue(accountService.getTransactionBreakdown(student.getId()).contains(description));
+    }
+}
\ No newline at end of file
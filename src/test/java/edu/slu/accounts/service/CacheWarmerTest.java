@@ -0,0 +1,102 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.dao.AccountDAO;
+import edu.slu.accounts.dao.StudentDAO;
+import edu.slu.accounts.model.AcademicTerm;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheWarmerTest {
+
+    @BeforeEach
+    void createStudents() {
+        TestDatabase.use();
+        // Enough students for the workers to split the IDs into several chunks
+        for (int i = new StudentDAO().findAllIds().size(); i < 1200; i++) {
+            TestDatabase.createStudent();
+        }
+    }
+
+    @Test
+    void warmUpLoadsEveryStudentAndCurrentAccount() {
+        Student student = TestDatabase.createStudent();
+        TestDatabase.createAccount(student, Money.of(30000.0));
+
+        CacheWarmer.Report report = new CacheWarmer().warmUp();
+
+        int students = new StudentDAO().findAllIds().size();
+        long currentAccounts = new AccountDAO().findAll().stream()
+            .filter(account -> account.getSemester().equals(AcademicTerm.CURRENT.getSemester())
+                               && account.getAcademicYear().equals(AcademicTerm.CURRENT.getAcademicYear()))
+            .count();
+        assertEquals(students, report.getTotalStudents());
+        assertEquals(students, report.getStudentsLoaded());
+        assertEquals(currentAccounts, report.getAccountsLoaded());
+        assertTrue(report.getElapsed().toNanos() > 0);
+        assertTrue(report.getHeapUsedBytes() > 0);
+
+        long hitsBefore = AccountDAO.getCacheStats().getHits();
+        Account account = new AccountDAO().findByStudentId(student.getId()).orElseThrow();
+        assertEquals(Money.of(30000.0), account.getTotalAssessment());
+        assertEquals(hitsBefore + 1, AccountDAO.getCacheStats().getHits());
+        assertTrue(ExamPermissionIndex.getInstance().isReady());
+    }
+
+    @Test
+    void progressLinesNeverGoBackwards() {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            new CacheWarmer().warmUp();
+        } finally {
+            System.setOut(out);
+        }
+
+        List<Integer> percentages = new ArrayList<>();
+        Matcher matcher = Pattern.compile("warm-up (\\d+)%").matcher(captured.toString(StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            percentages.add(Integer.parseInt(matcher.group(1)));
+        }
+        assertFalse(percentages.isEmpty());
+        for (int i = 1; i < percentages.size(); i++) {
+            assertTrue(percentages.get(i) > percentages.get(i - 1), percentages.toString());
+        }
+        assertEquals(100, percentages.get(percentages.size() - 1));
+    }
+
+    @Test
+    void scheduledTimesAreReadFromTheProperty() {
+        String previous = System.getProperty("slu.warmup.times");
+        try {
+            System.setProperty("slu.warmup.times", " 06:30, 12:45 ");
+            assertEquals(List.of(LocalTime.of(6, 30), LocalTime.of(12, 45)), CacheWarmer.getScheduledTimes());
+
+            System.setProperty("slu.warmup.times", "");
+            assertTrue(CacheWarmer.getScheduledTimes().isEmpty());
+        } finally {
+            if (previous == null) {
+                System.clearProperty("slu.warmup.times");
+            } else {
+                System.setProperty("slu.warmup.times", previous);
+            }
+        }
+    }
+}
\ No newline at end of file
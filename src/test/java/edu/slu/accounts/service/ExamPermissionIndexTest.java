@@ -0,0 +1,91 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.dao.AccountDAO;
+import edu.slu.accounts.model.AcademicTerm;
+import edu.slu.accounts.model.Account;
+import edu.slu.accounts.model.ExamPeriod;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.Student;
+import edu.slu.accounts.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExamPermissionIndexTest {
+    private final ExamPermissionIndex index = ExamPermissionIndex.getInstance();
+    private final AccountService accountService = new AccountService();
+    private Student student;
+    private Account account;
+
+    @BeforeEach
+    void createAccount() throws InterruptedException {
+        TestDatabase.use();
+        index.rebuild();
+        assertTrue(eventually(index::isReady));
+        student = TestDatabase.createStudent();
+        account = TestDatabase.createAccount(student, Money.of(30000.0));
+    }
+
+    @Test
+    void committedPaymentIsVisibleAtOnce() {
+        assertFalse(index.isPermitted(student.getId(), AcademicTerm.CURRENT, ExamPeriod.PRELIM));
+        int permittedBefore = index.countPermitted(AcademicTerm.CURRENT, ExamPeriod.PRELIM);
+
+        Transaction payment = new Transaction(student.getId(), account.getId(), Transaction.TransactionType.PAYMENT,
+                                              "Prelim", account.getPrelimAmountDue().negate(), "CASH", "REF-PRELIM");
+        assertTrue(new AccountDAO().postPayment(payment).isPresent());
+
+        assertTrue(index.isPermitted(student.getId(), AcademicTerm.CURRENT, ExamPeriod.PRELIM));
+        assertFalse(index.isPermitted(student.getId(), AcademicTerm.CURRENT, ExamPeriod.MIDTERM));
+        assertEquals(permittedBefore + 1, index.countPermitted(AcademicTerm.CURRENT, ExamPeriod.PRELIM));
+        assertTrue(accountService.hasExamPermit(student.getId(), ExamPeriod.PRELIM));
+    }
+
+    @Test
+    void otherProcessWritesAreSeenAfterTheVersionCheck() throws SQLException, InterruptedException {
+        try (Connection conn = TestDatabase.openForeign();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 "UPDATE accounts SET prelim_status = 'PAID', midterm_status = 'PAID' WHERE id = ?")) {
+            pstmt.setString(1, account.getId());
+            assertEquals(1, pstmt.executeUpdate());
+        }
+
+        // The version is checked once per interval; until then the index may answer from before the write
+        assertTrue(eventually(() -> index.isReady()
+                                    && index.isPermitted(student.getId(), AcademicTerm.CURRENT, ExamPeriod.MIDTERM)));
+        assertTrue(accountService.hasExamPermit(student.getId(), ExamPeriod.PRELIM));
+        assertFalse(accountService.hasExamPermit(student.getId(), ExamPeriod.FINAL));
+    }
+
+    @Test
+    void studentsWithoutAnAccountHaveNoPermit() {
+        Student unenrolled = TestDatabase.createStudent();
+        assertFalse(index.isPermitted(unenrolled.getId(), AcademicTerm.CURRENT, ExamPeriod.PRELIM));
+        assertFalse(accountService.hasExamPermit(unenrolled.getId(), ExamPeriod.PRELIM));
+        assertFalse(index.isPermitted(student.getId(), new AcademicTerm("SUMMER", "1999-2000"), ExamPeriod.PRELIM));
+    }
+
+    /**
+     * Poll the condition for up to five seconds
+     */
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.TestDatabase;
+import edu.slu.accounts.model.Money;
+import edu.slu.accounts.model.PaymentMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentMethodRegistryTest {
+    private final String prefix = "TEST" + System.nanoTime();
+    private PaymentMethodRegistry registry;
+
+    @BeforeEach
+    void load() {
+        TestDatabase.use();
+        registry = PaymentMethodRegistry.getInstance();
+        registry.reloadIfChanged();
+    }
+
+    @AfterEach
+    void removeTestMethods() throws SQLException {
+        execute("DELETE FROM payment_methods WHERE method_code LIKE ?", prefix + "%");
+        registry.reloadIfChanged();
+    }
+
+    @Test
+    void unchangedTableIsNotReloaded() {
+        PaymentMethod first = registry.getActiveMethods().get(0);
+        long reloadsBefore = registry.getReloadCount();
+        assertFalse(registry.reloadIfChanged());
+        assertEquals(reloadsBefore, registry.getReloadCount());
+        assertSame(first, registry.findByCode(first.getMethodCode()).orElseThrow());
+    }
+
+    @Test
+    void changesAreLoadedAndQuoted() throws SQLException {
+        String code = prefix + "-A";
+        long versionBefore = registry.getVersion();
+        long reloadsBefore = registry.getReloadCount();
+        insert(code);
+        assertTrue(registry.findByCode(code).isEmpty());
+
+        assertTrue(registry.reloadIfChanged());
+        assertTrue(registry.getVersion() > versionBefore);
+        assertEquals(reloadsBefore + 1, registry.getReloadCount());
+        assertTrue(registry.getActiveMethods().stream().anyMatch(method -> method.getMethodCode().equals(code)));
+
+        PaymentMethod.PaymentCalculation quote = new PaymentService().calculatePayment(code, Money.of(1000.0));
+        assertEquals(Money.of(15.0), quote.getServiceFee());
+        assertEquals(Money.of(20.0), quote.getPercentageFee());
+        assertEquals(Money.of(1035.0), quote.getTotalAmount());
+
+        execute("UPDATE payment_methods SET is_active = 0 WHERE method_code = ?", code);
+        assertTrue(registry.reloadIfChanged());
+        assertTrue(registry.getActiveMethods().stream().noneMatch(method -> method.getMethodCode().equals(code)));
+        assertFalse(registry.findByCode(code).orElseThrow().isActive());
+        assertTrue(registry.findByCode(null).isEmpty());
+    }
+
+    @Test
+    void readersNeverSeeHalfAReload() throws Exception {
+        String first = prefix + "-1";
+        String second = prefix + "-2";
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> torn = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                List<PaymentMethod> methods = registry.getActiveMethods();
+                long matching = methods.stream().filter(method -> method.getMethodCode().startsWith(prefix)).count();
+                if (matching == 1) {
+                    torn.set(methods.toString());
+                }
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                // Both rows change in one transaction, so every snapshot has both or neither
+                try (Connection conn = TestDatabase.openForeign()) {
+                    conn.setAutoCommit(false);
+                    insert(conn, first);
+                    insert(conn, second);
+                    conn.commit();
+                }
+                registry.reloadIfChanged();
+                execute("DELETE FROM payment_methods WHERE method_code LIKE ?", prefix + "%");
+                registry.reloadIfChanged();
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertNull(torn.get());
+    }
+
+    private static void insert(Connection conn, String code) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "INSERT INTO payment_methods (id, method_name, method_code, service_fee, percentage_fee, is_active, sort_order) "
+                 + "VALUES (?, ?, ?, 1500, 2.0, 1, 99)")) {
+            pstmt.setString(1, "pm-" + code);
+            pstmt.setString(2, "Test method " + code);
+            pstmt.setString(3, code);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void insert(String code) throws SQLException {
+        try (Connection conn = TestDatabase.openForeign()) {
+            insert(conn, code);
+        }
+    }
+
+    private static void execute(String sql, String parameter) throws SQLException {
+        try (Connection conn = TestDatabase.openForeign();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, parameter);
+            pstmt.executeUpdate();
+        }
+    }
+}
\ No newline at end of file
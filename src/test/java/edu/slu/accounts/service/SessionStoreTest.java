@@ -0,0 +1,122 @@
+package edu.slu.accounts.service;
+
+import edu.slu.accounts.model.Session;
+import edu.slu.accounts.model.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionStoreTest {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    void sessionIsFoundByItsTokenUntilInvalidated() {
+        SessionStore store = new SessionStore(TimeUnit.MINUTES.toNanos(30), 100, TICK_NANOS);
+        Session session = store.create(student()).orElseThrow();
+
+        assertSame(session, store.get(session.getToken()).orElseThrow());
+        assertNull(session.getStudent().getPassword());
+        assertTrue(store.invalidate(session.getToken()));
+        assertTrue(store.get(session.getToken()).isEmpty());
+        assertFalse(store.invalidate(session.getToken()));
+        assertTrue(store.get(null).isEmpty());
+        assertEquals(0, store.getActiveCount());
+    }
+
+    @Test
+    void tokensAreUnique() {
+        SessionStore store = new SessionStore(TimeUnit.MINUTES.toNanos(30), 10_000, TICK_NANOS);
+        Set<String> tokens = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(tokens.add(store.create(student()).orElseThrow().getToken()));
+        }
+    }
+
+    @Test
+    void idleSessionsExpireWithoutBeingLookedUp() throws InterruptedException {
+        SessionStore store = new SessionStore(TimeUnit.MILLISECONDS.toNanos(100), 100, TICK_NANOS);
+        for (int i = 0; i < 10; i++) {
+            store.create(student());
+        }
+        assertEquals(10, store.getActiveCount());
+
+        assertTrue(eventually(() -> store.getActiveCount() == 0));
+        assertEquals(10, store.getExpiredCount());
+        assertEquals(0, store.getScheduledCount());
+    }
+
+    @Test
+    void useExtendsTheIdleDeadline() throws InterruptedException {
+        SessionStore store = new SessionStore(TimeUnit.MILLISECONDS.toNanos(500), 100, TICK_NANOS);
+        Session kept = store.create(student()).orElseThrow();
+        Session idle = store.create(student()).orElseThrow();
+
+        // Over two idle timeouts, touching one session every tenth of a timeout
+        for (int i = 0; i < 24; i++) {
+            Thread.sleep(50);
+            assertTrue(store.get(kept.getToken()).isPresent(), "kept session lost after " + (i + 1) * 50 + " ms");
+        }
+        assertTrue(store.get(idle.getToken()).isEmpty());
+        assertEquals(1, store.getActiveCount());
+    }
+
+    @Test
+    void fullStoreRefusesLoginsUntilASessionEnds() {
+        SessionStore store = new SessionStore(TimeUnit.MINUTES.toNanos(30), 3, TICK_NANOS);
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sessions.add(store.create(student()).orElseThrow());
+        }
+
+        assertTrue(store.create(student()).isEmpty());
+        assertEquals(1, store.getRejectedCount());
+
+        store.invalidate(sessions.get(0).getToken());
+        assertTrue(store.create(student()).isPresent());
+        assertEquals(3, store.getActiveCount());
+    }
+
+    @Test
+    void endedSessionsLeaveTheWheel() {
+        SessionStore store = new SessionStore(TimeUnit.MINUTES.toNanos(30), 10_000, TICK_NANOS);
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            sessions.add(store.create(student()).orElseThrow());
+        }
+        assertEquals(5_000, store.getScheduledCount());
+
+        for (Session session : sessions) {
+            store.invalidate(session.getToken());
+        }
+        assertEquals(0, store.getScheduledCount());
+    }
+
+    private static Student student() {
+        return new Student("T0000000", "Test", null, "Student", "BSCS", 1, "t@test.slu.edu.ph", "not-a-hash");
+    }
+
+    /**
+     * Poll the condition for up to five seconds while the store's own thread expires sessions
+     */
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(20);
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package edu.slu.accounts.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCacheTest {
+
+    @Test
+    void neverHoldsMoreThanItsCapacity() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100);
+        for (int i = 0; i < 1_000; i++) {
+            cache.putIfCurrent(i, "v" + i, cache.generation());
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.getEvictions());
+    }
+
+    @Test
+    void recentlyReadEntriesGetASecondChance() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(4);
+        for (int i = 0; i < 4; i++) {
+            cache.putIfCurrent(i, "v" + i, cache.generation());
+        }
+        cache.get(0);
+        cache.get(1);
+
+        cache.putIfCurrent(4, "v4", cache.generation());
+        cache.putIfCurrent(5, "v5", cache.generation());
+
+        assertEquals("v0", cache.get(0));
+        assertEquals("v1", cache.get(1));
+        assertNull(cache.get(2));
+        assertNull(cache.get(3));
+    }
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        long generation = cache.generation();
+        cache.invalidate("other");
+
+        assertFalse(cache.putIfCurrent("key", "stale", generation));
+        assertNull(cache.get("key"));
+        assertTrue(cache.putIfCurrent("key", "fresh", cache.generation()));
+        assertEquals("fresh", cache.get("key"));
+    }
+
+    @Test
+    void invalidateAndClearDropEntries() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        cache.putIfCurrent("a", "1", cache.generation());
+        cache.putIfCurrent("b", "2", cache.generation());
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getInvalidations());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        cache.putIfCurrent("a", "1", cache.generation());
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        BoundedCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(2 / 3.0, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void rejectsAnEmptyCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+    }
+}
\ No newline at end of file
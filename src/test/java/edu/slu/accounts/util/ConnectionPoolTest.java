@@ -0,0 +1,270 @@
+package edu.slu.accounts.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolTest {
+    @TempDir
+    Path dir;
+
+    private final List<ConnectionPool> pools = new ArrayList<>();
+
+    @AfterEach
+    void shutDown() {
+        for (ConnectionPool pool : pools) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void nestedCheckoutOnOneThreadReusesItsConnection() throws SQLException {
+        ConnectionPool pool = pool(1, 100);
+        try (Connection outer = pool.getConnection();
+             Statement stmt = outer.createStatement()) {
+            stmt.execute("CREATE TEMP TABLE marker (id INTEGER)");
+            assertTrue(pool.isHeldByCurrentThread());
+
+            // A pool of one would time out here if the thread had to wait for itself
+            try (Connection inner = pool.getConnection();
+                 Statement innerStmt = inner.createStatement()) {
+                // TEMP tables are visible only on the connection that made them
+                innerStmt.executeQuery("SELECT COUNT(*) FROM marker").close();
+            }
+            assertTrue(pool.isHeldByCurrentThread());
+        }
+        assertFalse(pool.isHeldByCurrentThread());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void checkoutTimesOutWhenEveryConnectionIsHeld() throws Exception {
+        ConnectionPool pool = pool(2, 100);
+        CountDownLatch held = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService holders = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(holders.submit(() -> {
+                    try (Connection conn = pool.getConnection()) {
+                        held.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                    }
+                    return null;
+                }));
+            }
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+            assertEquals(2, pool.getActiveCount());
+
+            SQLException timeout = assertThrows(SQLException.class, pool::getConnection);
+            assertTrue(timeout.getMessage().startsWith("Timed out"), timeout.getMessage());
+
+            release.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            try (Connection conn = pool.getConnection()) {
+                assertFalse(conn.isClosed());
+            }
+        } finally {
+            holders.shutdownNow();
+        }
+    }
+
+    @Test
+    void returnedConnectionRollsBackWhatWasLeftOpen() throws SQLException {
+        ConnectionPool pool = pool(1, 100);
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE entries (id INTEGER PRIMARY KEY)");
+            conn.setAutoCommit(false);
+            stmt.execute("INSERT INTO entries VALUES (1)");
+        }
+
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM entries")) {
+            assertTrue(conn.getAutoCommit());
+            rs.next();
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void afterTransactionHearsHowTheTransactionEnded() throws SQLException {
+        ConnectionPool pool = pool(1, 100);
+        List<String> outcomes = new ArrayList<>();
+
+        try (Connection conn = pool.getConnection()) {
+            pool.afterTransaction(committed -> outcomes.add("auto-commit " + committed));
+
+            conn.setAutoCommit(false);
+            pool.afterTransaction(committed -> outcomes.add("commit " + committed));
+            conn.commit();
+
+            pool.afterTransaction(committed -> outcomes.add("rollback " + committed));
+            conn.rollback();
+
+            pool.afterTransaction(committed -> outcomes.add("before savepoint " + committed));
+            Savepoint savepoint = conn.setSavepoint();
+            pool.afterTransaction(committed -> outcomes.add("after savepoint " + committed));
+            conn.rollback(savepoint);
+            conn.releaseSavepoint(savepoint);
+            conn.commit();
+
+            pool.afterTransaction(committed -> outcomes.add("left open " + committed));
+        }
+
+        assertEquals(List.of("auto-commit true", "commit true", "rollback false", "after savepoint false",
+                             "before savepoint true", "left open false"), outcomes);
+    }
+
+    @Test
+    void shutDownPoolRefusesCheckouts() {
+        ConnectionPool pool = pool(1, 100);
+        pool.shutdown();
+        assertThrows(SQLException.class, pool::getConnection);
+    }
+
+    @Test
+    void repeatedSqlIsPreparedOnce() throws SQLException {
+        ConnectionPool pool = pool(1, 100);
+        for (int i = 0; i < 5; i++) {
+            try (Connection conn = pool.getConnection()) {
+                assertEquals(i, selectValue(conn, i));
+            }
+        }
+        assertEquals(1, pool.getStatementCacheMisses());
+        assertEquals(4, pool.getStatementCacheHits());
+    }
+
+    @Test
+    void nestedUseOfTheSameSqlGetsItsOwnStatement() throws SQLException {
+        ConnectionPool pool = pool(1, 100);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement outer = conn.prepareStatement("SELECT ?")) {
+            outer.setInt(1, 1);
+            try (ResultSet rs = outer.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(2, selectValue(conn, 2));
+                assertEquals(1, rs.getInt(1));
+            }
+        }
+        assertEquals(2, pool.getStatementCacheMisses());
+
+        try (Connection conn = pool.getConnection()) {
+            assertEquals(3, selectValue(conn, 3));
+        }
+        assertEquals(1, pool.getStatementCacheHits());
+    }
+
+    @Test
+    void statementLeftOpenIsCheckedInOnRelease() throws SQLException {
+        ConnectionPool pool = pool(1, 100);
+        PreparedStatement forgotten;
+        try (Connection conn = pool.getConnection()) {
+            forgotten = conn.prepareStatement("SELECT ?");
+            forgotten.setInt(1, 1);
+            forgotten.executeQuery();
+        }
+        assertTrue(forgotten.isClosed());
+        assertThrows(SQLException.class, forgotten::executeQuery);
+
+        try (Connection conn = pool.getConnection()) {
+            assertEquals(2, selectValue(conn, 2));
+        }
+        assertEquals(1, pool.getStatementCacheHits());
+    }
+
+    @Test
+    void abandonedBatchIsNotReplayedByTheNextUse() throws SQLException {
+        ConnectionPool pool = pool(1, 100);
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE items (id INTEGER PRIMARY KEY)");
+        }
+
+        try (Connection conn = pool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("INSERT INTO items (id) VALUES (?)")) {
+            pstmt.setInt(1, 1);
+            pstmt.addBatch();
+            // Closed without executeBatch, as when a binder throws part-way through
+        }
+
+        try (Connection conn = pool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("INSERT INTO items (id) VALUES (?)")) {
+            pstmt.setInt(1, 2);
+            pstmt.addBatch();
+            assertEquals(1, pstmt.executeBatch().length);
+        }
+        assertEquals(1, pool.getStatementCacheHits());
+
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT GROUP_CONCAT(id) FROM items")) {
+            assertTrue(rs.next());
+            assertEquals("2", rs.getString(1));
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedStatementsAreEvicted() throws SQLException {
+        ConnectionPool pool = pool(1, 100);
+        try (Connection conn = pool.getConnection()) {
+            for (int i = 0; i < 20; i++) {
+                try (PreparedStatement pstmt = conn.prepareStatement("SELECT " + i)) {
+                    pstmt.executeQuery();
+                }
+            }
+            assertEquals(4, pool.getStatementCacheEvictions());
+
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT 19")) {
+                pstmt.executeQuery();
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT 0")) {
+                pstmt.executeQuery();
+            }
+        }
+        assertEquals(1, pool.getStatementCacheHits());
+        assertEquals(21, pool.getStatementCacheMisses());
+    }
+
+    private ConnectionPool pool(int size, long timeoutMillis) {
+        ConnectionPool pool = new ConnectionPool("test", "jdbc:sqlite:" + dir.resolve("pool.db"), new Properties(),
+                                                 size, timeoutMillis, 0, 16);
+        pools.add(pool);
+        return pool;
+    }
+
+    private static int selectValue(Connection conn, int value) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT ?")) {
+            pstmt.setInt(1, value);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
\ No newline at end of file
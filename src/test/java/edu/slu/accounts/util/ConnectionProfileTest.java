@@ -0,0 +1,82 @@
+package edu.slu.accounts.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectionProfileTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void writerConnectionsGetTheProfilePragmas() throws SQLException {
+        assertPragmas(ConnectionProfile.INTERACTIVE, "1", "-16384", "2", "5000");
+        assertPragmas(ConnectionProfile.BULK_LOAD, "0", "-131072", "2", "30000");
+        assertPragmas(ConnectionProfile.READ_ONLY_REPORT, "1", "-65536", "1", "15000");
+    }
+
+    @Test
+    void readersSeeWalAndCannotWrite() throws SQLException {
+        String url = "jdbc:sqlite:" + dir.resolve("readers.db");
+        try (Connection writer = DriverManager.getConnection(url, ConnectionProfile.INTERACTIVE.toConfig(false).toProperties());
+             Statement stmt = writer.createStatement()) {
+            stmt.execute("CREATE TABLE entries (id INTEGER PRIMARY KEY)");
+        }
+
+        try (Connection reader = DriverManager.getConnection(url, ConnectionProfile.INTERACTIVE.toConfig(true).toProperties());
+             Statement stmt = reader.createStatement()) {
+            assertEquals("wal", pragma(stmt, "journal_mode"));
+            assertThrows(SQLException.class, () -> stmt.execute("INSERT INTO entries VALUES (1)"));
+        }
+    }
+
+    @Test
+    void profileIsChosenByNameWithInteractiveAsTheFallback() {
+        String previous = System.getProperty(ConnectionProfile.PROPERTY);
+        try {
+            System.setProperty(ConnectionProfile.PROPERTY, "Bulk-Load");
+            assertEquals(ConnectionProfile.BULK_LOAD, ConnectionProfile.fromConfiguration());
+
+            System.setProperty(ConnectionProfile.PROPERTY, "turbo");
+            assertEquals(ConnectionProfile.INTERACTIVE, ConnectionProfile.fromConfiguration());
+
+            System.clearProperty(ConnectionProfile.PROPERTY);
+            assertEquals(ConnectionProfile.INTERACTIVE, ConnectionProfile.fromConfiguration());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(ConnectionProfile.PROPERTY);
+            } else {
+                System.setProperty(ConnectionProfile.PROPERTY, previous);
+            }
+        }
+    }
+
+    private void assertPragmas(ConnectionProfile profile, String synchronous, String cacheSize,
+                               String tempStore, String busyTimeout) throws SQLException {
+        String url = "jdbc:sqlite:" + dir.resolve(profile.getName() + ".db");
+        try (Connection conn = DriverManager.getConnection(url, profile.toConfig(false).toProperties());
+             Statement stmt = conn.createStatement()) {
+            assertEquals("wal", pragma(stmt, "journal_mode"), profile.getName());
+            assertEquals(synchronous, pragma(stmt, "synchronous"), profile.getName());
+            assertEquals(cacheSize, pragma(stmt, "cache_size"), profile.getName());
+            assertEquals(tempStore, pragma(stmt, "temp_store"), profile.getName());
+            assertEquals(busyTimeout, pragma(stmt, "busy_timeout"), profile.getName());
+        }
+    }
+
+    private static String pragma(Statement stmt, String name) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA " + name)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
\ No newline at end of file
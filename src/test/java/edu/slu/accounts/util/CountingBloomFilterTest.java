@@ -0,0 +1,105 @@
+package edu.slu.accounts.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void addedKeysAreAlwaysFound() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("2024-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("2024-" + i), "2024-" + i);
+        }
+        assertEquals(10_000, filter.size());
+    }
+
+    @Test
+    void falsePositiveRateIsNearTheTarget() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("2024-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("2025-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, falsePositives + " false positives in 100000 lookups");
+    }
+
+    @Test
+    void removalsNeverHideKeysStillPresent() {
+        churn(new CountingBloomFilter(2_000, 0.01));
+    }
+
+    @Test
+    void removalsNeverHideKeysStillPresentOnceCountersSaturate() {
+        // Far too small for the keys, so most counters reach their maximum and must then stay put
+        churn(new CountingBloomFilter(1, 0.5));
+    }
+
+    @Test
+    void removedKeysAreAbsentAgainWhenNothingCollides() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.001);
+        filter.add("2024-0001");
+        filter.remove("2024-0001");
+
+        assertFalse(filter.mightContain("2024-0001"));
+        assertEquals(0, filter.size());
+    }
+
+    @Test
+    void removingAnAbsentKeyChangesNothing() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.001);
+        filter.add("2024-0001");
+        filter.remove("2024-9999");
+
+        assertTrue(filter.mightContain("2024-0001"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 1));
+    }
+
+    /**
+     * Add and remove random keys, then check every key still present is found
+     */
+    private static void churn(CountingBloomFilter filter) {
+        Random random = new Random(42);
+        Set<String> present = new HashSet<>();
+
+        for (int step = 0; step < 50_000; step++) {
+            String key = "S" + random.nextInt(2_000);
+            if (present.contains(key) && random.nextBoolean()) {
+                filter.remove(key);
+                present.remove(key);
+            } else if (!present.contains(key)) {
+                filter.add(key);
+                present.add(key);
+            }
+        }
+
+        for (String key : present) {
+            assertTrue(filter.mightContain(key), key);
+        }
+        assertEquals(present.size(), filter.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package edu.slu.accounts.util;
+
+import edu.slu.accounts.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes submitted from inside another write run inline in its transaction
+ */
+class DatabaseConnectionTest {
+
+    @BeforeAll
+    static void createTable() {
+        TestDatabase.use();
+        DatabaseConnection.submitWrite(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                return stmt.execute("CREATE TABLE IF NOT EXISTS inline_writes (label TEXT PRIMARY KEY)");
+            }
+        }).join();
+    }
+
+    @Test
+    void nestedWriteCompletesWhenTheOuterTransactionCommits() {
+        AtomicReference<CompletableFuture<Integer>> inner = new AtomicReference<>();
+        AtomicBoolean doneInside = new AtomicBoolean(true);
+
+        DatabaseConnection.submitWrite(conn -> {
+            inner.set(DatabaseConnection.submitWrite(c -> insert(c, "committed")));
+            doneInside.set(inner.get().isDone());
+            return null;
+        }).join();
+
+        assertFalse(doneInside.get());
+        assertEquals(1, inner.get().join());
+        assertTrue(exists("committed"));
+    }
+
+    @Test
+    void nestedWriteFailsWhenTheOuterWorkRollsBack() {
+        AtomicReference<CompletableFuture<Integer>> inner = new AtomicReference<>();
+
+        CompletableFuture<Object> outer = DatabaseConnection.submitWrite(conn -> {
+            inner.set(DatabaseConnection.submitWrite(c -> insert(c, "rolled-back")));
+            throw new SQLException("Outer work failed");
+        });
+
+        assertThrows(CompletionException.class, outer::join);
+        CompletionException failure = assertThrows(CompletionException.class, () -> inner.get().join());
+        assertInstanceOf(SQLException.class, failure.getCause());
+        assertFalse(exists("rolled-back"));
+    }
+
+    @Test
+    void waitingForANestedWriteInsideItsTransactionIsRefused() {
+        CompletableFuture<Boolean> outer = DatabaseConnection.submitWrite(conn ->
+            WriteQueue.await(DatabaseConnection.submitWrite(c -> insert(c, "deadlock") > 0), "Error inserting"));
+
+        CompletionException failure = assertThrows(CompletionException.class, outer::join);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    void writeConnectionIsHeldOnlyInsideAWrite() {
+        assertFalse(DatabaseConnection.holdsWriteConnection());
+        assertTrue(DatabaseConnection.submitWrite(conn -> DatabaseConnection.holdsWriteConnection()).join());
+    }
+
+    private static int insert(Connection conn, String label) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO inline_writes (label) VALUES (?)")) {
+            pstmt.setString(1, label);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private static boolean exists(String label) {
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM inline_writes WHERE label = ?")) {
+            pstmt.setString(1, label);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() && rs.getInt(1) > 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package edu.slu.accounts.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencyCacheTest {
+
+    @Test
+    void neverHoldsMoreThanItsCapacity() {
+        FrequencyCache<Integer, String> cache = new FrequencyCache<>(100, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 1_000; i++) {
+            cache.putIfCurrent(i, "v" + i, cache.generation());
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.getEvictions());
+    }
+
+    @Test
+    void burstOfOneOffLookupsKeepsTheFrequentEntries() {
+        FrequencyCache<String, String> cache = new FrequencyCache<>(100, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 100; i++) {
+            cache.putIfCurrent("hot" + i, "v", cache.generation());
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                cache.get("hot" + i);
+            }
+        }
+
+        // A scan of keys looked up once each, missed and loaded, amid the usual traffic
+        for (int i = 0; i < 1_000; i++) {
+            String key = "scan" + i;
+            cache.get(key);
+            cache.putIfCurrent(key, "v", cache.generation());
+            cache.get("hot" + i % 100);
+        }
+
+        int survivors = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.peek("hot" + i) != null) {
+                survivors++;
+            }
+        }
+        // Plain LRU would keep only the 50 or so hot keys used since the last 50 scan keys
+        assertTrue(survivors >= 80, survivors + " of 100 frequent entries survived the scan");
+    }
+
+    @Test
+    void entriesExpireAfterTheirTtl() throws InterruptedException {
+        FrequencyCache<String, String> cache = new FrequencyCache<>(10, 50, TimeUnit.MILLISECONDS);
+        cache.putIfCurrent("key", "value", cache.generation());
+        assertEquals("value", cache.get("key"));
+
+        Thread.sleep(80);
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotCached() {
+        FrequencyCache<String, String> cache = new FrequencyCache<>(10, 1, TimeUnit.HOURS);
+        cache.putIfCurrent("key", "old", cache.generation());
+        long generation = cache.generation();
+        cache.invalidate("key");
+
+        assertFalse(cache.putIfCurrent("key", "stale", generation));
+        assertNull(cache.get("key"));
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    void peekDoesNotCountALookup() {
+        FrequencyCache<String, String> cache = new FrequencyCache<>(10, 1, TimeUnit.HOURS);
+        cache.putIfCurrent("key", "value", cache.generation());
+
+        assertEquals("value", cache.peek("key"));
+        assertNull(cache.peek("missing"));
+        assertEquals(0, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    void rejectsAnEmptyCapacityOrTtl() {
+        assertThrows(IllegalArgumentException.class, () -> new FrequencyCache<>(0, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new FrequencyCache<>(10, 0, TimeUnit.SECONDS));
+    }
+}
\ No newline at end of file
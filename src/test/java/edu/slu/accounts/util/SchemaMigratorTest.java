@@ -0,0 +1,272 @@
+package edu.slu.accounts.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migrations run against their own database files, opened directly rather
+ * than through DatabaseConnection, so each test can stop at an older schema,
+ * fill it the way an older release would have, and migrate the rest.
+ */
+class SchemaMigratorTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void newDatabaseGetsEveryMigrationOnce() throws SQLException {
+        try (Connection conn = open("new.db")) {
+            int applied = SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE);
+
+            int version = SchemaMigrator.getCurrentVersion(conn);
+            assertEquals(version, applied);
+            assertEquals(version, queryLong(conn, "SELECT COUNT(*) FROM schema_version"));
+            assertEquals(0, SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void stopsAtTheTargetVersionAndResumesFromIt() throws SQLException {
+        try (Connection conn = open("partial.db")) {
+            assertEquals(3, SchemaMigrator.migrateTo(conn, 3));
+            assertEquals(3, SchemaMigrator.getCurrentVersion(conn));
+
+            int applied = SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE);
+            assertEquals(SchemaMigrator.getCurrentVersion(conn) - 3, applied);
+        }
+    }
+
+    @Test
+    void concurrentRunnersApplyEachMigrationOnce() throws Exception {
+        try (Connection conn = open("shared.db")) {
+            // Create the file and the schema_version table before the race
+            SchemaMigrator.migrateTo(conn, 0);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Integer>> runners = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                runners.add(() -> {
+                    try (Connection conn = open("shared.db")) {
+                        return SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE);
+                    }
+                });
+            }
+
+            int applied = 0;
+            for (Future<Integer> runner : executor.invokeAll(runners)) {
+                applied += runner.get();
+            }
+
+            try (Connection conn = open("shared.db")) {
+                int version = SchemaMigrator.getCurrentVersion(conn);
+                assertTrue(version > 0);
+                assertEquals(version, applied);
+                assertEquals(version, queryLong(conn, "SELECT COUNT(*) FROM schema_version"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void textTimestampsBecomeEpochMillis() throws SQLException {
+        try (Connection conn = open("timestamps.db")) {
+            SchemaMigrator.migrateTo(conn, 3);
+            execute(conn,
+                // SQLite CURRENT_TIMESTAMP defaults are UTC; LocalDateTime.toString() values are local time
+                "INSERT INTO students VALUES ('s1', '2024-0001', 'A', NULL, 'B', 'BSCS', 1, 'a@x', 'p', '2024-01-15 08:30:00')",
+                "INSERT INTO students VALUES ('s2', '2024-0002', 'C', NULL, 'D', 'BSCS', 1, 'c@x', 'p', '2024-01-15T08:30:00.123')",
+                "INSERT INTO students VALUES ('s3', '2024-0003', 'E', NULL, 'F', 'BSCS', 1, 'e@x', 'p', NULL)",
+                "INSERT INTO accounts (id, student_id, semester, academic_year, created_at, updated_at) "
+                    + "VALUES ('a1', 's1', '1st', '2024-2025', '2024-06-01 00:00:00', '2024-06-02T09:15:00')",
+                "INSERT INTO transactions (id, student_id, account_id, transaction_type, description, amount, transaction_date) "
+                    + "VALUES ('t1', 's1', 'a1', 'PAYMENT', 'Cash', -100.0, '2024-06-03 12:00:00')");
+
+            SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE);
+
+            assertEquals(Instant.parse("2024-01-15T08:30:00Z").toEpochMilli(),
+                         queryLong(conn, "SELECT created_at FROM students WHERE id = 's1'"));
+            assertEquals(TimestampCodec.encode(LocalDateTime.parse("2024-01-15T08:30:00.123")),
+                         queryLong(conn, "SELECT created_at FROM students WHERE id = 's2'"));
+            assertEquals(1, queryLong(conn, "SELECT created_at IS NULL FROM students WHERE id = 's3'"));
+            assertEquals(Instant.parse("2024-06-01T00:00:00Z").toEpochMilli(),
+                         queryLong(conn, "SELECT created_at FROM accounts WHERE id = 'a1'"));
+            assertEquals(TimestampCodec.encode(LocalDateTime.parse("2024-06-02T09:15:00")),
+                         queryLong(conn, "SELECT updated_at FROM accounts WHERE id = 'a1'"));
+            assertEquals(Instant.parse("2024-06-03T12:00:00Z").toEpochMilli(),
+                         queryLong(conn, "SELECT transaction_date FROM transactions WHERE id = 't1'"));
+            assertEquals(0, queryLong(conn, "SELECT COUNT(*) FROM students WHERE typeof(created_at) = 'text'"));
+        }
+    }
+
+    @Test
+    void textTimestampsFromOtherWritersAreConvertedOnWrite() throws SQLException {
+        try (Connection conn = open("writers.db")) {
+            SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE);
+            execute(conn,
+                "INSERT INTO students (id, student_number, first_name, last_name, course, year_level, email, password, created_at) "
+                    + "VALUES ('s1', '2024-0001', 'A', 'B', 'BSCS', 1, 'a@x', 'p', '2024-01-15 08:30:00')",
+                "INSERT INTO students (id, student_number, first_name, last_name, course, year_level, email, password) "
+                    + "VALUES ('s2', '2024-0002', 'C', 'D', 'BSCS', 1, 'c@x', 'p')",
+                "UPDATE students SET created_at = '2024-02-01T10:00:00' WHERE id = 's2'");
+
+            assertEquals(Instant.parse("2024-01-15T08:30:00Z").toEpochMilli(),
+                         queryLong(conn, "SELECT created_at FROM students WHERE id = 's1'"));
+            assertEquals(TimestampCodec.encode(LocalDateTime.parse("2024-02-01T10:00:00")),
+                         queryLong(conn, "SELECT created_at FROM students WHERE id = 's2'"));
+            assertEquals("integer", queryString(conn, "SELECT DISTINCT typeof(created_at) FROM students"));
+        }
+    }
+
+    @Test
+    void pesoAmountsBecomeWholeCentavos() throws SQLException {
+        try (Connection conn = open("money.db")) {
+            SchemaMigrator.migrateTo(conn, 4);
+            execute(conn,
+                "INSERT INTO students (id, student_number, first_name, last_name, course, year_level, email, password) "
+                    + "VALUES ('s1', '2024-0001', 'A', 'B', 'BSCS', 1, 'a@x', 'p')",
+                // 0.1 + 0.2 is stored as 0.30000000000000004
+                "INSERT INTO accounts (id, student_id, semester, academic_year, total_assessment, total_paid, remaining_balance) "
+                    + "VALUES ('a1', 's1', '1st', '2024-2025', 45000.5, 0.1 + 0.2, 45000.5 - (0.1 + 0.2))",
+                "INSERT INTO transactions (id, student_id, account_id, transaction_type, description, amount) "
+                    + "VALUES ('t1', 's1', 'a1', 'PAYMENT', 'Cash', -9020.99)",
+                "INSERT INTO payment_methods (id, method_name, method_code, service_fee, percentage_fee) "
+                    + "VALUES ('p1', 'Legacy', 'LEGACY', 25.0, 1.5)");
+
+            SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE);
+
+            assertEquals(4_500_050, queryLong(conn, "SELECT total_assessment FROM accounts WHERE id = 'a1'"));
+            assertEquals(30, queryLong(conn, "SELECT total_paid FROM accounts WHERE id = 'a1'"));
+            assertEquals(4_500_020, queryLong(conn, "SELECT remaining_balance FROM accounts WHERE id = 'a1'"));
+            assertEquals(-902_099, queryLong(conn, "SELECT amount FROM transactions WHERE id = 't1'"));
+            assertEquals(2_500, queryLong(conn, "SELECT service_fee FROM payment_methods WHERE id = 'p1'"));
+            assertEquals("integer", queryString(conn, "SELECT typeof(total_paid) FROM accounts WHERE id = 'a1'"));
+            assertEquals("integer", queryString(conn, "SELECT typeof(amount) FROM transactions WHERE id = 't1'"));
+        }
+    }
+
+    @Test
+    void duplicateGradesKeepTheNewestRow() throws SQLException {
+        try (Connection conn = open("grades.db")) {
+            SchemaMigrator.migrateTo(conn, 6);
+            execute(conn,
+                "INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, semester, academic_year, created_at) "
+                    + "VALUES ('old', 's1', 'CS101', 'Programming', 3, 80, '1st', '2024-2025', 1700000000000)",
+                "INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, semester, academic_year, created_at) "
+                    + "VALUES ('new', 's1', 'CS101', 'Programming', 3, 90, '1st', '2024-2025', 1700000500000)",
+                "INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, semester, academic_year, created_at) "
+                    + "VALUES ('other-term', 's1', 'CS101', 'Programming', 3, 70, '2nd', '2024-2025', 1690000000000)");
+
+            SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE);
+
+            assertEquals("new", queryString(conn, "SELECT group_concat(id) FROM grades WHERE semester = '1st'"));
+            assertEquals(1, queryLong(conn, "SELECT COUNT(*) FROM grades WHERE id = 'other-term'"));
+            assertThrows(SQLException.class, () -> execute(conn,
+                "INSERT INTO grades (id, student_id, subject_code, subject_name, units, semester, academic_year) "
+                    + "VALUES ('again', 's1', 'CS101', 'Programming', 3, '1st', '2024-2025')"));
+        }
+    }
+
+    @Test
+    void gradeTotalsMatchTheGradesBeforeAndAfterWrites() throws SQLException {
+        try (Connection conn = open("totals.db")) {
+            SchemaMigrator.migrateTo(conn, 9);
+            execute(conn,
+                "INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, semester_grade, semester, academic_year) "
+                    + "VALUES ('g1', 's1', 'CS101', 'Programming', 3, 80, 85, '1st', '2024-2025')",
+                "INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, semester_grade, semester, academic_year) "
+                    + "VALUES ('g2', 's1', 'MA101', 'Calculus', 5, 90, NULL, '1st', '2024-2025')",
+                "INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, semester_grade, semester, academic_year) "
+                    + "VALUES ('g3', 's2', 'CS101', 'Programming', 3, NULL, 70, '1st', '2024-2025')");
+
+            SchemaMigrator.migrateTo(conn, Integer.MAX_VALUE);
+            assertTotalsMatchGrades(conn);
+
+            execute(conn,
+                "INSERT INTO grades (id, student_id, subject_code, subject_name, units, prelim_grade, semester_grade, semester, academic_year) "
+                    + "VALUES ('g4', 's1', 'EN101', 'English', 2, 75, 78, '1st', '2024-2025')",
+                "UPDATE grades SET semester_grade = 88, units = 4 WHERE id = 'g2'",
+                "UPDATE grades SET semester = '2nd' WHERE id = 'g1'",
+                "DELETE FROM grades WHERE id = 'g3'");
+            assertTotalsMatchGrades(conn);
+            assertEquals(0, queryLong(conn, "SELECT subject_count FROM grade_term_summary WHERE student_id = 's2'"));
+        }
+    }
+
+    private Connection open(String name) throws SQLException {
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve(name));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 10000");
+        }
+        return conn;
+    }
+
+    private static long queryLong(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Compare every term's maintained totals with the same totals computed from the grades
+     */
+    private static void assertTotalsMatchGrades(Connection conn) throws SQLException {
+        assertEquals(0, queryLong(conn, """
+            SELECT COUNT(*) FROM grade_term_summary s
+            LEFT JOIN (
+                SELECT student_id, semester, academic_year, COUNT(*) AS subject_count, TOTAL(units) AS total_units,
+                       COUNT(prelim_grade) AS prelim_count, TOTAL(prelim_grade * units) AS prelim_weighted_sum,
+                       COUNT(semester_grade) AS semester_count, TOTAL(semester_grade) AS semester_sum,
+                       TOTAL(semester_grade * units) AS semester_weighted_sum
+                FROM grades GROUP BY student_id, semester, academic_year
+            ) g USING (student_id, semester, academic_year)
+            WHERE s.subject_count != COALESCE(g.subject_count, 0)
+               OR s.total_units != COALESCE(g.total_units, 0)
+               OR s.prelim_count != COALESCE(g.prelim_count, 0)
+               OR s.prelim_weighted_sum != COALESCE(g.prelim_weighted_sum, 0)
+               OR s.semester_count != COALESCE(g.semester_count, 0)
+               OR s.semester_sum != COALESCE(g.semester_sum, 0)
+               OR s.semester_weighted_sum != COALESCE(g.semester_weighted_sum, 0)
+            """));
+        assertEquals(queryLong(conn, "SELECT COUNT(DISTINCT student_id || semester || academic_year) FROM grades"),
+                     queryLong(conn, "SELECT COUNT(*) FROM grade_term_summary WHERE subject_count > 0"));
+    }
+
+    private static void execute(Connection conn, String... statements) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : statements) {
+                stmt.execute(statement);
+            }
+        }
+    }
+
+    private static String queryString(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
\ No newline at end of file
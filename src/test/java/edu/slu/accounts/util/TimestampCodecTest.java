@@ -0,0 +1,56 @@
+package edu.slu.accounts.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TimestampCodecTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        LocalDateTime dateTime = LocalDateTime.parse("2024-08-12T14:05:30.250");
+        assertEquals(dateTime, TimestampCodec.decode(TimestampCodec.encode(dateTime)));
+        assertEquals(TimestampCodec.NONE, TimestampCodec.encode(null));
+        assertNull(TimestampCodec.decode(TimestampCodec.NONE));
+    }
+
+    @Test
+    void readsIntegersAndLegacyText() throws SQLException {
+        long millis = Instant.parse("2024-01-15T08:30:00Z").toEpochMilli();
+        assertEquals(millis, read(millis));
+        assertEquals(millis, read("2024-01-15 08:30:00"));
+        assertEquals(TimestampCodec.encode(LocalDateTime.parse("2024-01-15T08:30:00")), read("2024-01-15T08:30:00"));
+        assertEquals(TimestampCodec.NONE, read(null));
+        assertEquals(TimestampCodec.NONE, read(""));
+    }
+
+    @Test
+    void bindsNoneAsNull() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             PreparedStatement pstmt = conn.prepareStatement("SELECT ? IS NULL")) {
+            TimestampCodec.bind(pstmt, 1, TimestampCodec.NONE);
+            ResultSet rs = pstmt.executeQuery();
+            rs.next();
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    private static long read(Object value) throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             PreparedStatement pstmt = conn.prepareStatement("SELECT ?")) {
+            pstmt.setObject(1, value);
+            ResultSet rs = pstmt.executeQuery();
+            rs.next();
+            return TimestampCodec.read(rs, 1);
+        }
+    }
+}
\ No newline at end of file
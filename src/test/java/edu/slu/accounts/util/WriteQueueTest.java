@@ -0,0 +1,203 @@
+package edu.slu.accounts.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The queue runs on its own pool over a private file, so its counters and
+ * shutdown do not touch the DatabaseConnection the DAO tests share
+ */
+class WriteQueueTest {
+    @TempDir
+    Path dir;
+
+    private String url;
+    private ConnectionPool pool;
+    private WriteQueue queue;
+
+    @BeforeEach
+    void createQueue() throws SQLException {
+        url = "jdbc:sqlite:" + dir.resolve("queue.db");
+        try (Connection conn = DriverManager.getConnection(url);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE entries (id INTEGER PRIMARY KEY, label TEXT NOT NULL)");
+        }
+        pool = new ConnectionPool("test-write", url, new Properties(), 1, 5_000, 0, 16);
+        queue = new WriteQueue(pool, 1024, 256);
+    }
+
+    @AfterEach
+    void shutDown() {
+        queue.shutdown();
+        pool.shutdown();
+    }
+
+    @Test
+    void writesQueuedBehindABusyWriterShareOneCommit() throws Exception {
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = queue.submit(conn -> {
+            writerBusy.countDown();
+            hold(release);
+            return insert(conn, 0);
+        });
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            int id = i;
+            queued.add(queue.submit(conn -> insert(conn, id)));
+        }
+        release.countDown();
+
+        first.join();
+        for (CompletableFuture<Integer> future : queued) {
+            assertEquals(1, future.join());
+        }
+        assertEquals(101, queue.getCommittedWrites());
+        assertEquals(2, queue.getCommittedBatches());
+        assertEquals(101, countRows());
+    }
+
+    @Test
+    void failedUnitIsRolledBackAloneAndTheRestCommit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> blocker = queue.submit(conn -> {
+            hold(release);
+            return insert(conn, 1);
+        });
+        CompletableFuture<Integer> duplicate = queue.submit(conn -> {
+            insert(conn, 2);
+            // Fails after a row was written: the row must go with it
+            return insert(conn, 1);
+        });
+        CompletableFuture<Integer> after = queue.submit(conn -> insert(conn, 3));
+        release.countDown();
+
+        assertEquals(1, blocker.join());
+        CompletionException failure = assertThrows(CompletionException.class, duplicate::join);
+        assertInstanceOf(SQLException.class, failure.getCause());
+        assertEquals(1, after.join());
+        assertEquals(2, countRows());
+        assertEquals(0, count("SELECT COUNT(*) FROM entries WHERE id = 2"));
+    }
+
+    @Test
+    void unitThrowingAnErrorFailsAloneAndTheWriterCarriesOn() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> blocker = queue.submit(conn -> {
+            hold(release);
+            return insert(conn, 1);
+        });
+        CompletableFuture<Integer> broken = queue.submit(conn -> {
+            insert(conn, 2);
+            throw new AssertionError("binder bug");
+        });
+        CompletableFuture<Integer> after = queue.submit(conn -> insert(conn, 3));
+        release.countDown();
+
+        assertEquals(1, blocker.join());
+        CompletionException failure = assertThrows(CompletionException.class, broken::join);
+        assertInstanceOf(AssertionError.class, failure.getCause());
+        assertEquals(1, after.join());
+        assertEquals(1, queue.submit(conn -> insert(conn, 4)).get(5, TimeUnit.SECONDS));
+        assertEquals(3, countRows());
+        assertEquals(0, count("SELECT COUNT(*) FROM entries WHERE id = 2"));
+    }
+
+    @Test
+    void completedWriteIsVisibleToOtherConnections() throws SQLException {
+        queue.submit(conn -> insert(conn, 7)).join();
+        assertEquals(1, count("SELECT COUNT(*) FROM entries WHERE id = 7"));
+    }
+
+    @Test
+    void shutdownCommitsQueuedWorkAndRejectsNewWork() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> blocker = queue.submit(conn -> {
+            hold(release);
+            return insert(conn, 0);
+        });
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            int id = i;
+            queued.add(queue.submit(conn -> insert(conn, id)));
+        }
+
+        Thread stopper = new Thread(queue::shutdown);
+        stopper.start();
+        release.countDown();
+        stopper.join(10_000);
+
+        blocker.join();
+        for (CompletableFuture<Integer> future : queued) {
+            assertEquals(1, future.join());
+        }
+        assertEquals(11, countRows());
+
+        CompletionException rejected = assertThrows(CompletionException.class,
+            () -> queue.submit(conn -> insert(conn, 99)).join());
+        assertInstanceOf(IllegalStateException.class, rejected.getCause());
+    }
+
+    @Test
+    void awaitReportsFailureAsFalse() {
+        assertTrue(WriteQueue.await(queue.submit(conn -> insert(conn, 1) > 0), "Error inserting"));
+        assertEquals(false, WriteQueue.await(queue.submit(conn -> insert(conn, 1) > 0), "Error inserting"));
+        assertTrue(WriteQueue.awaitResult(queue.submit(conn -> insert(conn, 1)), "Error inserting").isEmpty());
+    }
+
+    /**
+     * Keep the writer thread busy until the latch is released
+     */
+    private static void hold(CountDownLatch release) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int insert(Connection conn, int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO entries (id, label) VALUES (?, ?)")) {
+            pstmt.setInt(1, id);
+            pstmt.setString(2, "entry " + id);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private long countRows() throws SQLException {
+        return count("SELECT COUNT(*) FROM entries");
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
\ No newline at end of file